@@ -481,11 +481,15 @@ suite = {
           "com.oracle.truffle.js.lang to org.graalvm.truffle",
           "com.oracle.truffle.js.runtime.java.adapter",
         ],
+        "uses" : [
+          "com.oracle.truffle.js.parser.CodeCacheRecorder",
+        ],
       },
       "subDir" : "src",
       "dependencies" : [
         "com.oracle.truffle.js",
         "com.oracle.truffle.js.parser",
+        "com.oracle.truffle.js.snapshot",
       ],
       "distDependencies" : [
         "regex:TREGEX",
@@ -641,7 +645,7 @@ suite = {
 
     "JS_INTEROP_MICRO_BENCHMARKS" : {
       "subDir" : "src",
-      "description" : "Graal.js JMH Interop Suite",
+      "description" : "Graal.js JMH Suite",
       "dependencies" : ["com.oracle.truffle.js.jmh"],
       "exclude" : [
         "mx:JUNIT"
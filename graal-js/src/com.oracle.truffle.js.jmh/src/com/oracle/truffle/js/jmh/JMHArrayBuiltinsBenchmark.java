@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.jmh;
+
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JMHArrayBuiltinsBenchmark {
+    @State(Scope.Thread)
+    public static class MyState extends JSBenchmarkState {
+        protected static final int ARRAY_SIZE = 10000;
+
+        Value map;
+        Value filter;
+        Value reduce;
+        Value sortNumeric;
+        Value sortDefault;
+        Value sortTypedArray;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            setUp("var ints = [], doubles = [];" +
+                            "for (var i = 0; i < " + ARRAY_SIZE + "; i++) { ints.push((i * 7919) % 10007); doubles.push(ints[i] / 3); }" +
+                            "var typed = new Float64Array(doubles);" +
+                            "function map() { return ints.map(x => x * 2).length; }" +
+                            "function filter() { return ints.filter(x => (x & 1) === 0).length; }" +
+                            "function reduce() { return doubles.reduce((a, b) => a + b, 0); }" +
+                            "function sortNumeric() { return ints.slice().sort((a, b) => a - b)[0]; }" +
+                            "function sortDefault() { return ints.slice().sort()[0]; }" +
+                            "function sortTypedArray() { return typed.slice().sort()[0]; }");
+            map = getFunction("map");
+            filter = getFunction("filter");
+            reduce = getFunction("reduce");
+            sortNumeric = getFunction("sortNumeric");
+            sortDefault = getFunction("sortDefault");
+            sortTypedArray = getFunction("sortTypedArray");
+        }
+
+        @TearDown(Level.Trial)
+        public void doTearDown() {
+            tearDown();
+        }
+    }
+
+    @Benchmark
+    public Value testMap(MyState state) {
+        return state.map.execute();
+    }
+
+    @Benchmark
+    public Value testFilter(MyState state) {
+        return state.filter.execute();
+    }
+
+    @Benchmark
+    public Value testReduce(MyState state) {
+        return state.reduce.execute();
+    }
+
+    @Benchmark
+    public Value testSortWithComparator(MyState state) {
+        return state.sortNumeric.execute();
+    }
+
+    @Benchmark
+    public Value testSortDefault(MyState state) {
+        return state.sortDefault.execute();
+    }
+
+    @Benchmark
+    public Value testSortTypedArray(MyState state) {
+        return state.sortTypedArray.execute();
+    }
+}
@@ -63,11 +63,27 @@ public class JMHArrayInteropBenchmark {
 
         Context context;
         Source preSizedArraySource;
+        Value graal;
+        Value jsArray;
+        Value int32Array;
+        Value float64Array;
+        int[] intArray;
+        double[] doubleArray;
 
         @Setup(Level.Trial)
         public void doSetup() {
             context = Context.create("js");
             preSizedArraySource = Source.create("js", "new Array(" + ARRAY_SIZE + ")");
+            graal = context.getBindings("js").getMember("Graal");
+            jsArray = context.eval("js", "Array.from({length: " + ARRAY_SIZE + "}, (_, i) => i)");
+            int32Array = context.eval("js", "new Int32Array(" + ARRAY_SIZE + ")");
+            float64Array = context.eval("js", "new Float64Array(" + ARRAY_SIZE + ")");
+            intArray = new int[ARRAY_SIZE];
+            doubleArray = new double[ARRAY_SIZE];
+            for (int i = 0; i < ARRAY_SIZE; i++) {
+                intArray[i] = i;
+                doubleArray[i] = i + 0.5;
+            }
         }
 
         @TearDown(Level.Trial)
@@ -84,4 +100,55 @@ public class JMHArrayInteropBenchmark {
         }
         return array;
     }
+
+    @Benchmark
+    public Value testPopulateJSArrayFromJavaBulk(MyState state) {
+        return state.graal.invokeMember("copyFromHostArray", state.intArray);
+    }
+
+    @Benchmark
+    public Value testPopulateJSDoubleArrayFromJavaBulk(MyState state) {
+        return state.graal.invokeMember("copyFromHostArray", state.doubleArray);
+    }
+
+    @Benchmark
+    public Value testPopulateTypedArrayFromJava(MyState state) {
+        Value array = state.int32Array;
+        for (int i = 0; i < MyState.ARRAY_SIZE; i++) {
+            array.setArrayElement(i, i);
+        }
+        return array;
+    }
+
+    @Benchmark
+    public Value testPopulateTypedArrayFromJavaBulk(MyState state) {
+        return state.graal.invokeMember("copyFromHostArray", state.intArray, state.int32Array);
+    }
+
+    @Benchmark
+    public Value testPopulateFloat64ArrayFromJavaBulk(MyState state) {
+        return state.graal.invokeMember("copyFromHostArray", state.doubleArray, state.float64Array);
+    }
+
+    @Benchmark
+    public int[] testReadJSArrayFromJava(MyState state) {
+        Value array = state.jsArray;
+        int[] result = state.intArray;
+        for (int i = 0; i < MyState.ARRAY_SIZE; i++) {
+            result[i] = array.getArrayElement(i).asInt();
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int[] testReadJSArrayFromJavaBulk(MyState state) {
+        state.graal.invokeMember("copyToHostArray", state.jsArray, state.intArray);
+        return state.intArray;
+    }
+
+    @Benchmark
+    public int[] testReadTypedArrayFromJavaBulk(MyState state) {
+        state.graal.invokeMember("copyToHostArray", state.int32Array, state.intArray);
+        return state.intArray;
+    }
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latency of a round of {@code Atomics} operations by several agents on one SharedArrayBuffer.
+ * The agents are started once per trial and wait for the benchmark thread to start each round;
+ * a round ends when all agents have finished their share.
+ *
+ * Modes: {@code own-slot}, every agent adds to its own location; {@code shared-slot}, all agents
+ * add to the same location; {@code wait-notify}, pairs of agents take turns on their own location
+ * using {@code Atomics.wait} and {@code Atomics.notify}.
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JMHAtomicsContentionBenchmark {
+    @State(Scope.Thread)
+    public static class MyState extends JSBenchmarkState {
+        @Param({"2", "8"}) int workers;
+        @Param({"own-slot", "shared-slot", "wait-notify"}) String mode;
+
+        Value round;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            setUp(Context.newBuilder(ID).allowExperimentalOptions(true).option("js.test262-mode", "true"),
+                            // slots: 0 round, 1 finished agents, 2 stop flag, 3 agent ids, 4.. data
+                            "var WORKERS = " + workers + ", MODE = '" + mode + "', OPS = 1000, TURNS = 100;" +
+                            "var agentBody = function(sab) {" +
+                            "  var ia = new Int32Array(sab);" +
+                            "  var id = Atomics.add(ia, 3, 1);" +
+                            "  for (var r = 1; ; r++) {" +
+                            "    while (Atomics.load(ia, 0) < r) Atomics.wait(ia, 0, r - 1);" +
+                            "    if (Atomics.load(ia, 2) !== 0) break;" +
+                            "    if (MODE === 'own-slot') {" +
+                            "      for (var i = 0; i < OPS; i++) Atomics.add(ia, 4 + id, 1);" +
+                            "    } else if (MODE === 'shared-slot') {" +
+                            "      for (var i = 0; i < OPS; i++) Atomics.add(ia, 4, 1);" +
+                            "    } else {" +
+                            "      var slot = 4 + (id >> 1), parity = id & 1, v;" +
+                            "      for (var i = 0; i < TURNS; i++) {" +
+                            "        while (((v = Atomics.load(ia, slot)) & 1) !== parity) Atomics.wait(ia, slot, v);" +
+                            "        Atomics.add(ia, slot, 1);" +
+                            "        Atomics.notify(ia, slot);" +
+                            "      }" +
+                            "    }" +
+                            "    Atomics.add(ia, 1, 1);" +
+                            "  }" +
+                            "  $262.agent.report('done');" +
+                            "  $262.agent.leaving();" +
+                            "};" +
+                            "var agentSource = 'var WORKERS = ' + WORKERS + ', MODE = \"' + MODE + '\", OPS = ' + OPS + ', TURNS = ' + TURNS + ';' +" +
+                            "                  '$262.agent.receiveBroadcast(' + agentBody + ');';" +
+                            "for (var w = 0; w < WORKERS; w++) $262.agent.start(agentSource);" +
+                            "var ia = new Int32Array(new SharedArrayBuffer((4 + WORKERS) * Int32Array.BYTES_PER_ELEMENT));" +
+                            "$262.agent.broadcast(ia.buffer);" +
+                            "var rounds = 0;" +
+                            "function round() {" +
+                            "  rounds++;" +
+                            "  Atomics.store(ia, 0, rounds);" +
+                            "  Atomics.notify(ia, 0);" +
+                            "  var target = rounds * WORKERS;" +
+                            "  while (Atomics.load(ia, 1) < target) {}" +
+                            "  return rounds;" +
+                            "}" +
+                            "function stop() {" +
+                            "  Atomics.store(ia, 2, 1);" +
+                            "  Atomics.store(ia, 0, rounds + 1);" +
+                            "  Atomics.notify(ia, 0);" +
+                            "  for (var reports = 0; reports < WORKERS;) {" +
+                            "    if ($262.agent.getReport() !== null) reports++; else $262.agent.sleep(1);" +
+                            "  }" +
+                            "}");
+            round = getFunction("round");
+        }
+
+        @TearDown(Level.Trial)
+        public void doTearDown() {
+            getFunction("stop").execute();
+            tearDown();
+        }
+    }
+
+    @Benchmark
+    public Value testRound(MyState state) {
+        return state.round.execute();
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.jmh;
+
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Map and Set with numeric and string keys.
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JMHCollectionsBenchmark {
+    @State(Scope.Thread)
+    public static class MyState extends JSBenchmarkState {
+        Value mapNumericKeys;
+        Value mapStringKeys;
+        Value setAddDelete;
+        Value mapIterate;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            setUp("var keys = []; for (var i = 0; i < 10000; i++) keys.push('key' + i);" +
+                            "var filled = new Map(); for (var i = 0; i < 10000; i++) filled.set(i, i);" +
+                            "function mapNumericKeys() {" +
+                            "  var m = new Map();" +
+                            "  for (var i = 0; i < 10000; i++) m.set(i, i);" +
+                            "  var sum = 0;" +
+                            "  for (var i = 0; i < 10000; i++) sum += m.get(i);" +
+                            "  return sum;" +
+                            "}" +
+                            "function mapStringKeys() {" +
+                            "  var m = new Map();" +
+                            "  for (var i = 0; i < keys.length; i++) m.set(keys[i], i);" +
+                            "  var n = 0;" +
+                            "  for (var i = 0; i < keys.length; i++) if (m.has(keys[i])) n++;" +
+                            "  return n;" +
+                            "}" +
+                            "function setAddDelete() {" +
+                            "  var s = new Set();" +
+                            "  for (var i = 0; i < 10000; i++) { s.add(i); if (i % 3 === 0) s.delete(i >> 1); }" +
+                            "  return s.size;" +
+                            "}" +
+                            "function mapIterate() {" +
+                            "  var sum = 0;" +
+                            "  for (var [k, v] of filled) sum += v;" +
+                            "  return sum;" +
+                            "}");
+            mapNumericKeys = getFunction("mapNumericKeys");
+            mapStringKeys = getFunction("mapStringKeys");
+            setAddDelete = getFunction("setAddDelete");
+            mapIterate = getFunction("mapIterate");
+        }
+
+        @TearDown(Level.Trial)
+        public void doTearDown() {
+            tearDown();
+        }
+    }
+
+    @Benchmark
+    public Value testMapNumericKeys(MyState state) {
+        return state.mapNumericKeys.execute();
+    }
+
+    @Benchmark
+    public Value testMapStringKeys(MyState state) {
+        return state.mapStringKeys.execute();
+    }
+
+    @Benchmark
+    public Value testSetAddDelete(MyState state) {
+        return state.setAddDelete.execute();
+    }
+
+    @Benchmark
+    public Value testMapIterate(MyState state) {
+        return state.mapIterate.execute();
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.jmh;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JMHDateBenchmark {
+    @State(Scope.Thread)
+    public static class MyState extends JSBenchmarkState {
+        @Param({"UTC", "Europe/Prague", "America/New_York"}) String timeZone;
+
+        Value localFields;
+        Value construct;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            setUp(Context.newBuilder(ID).option("js.timezone", timeZone),
+                            "var dates = [];" +
+                            "for (var i = 0; i < 1000; i++) dates.push(new Date(1600000000000 + i * 3600000));" +
+                            "function localFields() {" +
+                            "  var sum = 0;" +
+                            "  for (var i = 0; i < dates.length; i++) {" +
+                            "    var d = dates[i];" +
+                            "    sum += d.getFullYear() + d.getMonth() + d.getDate() + d.getHours() + d.getMinutes() + d.getTimezoneOffset();" +
+                            "  }" +
+                            "  return sum;" +
+                            "}" +
+                            "function construct() {" +
+                            "  var sum = 0;" +
+                            "  for (var i = 0; i < 1000; i++) sum += new Date(2020, i % 12, 1 + i % 28, i % 24, i % 60).getTime() % 1000;" +
+                            "  return sum;" +
+                            "}");
+            localFields = getFunction("localFields");
+            construct = getFunction("construct");
+        }
+
+        @TearDown(Level.Trial)
+        public void doTearDown() {
+            tearDown();
+        }
+    }
+
+    @Benchmark
+    public Value testLocalFields(MyState state) {
+        return state.localFields.execute();
+    }
+
+    @Benchmark
+    public Value testConstructLocal(MyState state) {
+        return state.construct.execute();
+    }
+}
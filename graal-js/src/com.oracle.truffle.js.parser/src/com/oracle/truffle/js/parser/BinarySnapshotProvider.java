@@ -40,8 +40,14 @@
  */
 package com.oracle.truffle.js.parser;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumSet;
 
+import com.oracle.truffle.api.TruffleFile;
 import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.js.codec.BinaryDecoder;
 import com.oracle.truffle.js.codec.NodeDecoder;
@@ -49,6 +55,12 @@ import com.oracle.truffle.js.nodes.JSNodeDecoder;
 import com.oracle.truffle.js.nodes.NodeFactory;
 import com.oracle.truffle.js.runtime.JSContext;
 
+/**
+ * Restores a script from a binary snapshot. Function bodies recorded as lazy are only decoded when
+ * the function is first called, so the snapshot buffer is retained (and read on demand) for the
+ * lifetime of the script. Use {@link #map(TruffleFile)} to back the snapshot by a memory-mapped file
+ * instead of a heap copy.
+ */
 public class BinarySnapshotProvider implements SnapshotProvider {
     public static final int MAGIC = 0x314e4942;
     private final ByteBuffer buffer;
@@ -74,6 +86,28 @@ public class BinarySnapshotProvider implements SnapshotProvider {
         this(ByteBuffer.wrap(bytes));
     }
 
+    /**
+     * Creates a snapshot provider backed by a read-only memory mapping of the given file. Pages are
+     * only loaded when the corresponding part of the snapshot is decoded. If the file system of the
+     * file does not support mapping, the snapshot is read into memory instead.
+     *
+     * @throws IllegalArgumentException if the file is not a snapshot compatible with this version
+     * @throws SecurityException if the file system denies reading the file
+     */
+    public static BinarySnapshotProvider map(TruffleFile file) throws IOException {
+        ByteBuffer buffer;
+        try (SeekableByteChannel channel = file.newByteChannel(EnumSet.of(StandardOpenOption.READ))) {
+            if (channel instanceof FileChannel) {
+                // the mapping stays valid after the channel is closed
+                buffer = ((FileChannel) channel).map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } else {
+                buffer = ByteBuffer.wrap(file.readAllBytes());
+            }
+        }
+        checkFormat(new BinaryDecoder(buffer));
+        return new BinarySnapshotProvider(buffer);
+    }
+
     @Override
     public Object apply(NodeFactory nodeFactory, JSContext context, Source source) {
         BinaryDecoder decoder = new BinaryDecoder(buffer);
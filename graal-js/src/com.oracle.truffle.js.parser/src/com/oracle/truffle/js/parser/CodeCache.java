@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.parser;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.ServiceLoader;
+
+import com.oracle.js.parser.ParserException;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.TruffleLanguage.Env;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.js.nodes.JSNodeDecoder;
+import com.oracle.truffle.js.nodes.NodeFactory;
+import com.oracle.truffle.js.nodes.ScriptNode;
+import com.oracle.truffle.js.nodes.function.FunctionRootNode;
+import com.oracle.truffle.js.runtime.JSConfig;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.runtime.JSParserOptions;
+
+/**
+ * Persistent code cache enabled by the {@code js.code-cache-dir} option.
+ *
+ * Translated scripts are stored in the binary snapshot format, one file per script, named after a
+ * digest of the source code, the snapshot format checksum and the options that affect parsing and
+ * translation. Entries are written by the {@link CodeCacheRecorder} of the snapshot tool, which is
+ * part of the GraalJS distribution (but not available in native images, where existing entries
+ * are only read). All file
+ * access goes through the context's file system, so the cache is not used if IO is not allowed.
+ */
+public final class CodeCache {
+    private static final String FILE_SUFFIX = ".jsc";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static volatile CodeCacheRecorder recorder;
+    private static volatile boolean recorderLoaded;
+
+    private CodeCache() {
+    }
+
+    /**
+     * Restores the script from the code cache or, if not cached yet, translates it and adds it to the
+     * cache.
+     *
+     * @return the translated script or {@code null} if the script could not be served from or added to
+     *         the cache, in which case the caller should translate it the regular way
+     */
+    @TruffleBoundary
+    public static ScriptNode parseScript(JSContext context, Source source, boolean isStrict) {
+        JSContextOptions options = context.getContextOptions();
+        Env env = context.getRealm().getEnv();
+        String key = computeKey(context, source, isStrict);
+        TruffleFile directory;
+        TruffleFile file;
+        boolean exists;
+        try {
+            directory = env.getPublicTruffleFile(options.getCodeCacheDir());
+            file = directory.resolve(key + FILE_SUFFIX);
+            exists = file.isRegularFile();
+        } catch (SecurityException | UnsupportedOperationException | IllegalArgumentException e) {
+            // IO is not allowed or the directory is not a valid path of the file system
+            return null;
+        }
+
+        if (exists) {
+            try {
+                BinarySnapshotProvider snapshot = BinarySnapshotProvider.map(file);
+                return ScriptNode.fromFunctionRoot(context, (FunctionRootNode) snapshot.apply(NodeFactory.getInstance(context), context, source));
+            } catch (IOException | RuntimeException e) {
+                // unreadable, corrupt or stale entry, overwrite it below
+            }
+        }
+
+        CodeCacheRecorder codeCacheRecorder = getRecorder();
+        if (codeCacheRecorder == null || options.isLazyTranslation()) {
+            return null;
+        }
+        return translateAndStore(codeCacheRecorder, context, source, isStrict, env, directory, key, file);
+    }
+
+    private static ScriptNode translateAndStore(CodeCacheRecorder codeCacheRecorder, JSContext context, Source source, boolean isStrict, Env env, TruffleFile directory, String key,
+                    TruffleFile file) {
+        ScriptNode script = null;
+        TruffleFile tempFile = null;
+        try {
+            directory.createDirectories();
+            tempFile = env.createTempFile(directory, key, ".tmp");
+            try (OutputStream out = new BufferedOutputStream(tempFile.newOutputStream())) {
+                script = codeCacheRecorder.translateAndRecord(context, source, isStrict, out);
+            }
+            // publish atomically so that concurrent readers never see a partially written entry
+            tempFile.move(file, StandardCopyOption.ATOMIC_MOVE);
+            tempFile = null;
+        } catch (ParserException e) {
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            // the cache is best-effort; a script that was translated successfully is still usable
+        } finally {
+            if (tempFile != null) {
+                try {
+                    tempFile.delete();
+                } catch (IOException | SecurityException e) {
+                    // ignore
+                }
+            }
+        }
+        return script;
+    }
+
+    private static String computeKey(JSContext context, Source source, boolean isStrict) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(source.getCharacters().toString().getBytes(StandardCharsets.UTF_8));
+        // separates the source from the header so that neither can be shifted into the other
+        digest.update((byte) 0);
+        String header = "checksum=" + JSNodeDecoder.getChecksum() + ";strict=" + isStrict + ";" + translationOptions(context);
+        digest.update(header.getBytes(StandardCharsets.UTF_8));
+        byte[] hash = digest.digest();
+        char[] hex = new char[hash.length * 2];
+        for (int i = 0; i < hash.length; i++) {
+            hex[2 * i] = HEX_DIGITS[(hash[i] >>> 4) & 0xf];
+            hex[2 * i + 1] = HEX_DIGITS[hash[i] & 0xf];
+        }
+        return new String(hex);
+    }
+
+    /**
+     * Canonical serialization of the options that are consulted by the parser and translator. Other
+     * options do not affect the cached code and must not split the cache.
+     */
+    private static String translationOptions(JSContext context) {
+        JSContextOptions options = context.getContextOptions();
+        JSParserOptions parserOptions = context.getParserOptions();
+        StringBuilder sb = new StringBuilder();
+        sb.append("parser.strict=").append(parserOptions.isStrict());
+        sb.append(";parser.scripting=").append(parserOptions.isScripting());
+        sb.append(";parser.shebang=").append(parserOptions.isShebang());
+        sb.append(";parser.ecmascript-version=").append(parserOptions.getEcmaScriptVersion());
+        sb.append(";parser.syntax-extensions=").append(parserOptions.isSyntaxExtensions());
+        sb.append(";parser.const-as-var=").append(parserOptions.isConstAsVar());
+        sb.append(";parser.function-statement-error=").append(parserOptions.isFunctionStatementError());
+        sb.append(";parser.empty-statements=").append(parserOptions.isEmptyStatements());
+        sb.append(";parser.annex-b=").append(parserOptions.isAnnexB());
+        sb.append(";parser.bigint=").append(parserOptions.isAllowBigInt());
+        sb.append(";parser.class-fields=").append(parserOptions.isClassFields());
+        sb.append(";ecmascript-version=").append(options.getEcmaScriptVersion());
+        sb.append(";annex-b=").append(options.isAnnexB());
+        sb.append(";nashorn-compat=").append(options.isNashornCompatibilityMode());
+        sb.append(";v8-compat=").append(options.isV8CompatibilityMode());
+        sb.append(";v8-legacy-const=").append(options.isV8LegacyConst());
+        sb.append(";disable-with=").append(options.isDisableWith());
+        sb.append(";validate-regexp-literals=").append(options.isValidateRegExpLiterals());
+        sb.append(";function-arguments-limit=").append(options.getFunctionArgumentsLimit());
+        return sb.toString();
+    }
+
+    private static CodeCacheRecorder getRecorder() {
+        if (JSConfig.SubstrateVM) {
+            return null;
+        }
+        if (!recorderLoaded) {
+            synchronized (CodeCache.class) {
+                if (!recorderLoaded) {
+                    Iterator<CodeCacheRecorder> iterator = ServiceLoader.load(CodeCacheRecorder.class, CodeCache.class.getClassLoader()).iterator();
+                    recorder = iterator.hasNext() ? iterator.next() : null;
+                    recorderLoaded = true;
+                }
+            }
+        }
+        return recorder;
+    }
+}
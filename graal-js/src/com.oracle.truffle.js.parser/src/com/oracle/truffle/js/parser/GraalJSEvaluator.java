@@ -144,12 +144,6 @@ public final class GraalJSEvaluator implements JSParser {
     @Override
     public ScriptNode parseFunction(JSContext context, String parameterList, String body, boolean generatorFunction, boolean asyncFunction, String sourceName) {
         String wrappedBody = JSRuntime.LINE_SEPARATOR + body + JSRuntime.LINE_SEPARATOR;
-        try {
-            GraalJSParserHelper.checkFunctionSyntax(context, context.getParserOptions(), parameterList, wrappedBody, generatorFunction, asyncFunction, sourceName);
-        } catch (com.oracle.js.parser.ParserException e) {
-            e.setLineNumber(e.getLineNumber() - 1); // undo the shift caused by the wrapping
-            throw parserToJSError(null, e, context);
-        }
         StringBuilder code = new StringBuilder();
         if (asyncFunction) {
             code.append("(async function");
@@ -173,7 +167,16 @@ public final class GraalJSEvaluator implements JSParser {
         code.append("})");
         Source source = Source.newBuilder(JavaScriptLanguage.ID, code.toString(), sourceName).build();
 
-        return parseEval(context, null, source, false, null);
+        context.checkEvalAllowed();
+        return context.getOrParse(new ParseCacheKey(source, false, ParseCacheKey.FUNCTION), () -> {
+            try {
+                GraalJSParserHelper.checkFunctionSyntax(context, context.getParserOptions(), parameterList, wrappedBody, generatorFunction, asyncFunction, sourceName);
+            } catch (com.oracle.js.parser.ParserException e) {
+                e.setLineNumber(e.getLineNumber() - 1); // undo the shift caused by the wrapping
+                throw parserToJSError(null, e, context);
+            }
+            return parseEvalUncached(context, null, source, false, null);
+        });
     }
 
     /**
@@ -216,6 +219,10 @@ public final class GraalJSEvaluator implements JSParser {
 
     private static ScriptNode parseEval(JSContext context, Node lastNode, Source source, boolean isStrict, DirectEvalContext directEval) {
         context.checkEvalAllowed();
+        return context.getOrParse(new ParseCacheKey(source, isStrict, directEval), () -> parseEvalUncached(context, lastNode, source, isStrict, directEval));
+    }
+
+    private static ScriptNode parseEvalUncached(JSContext context, Node lastNode, Source source, boolean isStrict, DirectEvalContext directEval) {
         NodeFactory nodeFactory = NodeFactory.getInstance(context);
         try {
             return JavaScriptTranslator.translateEvalScript(nodeFactory, context, source, isStrict, directEval);
@@ -244,11 +251,48 @@ public final class GraalJSEvaluator implements JSParser {
     @TruffleBoundary
     @Override
     public ScriptNode evalCompile(JSContext context, String sourceCode, String name) {
-        try {
-            context.checkEvalAllowed();
-            return JavaScriptTranslator.translateScript(NodeFactory.getInstance(context), context, Source.newBuilder(JavaScriptLanguage.ID, sourceCode, name).build(), false, "", "");
-        } catch (com.oracle.js.parser.ParserException e) {
-            throw Errors.createSyntaxError(e.getMessage());
+        context.checkEvalAllowed();
+        Source source = Source.newBuilder(JavaScriptLanguage.ID, sourceCode, name).build();
+        return context.getOrParse(new ParseCacheKey(source, false, ParseCacheKey.SCRIPT), () -> {
+            try {
+                return JavaScriptTranslator.translateScript(NodeFactory.getInstance(context), context, source, false, "", "");
+            } catch (com.oracle.js.parser.ParserException e) {
+                throw Errors.createSyntaxError(e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Key of the engine-wide parse cache. The scope is the {@link DirectEvalContext} of a direct
+     * eval (compared by identity, since the parse result resolves variables against it), null
+     * for indirect eval, or one of the markers distinguishing other kinds of parses.
+     */
+    private static final class ParseCacheKey {
+        static final Object FUNCTION = new Object();
+        static final Object SCRIPT = new Object();
+
+        private final Source source;
+        private final boolean strict;
+        private final Object scope;
+
+        ParseCacheKey(Source source, boolean strict, Object scope) {
+            this.source = source;
+            this.strict = strict;
+            this.scope = scope;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof ParseCacheKey)) {
+                return false;
+            }
+            ParseCacheKey other = (ParseCacheKey) obj;
+            return strict == other.strict && scope == other.scope && source.equals(other.source);
+        }
+
+        @Override
+        public int hashCode() {
+            return (source.hashCode() * 31 + System.identityHashCode(scope)) * 31 + (strict ? 1 : 0);
         }
     }
 
@@ -261,12 +305,23 @@ public final class GraalJSEvaluator implements JSParser {
             return fakeScriptForModule(context, source);
         }
         try {
-            return JavaScriptTranslator.translateScript(NodeFactory.getInstance(context), context, source, context.getParserOptions().isStrict(), prolog, epilog, argumentNames);
+            boolean isStrict = context.getParserOptions().isStrict();
+            if (!context.getContextOptions().getCodeCacheDir().isEmpty() && isEmpty(prolog) && isEmpty(epilog) && (argumentNames == null || argumentNames.length == 0)) {
+                ScriptNode cached = CodeCache.parseScript(context, source, isStrict);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+            return JavaScriptTranslator.translateScript(NodeFactory.getInstance(context), context, source, isStrict, prolog, epilog, argumentNames);
         } catch (com.oracle.js.parser.ParserException e) {
             throw Errors.createSyntaxError(e.getMessage());
         }
     }
 
+    private static boolean isEmpty(String str) {
+        return str == null || str.isEmpty();
+    }
+
     private ScriptNode fakeScriptForModule(JSContext context, Source source) {
         RootNode rootNode = new JavaScriptRootNode(context.getLanguage(), JSBuiltin.createSourceSection(), null) {
             @Child private PerformPromiseThenNode performPromiseThenNode = PerformPromiseThenNode.create(context);
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.scriptengine.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import javax.script.Bindings;
+import javax.script.ScriptContext;
+import javax.script.ScriptException;
+import javax.script.SimpleBindings;
+import javax.script.SimpleScriptContext;
+
+import org.graalvm.polyglot.Context;
+import org.junit.Test;
+
+import com.oracle.truffle.js.scriptengine.GraalJSScriptEngine;
+
+public class TestContextPool {
+
+    private static ScriptContext newScriptContext(Bindings globalBindings) {
+        ScriptContext ctxt = new SimpleScriptContext();
+        ctxt.setBindings(new SimpleBindings(), ScriptContext.ENGINE_SCOPE);
+        ctxt.setBindings(globalBindings, ScriptContext.GLOBAL_SCOPE);
+        return ctxt;
+    }
+
+    @Test
+    public void reuseContext() throws ScriptException {
+        try (GraalJSScriptEngine engine = GraalJSScriptEngine.create()) {
+            engine.enableContextPool(2, 1);
+            ScriptContext first = newScriptContext(new SimpleBindings());
+            engine.eval("y = 43; this.z = 44; this[Symbol.for('s')] = 45; (function() { var local = 46; })();", first);
+            Context polyglotContext = engine.getPolyglotContext(first);
+            engine.releasePolyglotContext(first);
+
+            ScriptContext second = newScriptContext(new SimpleBindings());
+            assertSame(polyglotContext, engine.getPolyglotContext(second));
+            assertEquals("undefined", engine.eval("typeof y", second));
+            assertEquals("undefined", engine.eval("typeof z", second));
+            assertEquals("undefined", engine.eval("typeof this[Symbol.for('s')]", second));
+            assertEquals("function", engine.eval("typeof Array", second));
+            engine.releasePolyglotContext(second);
+        }
+    }
+
+    private static void assertNotReused(GraalJSScriptEngine engine, String script) throws ScriptException {
+        ScriptContext first = newScriptContext(new SimpleBindings());
+        try {
+            engine.eval(script, first);
+        } catch (ScriptException e) {
+            // failed scripts are covered as well
+        }
+        Context polyglotContext = engine.getPolyglotContext(first);
+        engine.releasePolyglotContext(first);
+
+        ScriptContext second = newScriptContext(new SimpleBindings());
+        assertNotSame(polyglotContext, engine.getPolyglotContext(second));
+        // the script can be run again without a redeclaration error
+        engine.eval("let x = 1; class C {}", second);
+        engine.releasePolyglotContext(second);
+    }
+
+    @Test
+    public void lexicalDeclarationsNotReused() throws ScriptException {
+        try (GraalJSScriptEngine engine = GraalJSScriptEngine.create()) {
+            engine.enableContextPool(2, 0);
+            assertNotReused(engine, "let x = 1; class C {}");
+            assertNotReused(engine, "const c = 1;");
+        }
+    }
+
+    @Test
+    public void varDeclarationsNotReused() throws ScriptException {
+        try (GraalJSScriptEngine engine = GraalJSScriptEngine.create()) {
+            engine.enableContextPool(2, 0);
+            assertNotReused(engine, "var x = 42;");
+            assertNotReused(engine, "function f() {}");
+        }
+    }
+
+    @Test
+    public void failedScriptNotReused() throws ScriptException {
+        try (GraalJSScriptEngine engine = GraalJSScriptEngine.create()) {
+            engine.enableContextPool(2, 0);
+            // leaves x in its temporal dead zone
+            assertNotReused(engine, "let x = (function() { throw new Error(); })();");
+        }
+    }
+
+    @Test
+    public void createBindings() {
+        try (GraalJSScriptEngine engine = GraalJSScriptEngine.create()) {
+            engine.enableContextPool(1, 0);
+            Bindings bindings = engine.createBindings();
+            bindings.put("x", 42);
+            assertEquals(42, engine.eval("x", bindings));
+            ((AutoCloseable) bindings).close();
+            assertEquals("undefined", engine.eval("typeof x", bindings));
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Test
+    public void customizedContextNotPooled() throws ScriptException {
+        try (GraalJSScriptEngine engine = GraalJSScriptEngine.create()) {
+            engine.enableContextPool(1, 1);
+            ScriptContext ctxt = newScriptContext(new SimpleBindings());
+            ctxt.getBindings(ScriptContext.ENGINE_SCOPE).put("polyglot.js.allowHostAccess", true);
+            Context polyglotContext = engine.getPolyglotContext(ctxt);
+            engine.releasePolyglotContext(ctxt);
+            assertSame(polyglotContext, engine.getPolyglotContext(ctxt));
+
+            ScriptContext other = newScriptContext(new SimpleBindings());
+            assertNotSame(polyglotContext, engine.getPolyglotContext(other));
+        }
+    }
+
+    @Test
+    public void importAddedGlobalBindings() throws ScriptException {
+        try (GraalJSScriptEngine engine = GraalJSScriptEngine.create()) {
+            engine.enableContextPool(1, 0);
+            Bindings globalBindings = new SimpleBindings();
+            globalBindings.put("a", 1);
+            ScriptContext ctxt = newScriptContext(globalBindings);
+            assertEquals(1, engine.eval("a", ctxt));
+            globalBindings.put("a", 2);
+            globalBindings.put("b", 3);
+            assertEquals(5, engine.eval("a + b", ctxt));
+            engine.releasePolyglotContext(ctxt);
+
+            // imports are forgotten when the context is reset
+            ScriptContext other = newScriptContext(globalBindings);
+            assertTrue((boolean) engine.eval("a === 2 && b === 3", other));
+            engine.releasePolyglotContext(other);
+        }
+    }
+
+    @Test
+    public void importSkippedGlobalBindingsLater() throws ScriptException {
+        try (GraalJSScriptEngine engine = GraalJSScriptEngine.create()) {
+            Bindings globalBindings = new SimpleBindings();
+            ScriptContext ctxt = newScriptContext(globalBindings);
+            engine.eval("a = 5", ctxt);
+            globalBindings.put("a", 1);
+            // not imported, the global already exists
+            assertEquals(5, engine.eval("var result = a; delete a; result", ctxt));
+            assertEquals(1, engine.eval("a", ctxt));
+        }
+    }
+}
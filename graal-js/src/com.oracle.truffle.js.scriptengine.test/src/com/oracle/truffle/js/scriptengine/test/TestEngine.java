@@ -69,6 +69,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import com.oracle.truffle.js.scriptengine.GraalJSCompiledScript;
 import com.oracle.truffle.js.scriptengine.GraalJSScriptEngine;
 
 public class TestEngine {
@@ -98,6 +99,32 @@ public class TestEngine {
         assertEquals(true, ((Compilable) getEngine()).compile("true").eval());
     }
 
+    @Test
+    public void compileAndEvalRepeatedly() throws ScriptException {
+        ScriptEngine engine = getEngine();
+        engine.eval("var counter = 0;");
+        GraalJSCompiledScript script = (GraalJSCompiledScript) ((Compilable) engine).compile("++counter");
+        for (int i = 1; i <= 3; i++) {
+            assertEquals(i, script.eval());
+        }
+        assertEquals(1, script.getCacheMisses());
+        assertEquals(3, script.getCacheHits());
+        assertEquals(0, script.getCacheInvalidations());
+    }
+
+    @Test
+    public void compileAndEvalInOtherContext() throws ScriptException {
+        ScriptEngine engine = getEngine();
+        GraalJSCompiledScript script = (GraalJSCompiledScript) ((Compilable) engine).compile("typeof x === 'undefined' ? 1 : x + 1");
+        Bindings bindings = engine.createBindings();
+        bindings.put("x", 41);
+        assertEquals(42, script.eval(bindings));
+        assertEquals(42, script.eval(bindings));
+        assertEquals(1, script.eval());
+        assertEquals(3, script.getCacheMisses());
+        assertEquals(2, script.getCacheInvalidations());
+    }
+
     @Test
     public void compileSyntaxError() throws ScriptException {
         expectedException.expect(ScriptException.class);
@@ -41,6 +41,9 @@
 package com.oracle.truffle.js.scriptengine;
 
 import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -51,6 +54,7 @@ import javax.script.ScriptContext;
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.TypeLiteral;
 import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.Proxy;
 
 import com.oracle.truffle.js.scriptengine.GraalJSScriptEngine.MagicBindingsOptionSetter;
 
@@ -67,16 +71,21 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
     private Context.Builder contextBuilder;
     // ScriptContext of the ScriptEngine where these bindings form ENGINE_SCOPE bindings
     private ScriptContext engineScriptContext;
+    // pool to take the context from, unless options have been set on the bindings
+    private final GraalJSContextPool contextPool;
+    private boolean customized;
 
-    GraalJSBindings(Context.Builder contextBuilder, ScriptContext scriptContext) {
+    GraalJSBindings(Context.Builder contextBuilder, ScriptContext scriptContext, GraalJSContextPool contextPool) {
         this.contextBuilder = contextBuilder;
         this.engineScriptContext = scriptContext;
+        this.contextPool = contextPool;
     }
 
     GraalJSBindings(Context context, ScriptContext scriptContext) {
         this.context = context;
         initGlobal();
         this.engineScriptContext = scriptContext;
+        this.contextPool = null;
     }
 
     private void requireContext() {
@@ -86,7 +95,11 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
     }
 
     private void initContext() {
-        context = GraalJSScriptEngine.createDefaultContext(contextBuilder);
+        if (contextPool != null && !customized) {
+            context = contextPool.acquire();
+        } else {
+            context = GraalJSScriptEngine.createDefaultContext(contextBuilder);
+        }
         initGlobal();
     }
 
@@ -117,7 +130,11 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
                 if (optionSetter == null) {
                     throw new IllegalArgumentException("unkown graal-js option \"" + name + "\"");
                 } else {
-                    contextBuilder = optionSetter.setOption(contextBuilder, v);
+                    // the builder is shared with the engine, see GraalJSScriptEngine.createDefaultContext
+                    synchronized (contextBuilder) {
+                        contextBuilder = optionSetter.setOption(contextBuilder, v);
+                    }
+                    customized = true;
                     return true;
                 }
             } else {
@@ -171,10 +188,32 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
         return global.entrySet();
     }
 
+    /**
+     * Closes the context, or returns it to the pool if it has been taken from one.
+     */
     @Override
     public void close() {
         if (context != null) {
-            context.close();
+            if (GraalJSContextPool.isPooled(context)) {
+                release();
+            } else {
+                context.close();
+            }
+        }
+    }
+
+    /**
+     * Returns the context to the pool if it has been taken from one. The bindings get a new context
+     * when they are used again.
+     */
+    void release() {
+        if (context != null && GraalJSContextPool.isPooled(context)) {
+            Context pooled = context;
+            context = null;
+            global = null;
+            deleteProperty = null;
+            clear = null;
+            GraalJSScriptEngine.releaseToPool(contextPool, pooled);
         }
     }
 
@@ -185,7 +224,17 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
     void importGlobalBindings(ScriptContext scriptContext) {
         Bindings globalBindings = scriptContext.getBindings(ScriptContext.GLOBAL_SCOPE);
         if (globalBindings != null && !globalBindings.isEmpty() && this != globalBindings) {
-            getContext().getBindings("js").getMember(SCRIPT_CONTEXT_GLOBAL_BINDINGS_IMPORT_FUNCTION_NAME).execute(globalBindings);
+            Context ctx = getContext();
+            ImportedGlobalBindings imported = GraalJSScriptEngine.getImportedGlobalBindings(ctx);
+            if (imported == null) {
+                ctx.getBindings("js").getMember(SCRIPT_CONTEXT_GLOBAL_BINDINGS_IMPORT_FUNCTION_NAME).execute(globalBindings);
+            } else {
+                String[] keys = imported.getPendingKeys(globalBindings);
+                if (keys.length != 0) {
+                    Value defined = ctx.getBindings("js").getMember(SCRIPT_CONTEXT_GLOBAL_BINDINGS_IMPORT_FUNCTION_NAME).execute(globalBindings, keys);
+                    imported.addKeys(globalBindings, defined);
+                }
+            }
         }
     }
 
@@ -193,4 +242,54 @@ final class GraalJSBindings extends AbstractMap<String, Object> implements Bindi
         engineScriptContext = scriptContext;
     }
 
+    /**
+     * Keys of the global scope bindings already imported into a context. Imported entries are
+     * accessed through the bindings, so only keys added since the last import need to be imported.
+     * Keys that were not imported because the global scope already defined them are tried again on
+     * the next import.
+     */
+    static final class ImportedGlobalBindings implements Proxy {
+
+        private static final String[] EMPTY = new String[0];
+
+        private Bindings bindings;
+        private final Set<String> keys = new HashSet<>();
+
+        /**
+         * Returns the keys of the bindings that have not been imported yet.
+         */
+        synchronized String[] getPendingKeys(Bindings globalBindings) {
+            if (bindings != globalBindings) {
+                bindings = globalBindings;
+                keys.clear();
+            }
+            List<String> pending = null;
+            for (String key : globalBindings.keySet()) {
+                if (!keys.contains(key)) {
+                    if (pending == null) {
+                        pending = new ArrayList<>();
+                    }
+                    pending.add(key);
+                }
+            }
+            return pending == null ? EMPTY : pending.toArray(EMPTY);
+        }
+
+        /**
+         * Marks the keys that the import function has defined in the global scope as imported.
+         */
+        synchronized void addKeys(Bindings globalBindings, Value defined) {
+            if (bindings == globalBindings) {
+                for (long i = 0; i < defined.getArraySize(); i++) {
+                    keys.add(defined.getArrayElement(i).asString());
+                }
+            }
+        }
+
+        synchronized void clear() {
+            bindings = null;
+            keys.clear();
+        }
+    }
+
 }
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.scriptengine;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+
+/**
+ * A script compiled by {@link GraalJSScriptEngine}. The script is parsed once per polyglot context
+ * and the parsed script is executed directly by {@link #eval(ScriptContext)}. Only the parsed
+ * script of the most recently used polyglot context is kept; it is replaced (invalidated) when the
+ * script is evaluated in another polyglot context.
+ */
+public final class GraalJSCompiledScript extends CompiledScript {
+
+    private final GraalJSScriptEngine engine;
+    private final Source source;
+
+    private volatile Parsed parsed;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private static final class Parsed {
+        final Context context;
+        final Value value;
+
+        Parsed(Context context, Value value) {
+            this.context = context;
+            this.value = value;
+        }
+    }
+
+    GraalJSCompiledScript(GraalJSScriptEngine engine, Source source) {
+        this.engine = engine;
+        this.source = source;
+    }
+
+    @Override
+    public ScriptEngine getEngine() {
+        return engine;
+    }
+
+    @Override
+    public Object eval(ScriptContext ctx) throws ScriptException {
+        return engine.eval(this, ctx);
+    }
+
+    Source getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the parsed script for the polyglot context, parsing it if necessary.
+     */
+    Value getParsed(Context context) {
+        Parsed p = parsed;
+        if (p != null && p.context == context) {
+            hits.incrementAndGet();
+            return p.value;
+        }
+        if (p != null) {
+            invalidations.incrementAndGet();
+        }
+        misses.incrementAndGet();
+        Value value = context.parse(source);
+        parsed = new Parsed(context, value);
+        return value;
+    }
+
+    /**
+     * Returns the number of evaluations that used an already parsed script.
+     */
+    public long getCacheHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of times the script was parsed, including the parse by
+     * {@link GraalJSScriptEngine#compile(String)}.
+     */
+    public long getCacheMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the number of times the parsed script was replaced by one for another polyglot
+     * context.
+     */
+    public long getCacheInvalidations() {
+        return invalidations.get();
+    }
+}
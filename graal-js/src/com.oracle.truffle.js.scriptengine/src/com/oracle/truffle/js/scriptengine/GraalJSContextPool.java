@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.scriptengine;
+
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.Proxy;
+
+/**
+ * A bounded pool of initialized polyglot contexts of a {@link GraalJSScriptEngine}. All contexts
+ * are created from the configuration of the script engine and share its polyglot engine.
+ *
+ * A context is only reused if it can be brought back to the global state it was created with.
+ * When it is returned to the pool, global object properties (string or symbol keyed) created
+ * since the context was created are deleted and the imported global scope bindings are
+ * forgotten. The context is closed instead of reused if a global property cannot be deleted (like
+ * top-level {@code var} and {@code function} declarations), if there are top-level lexical
+ * declarations ({@code let}, {@code const}, {@code class}), or if a script evaluation failed in it,
+ * since that may leave lexical declarations uninitialized. Modifications of built-in objects are
+ * not undone.
+ */
+final class GraalJSContextPool implements AutoCloseable {
+
+    private static final String POOL_STATE_SYMBOL = "$$internal.pool$$";
+    private static final String RESET_FUNCTION = "(function(global) {\n" +
+                    "    var ownKeys = Reflect.ownKeys;\n" +
+                    "    var deleteProperty = Reflect.deleteProperty;\n" +
+                    "    var initial = ownKeys(global);\n" +
+                    "    function isInitial(key) {\n" +
+                    "        for (var i = 0; i < initial.length; i++) {\n" +
+                    "            if (initial[i] === key) {\n" +
+                    "                return true;\n" +
+                    "            }\n" +
+                    "        }\n" +
+                    "        return false;\n" +
+                    "    }\n" +
+                    "    return function() {\n" +
+                    "        var keys = ownKeys(global);\n" +
+                    "        var clean = true;\n" +
+                    "        for (var i = 0; i < keys.length; i++) {\n" +
+                    "            if (!isInitial(keys[i]) && !deleteProperty(global, keys[i])) {\n" +
+                    "                clean = false;\n" +
+                    "            }\n" +
+                    "        }\n" +
+                    "        return clean;\n" +
+                    "    };\n" +
+                    "})(this)";
+
+    private final Context.Builder contextConfig;
+    private final int maxSize;
+    private final Deque<Context> idle;
+    private final AtomicInteger idleCount;
+    private volatile boolean closed;
+
+    GraalJSContextPool(Context.Builder contextConfig, int maxSize) {
+        this.contextConfig = contextConfig;
+        this.maxSize = maxSize;
+        this.idle = new ConcurrentLinkedDeque<>();
+        this.idleCount = new AtomicInteger();
+    }
+
+    /**
+     * Creates up to {@code count} contexts ahead of time.
+     */
+    void prestart(int count) {
+        for (int i = 0; i < Math.min(count, maxSize); i++) {
+            release(create());
+        }
+    }
+
+    /**
+     * Takes an idle context from the pool, or creates a new one if the pool is empty.
+     */
+    Context acquire() {
+        Context ctx = idle.pollFirst();
+        if (ctx != null) {
+            idleCount.decrementAndGet();
+            return ctx;
+        }
+        return create();
+    }
+
+    private Context create() {
+        Context ctx = GraalJSScriptEngine.createDefaultContext(contextConfig);
+        Value reset = GraalJSScriptEngine.evalInternal(ctx, RESET_FUNCTION);
+        Set<String> initialBindings = new HashSet<>(ctx.getBindings("js").getMemberKeys());
+        ctx.getPolyglotBindings().putMember(POOL_STATE_SYMBOL, new PoolState(reset, initialBindings));
+        return ctx;
+    }
+
+    private static PoolState getPoolState(Context ctx) {
+        Value state = ctx.getPolyglotBindings().getMember(POOL_STATE_SYMBOL);
+        if (state == null || !state.isProxyObject()) {
+            return null;
+        }
+        return state.asProxyObject();
+    }
+
+    /**
+     * Returns whether the context has been created by a context pool.
+     */
+    static boolean isPooled(Context ctx) {
+        try {
+            return ctx.getPolyglotBindings().hasMember(POOL_STATE_SYMBOL);
+        } catch (IllegalStateException e) {
+            // closed
+            return false;
+        }
+    }
+
+    /**
+     * Marks a pooled context as not reusable, e.g., because a script failed in it.
+     */
+    static void discardOnRelease(Context ctx) {
+        try {
+            PoolState state = getPoolState(ctx);
+            if (state != null) {
+                state.discard = true;
+            }
+        } catch (IllegalStateException e) {
+            // closed
+        }
+    }
+
+    /**
+     * Resets the context and returns it to the pool. The context is closed instead if it cannot
+     * be reset or the pool is full.
+     */
+    void release(Context ctx) {
+        if (closed || !reset(ctx)) {
+            ctx.close();
+            return;
+        }
+        if (idleCount.incrementAndGet() > maxSize) {
+            idleCount.decrementAndGet();
+            ctx.close();
+            return;
+        }
+        idle.offerFirst(ctx);
+        if (closed) {
+            closeIdle();
+        }
+    }
+
+    private static boolean reset(Context ctx) {
+        try {
+            PoolState state = getPoolState(ctx);
+            if (state == null || state.discard) {
+                return false;
+            }
+            if (!state.reset.execute().asBoolean()) {
+                return false;
+            }
+            // the bindings include global lexical declarations, which cannot be removed
+            for (String key : ctx.getBindings("js").getMemberKeys()) {
+                if (!state.initialBindings.contains(key)) {
+                    return false;
+                }
+            }
+            GraalJSScriptEngine.resetDefaultContext(ctx);
+            return true;
+        } catch (PolyglotException | IllegalStateException e) {
+            return false;
+        }
+    }
+
+    private void closeIdle() {
+        Context ctx;
+        while ((ctx = idle.pollFirst()) != null) {
+            idleCount.decrementAndGet();
+            ctx.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        closeIdle();
+    }
+
+    /**
+     * State of a pooled context: the function resetting the global object and the global bindings
+     * the context was created with.
+     */
+    private static final class PoolState implements Proxy {
+        final Value reset;
+        final Set<String> initialBindings;
+        volatile boolean discard;
+
+        PoolState(Value reset, Set<String> initialBindings) {
+            this.reset = reset;
+            this.initialBindings = initialBindings;
+        }
+    }
+}
@@ -87,6 +87,7 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
     private static final String OUT_SYMBOL = "$$internal.out$$";
     private static final String IN_SYMBOL = "$$internal.in$$";
     private static final String ERR_SYMBOL = "$$internal.err$$";
+    private static final String IMPORTED_SYMBOL = "$$internal.imported$$";
     private static final String JS_SYNTAX_EXTENSIONS_OPTION = "js.syntax-extensions";
     private static final String JS_SCRIPT_ENGINE_GLOBAL_SCOPE_IMPORT_OPTION = "js.script-engine-global-scope-import";
     private static final String JS_LOAD_OPTION = "js.load";
@@ -239,6 +240,8 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
     private final GraalJSEngineFactory factory;
     private final Context.Builder contextConfig;
 
+    private volatile GraalJSContextPool contextPool;
+
     private boolean evalCalled;
 
     GraalJSScriptEngine(GraalJSEngineFactory factory) {
@@ -264,7 +267,7 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
         }
         this.factory = (factory == null) ? new GraalJSEngineFactory(engineToUse) : factory;
         this.contextConfig = contextConfigToUse.option(JS_SCRIPT_ENGINE_GLOBAL_SCOPE_IMPORT_OPTION, "true").engine(engineToUse);
-        this.context.setBindings(new GraalJSBindings(this.contextConfig, this.context), ScriptContext.ENGINE_SCOPE);
+        this.context.setBindings(new GraalJSBindings(this.contextConfig, this.context, null), ScriptContext.ENGINE_SCOPE);
     }
 
     private static void updateForNashornCompatibilityMode(Context.Builder builder) {
@@ -276,14 +279,46 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
         DelegatingInputStream in = new DelegatingInputStream();
         DelegatingOutputStream out = new DelegatingOutputStream();
         DelegatingOutputStream err = new DelegatingOutputStream();
-        builder.in(in).out(out).err(err);
-        Context ctx = builder.build();
+        Context ctx;
+        // builders are shared by the script contexts of an engine (and its context pool)
+        synchronized (builder) {
+            builder.in(in).out(out).err(err);
+            ctx = builder.build();
+        }
         ctx.getPolyglotBindings().putMember(OUT_SYMBOL, out);
         ctx.getPolyglotBindings().putMember(ERR_SYMBOL, err);
         ctx.getPolyglotBindings().putMember(IN_SYMBOL, in);
+        ctx.getPolyglotBindings().putMember(IMPORTED_SYMBOL, new GraalJSBindings.ImportedGlobalBindings());
         return ctx;
     }
 
+    /**
+     * Detaches a context created by {@link #createDefaultContext} from the script context it was
+     * last used with.
+     */
+    static void resetDefaultContext(Context ctx) {
+        Value polyglotBindings = ctx.getPolyglotBindings();
+        ((DelegatingOutputStream) polyglotBindings.getMember(OUT_SYMBOL).asProxyObject()).setWriter(null);
+        ((DelegatingOutputStream) polyglotBindings.getMember(ERR_SYMBOL).asProxyObject()).setWriter(null);
+        ((DelegatingInputStream) polyglotBindings.getMember(IN_SYMBOL).asProxyObject()).setReader(null);
+        GraalJSBindings.ImportedGlobalBindings imported = getImportedGlobalBindings(ctx);
+        if (imported != null) {
+            imported.clear();
+        }
+    }
+
+    /**
+     * Returns the global scope bindings imported into a context created by
+     * {@link #createDefaultContext}, or {@code null} for other contexts.
+     */
+    static GraalJSBindings.ImportedGlobalBindings getImportedGlobalBindings(Context ctx) {
+        Value imported = ctx.getPolyglotBindings().getMember(IMPORTED_SYMBOL);
+        if (imported == null || !imported.isProxyObject()) {
+            return null;
+        }
+        return imported.asProxyObject();
+    }
+
     /**
      * Closes the current context and makes it unusable. Operations performed after closing will
      * throw an {@link IllegalStateException}.
@@ -291,6 +326,64 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
     @Override
     public void close() {
         getPolyglotContext().close();
+        GraalJSContextPool pool = contextPool;
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    /**
+     * Enables a pool of polyglot contexts for script contexts of this engine. New
+     * {@link ScriptContext script contexts} and {@link #createBindings() bindings} take an
+     * initialized context from the pool instead of creating one, unless they set
+     * {@code polyglot.js.*} options. Contexts are returned to the pool (and reset) by
+     * {@link #releasePolyglotContext(ScriptContext)} or by closing the bindings. Global object
+     * properties created by scripts are deleted on return; a context is closed instead of reused if
+     * that is not possible (top-level {@code var} and {@code function} declarations), if it has
+     * top-level {@code let}, {@code const} or {@code class} declarations, or if a script failed in
+     * it. Modifications of built-in objects persist. At most {@code maxSize} idle contexts are kept.
+     *
+     * @param maxSize the maximum number of idle contexts
+     * @param prestartCount the number of contexts to create ahead of time
+     */
+    public void enableContextPool(int maxSize, int prestartCount) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        if (contextPool != null) {
+            throw new IllegalStateException("context pool already enabled");
+        }
+        GraalJSContextPool pool = new GraalJSContextPool(contextConfig, maxSize);
+        contextPool = pool;
+        pool.prestart(prestartCount);
+    }
+
+    /**
+     * Returns the polyglot context of a script context to the context pool. The script context
+     * gets a new polyglot context when it is used again. Has no effect if the polyglot context was
+     * not taken from the pool.
+     *
+     * @see #enableContextPool(int, int)
+     */
+    public void releasePolyglotContext(ScriptContext ctxt) {
+        Bindings engineB = ctxt.getBindings(ScriptContext.ENGINE_SCOPE);
+        if (engineB instanceof GraalJSBindings) {
+            ((GraalJSBindings) engineB).release();
+        } else if (engineB != null) {
+            Object ctx = engineB.get(POLYGLOT_CONTEXT);
+            if (ctx instanceof Context && GraalJSContextPool.isPooled((Context) ctx)) {
+                engineB.remove(POLYGLOT_CONTEXT);
+                releaseToPool(contextPool, (Context) ctx);
+            }
+        }
+    }
+
+    static void releaseToPool(GraalJSContextPool pool, Context ctx) {
+        if (pool != null) {
+            pool.release(ctx);
+        } else {
+            ctx.close();
+        }
     }
 
     /**
@@ -325,7 +418,7 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
 
     @Override
     public Bindings createBindings() {
-        return new GraalJSBindings(contextConfig, null);
+        return new GraalJSBindings(contextConfig, null, contextPool);
     }
 
     @Override
@@ -394,6 +487,14 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
     }
 
     private Object eval(Source source, ScriptContext scriptContext) throws ScriptException {
+        return eval(source, null, scriptContext);
+    }
+
+    Object eval(GraalJSCompiledScript compiledScript, ScriptContext scriptContext) throws ScriptException {
+        return eval(compiledScript.getSource(), compiledScript, scriptContext);
+    }
+
+    private Object eval(Source source, GraalJSCompiledScript compiledScript, ScriptContext scriptContext) throws ScriptException {
         GraalJSBindings engineBindings = getOrCreateGraalJSBindings(scriptContext);
         Context polyglotContext = engineBindings.getContext();
         updateDelegatingIOStreams(polyglotContext, scriptContext);
@@ -402,8 +503,13 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
                 jrunscriptInitWorkaround(source, polyglotContext);
             }
             engineBindings.importGlobalBindings(scriptContext);
+            if (compiledScript != null) {
+                return compiledScript.getParsed(polyglotContext).execute().as(Object.class);
+            }
             return polyglotContext.eval(source).as(Object.class);
         } catch (PolyglotException e) {
+            // a failed script may have left top-level declarations uninitialized
+            GraalJSContextPool.discardOnRelease(polyglotContext);
             throw toScriptException(e);
         } finally {
             evalCalled = true;
@@ -446,15 +552,25 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
     private Context createContext(Bindings engineB) {
         Object ctx = engineB.get(POLYGLOT_CONTEXT);
         if (!(ctx instanceof Context)) {
-            Context.Builder builder = contextConfig;
-            for (MagicBindingsOptionSetter optionSetter : MAGIC_OPTION_SETTERS) {
-                Object value = engineB.get(optionSetter.getOptionKey());
-                if (value != null) {
-                    builder = optionSetter.setOption(builder, value);
-                    engineB.remove(optionSetter.getOptionKey());
+            GraalJSContextPool pool = contextPool;
+            // the same lock as in createDefaultContext, which the pool uses as well
+            synchronized (contextConfig) {
+                Context.Builder builder = contextConfig;
+                boolean customized = false;
+                for (MagicBindingsOptionSetter optionSetter : MAGIC_OPTION_SETTERS) {
+                    Object value = engineB.get(optionSetter.getOptionKey());
+                    if (value != null) {
+                        builder = optionSetter.setOption(builder, value);
+                        engineB.remove(optionSetter.getOptionKey());
+                        customized = true;
+                    }
+                }
+                if (pool != null && !customized) {
+                    ctx = pool.acquire();
+                } else {
+                    ctx = createDefaultContext(builder);
                 }
             }
-            ctx = createDefaultContext(builder);
             engineB.put(POLYGLOT_CONTEXT, ctx);
         }
         return (Context) ctx;
@@ -562,27 +678,19 @@ public final class GraalJSScriptEngine extends AbstractScriptEngine implements C
         return compile(source);
     }
 
+    /**
+     * Parses the script in the polyglot context of the engine's default script context. The
+     * returned {@link GraalJSCompiledScript} executes the parsed script without evaluating the
+     * source again.
+     */
     private CompiledScript compile(Source source) throws ScriptException {
-        checkSyntax(source);
-        return new CompiledScript() {
-            @Override
-            public ScriptEngine getEngine() {
-                return GraalJSScriptEngine.this;
-            }
-
-            @Override
-            public Object eval(ScriptContext ctx) throws ScriptException {
-                return GraalJSScriptEngine.this.eval(source, ctx);
-            }
-        };
-    }
-
-    private void checkSyntax(Source source) throws ScriptException {
+        GraalJSCompiledScript compiledScript = new GraalJSCompiledScript(this, source);
         try {
-            getPolyglotContext().parse(source);
+            compiledScript.getParsed(getPolyglotContext());
         } catch (PolyglotException pex) {
             throw toScriptException(pex);
         }
+        return compiledScript;
     }
 
     private static class DelegatingInputStream extends InputStream implements Proxy {
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.threading;
+
+import static org.junit.Assert.assertEquals;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
+import org.junit.Test;
+
+/**
+ * Many agents operating on different locations of one SharedArrayBuffer. Atomic operations and
+ * waiter lists of unrelated locations should not serialize the agents.
+ */
+public class AtomicsContentionTest {
+
+    private static final int WORKERS = 16;
+
+    /**
+     * Starts {@link #WORKERS} agents running the given broadcast callback with a shared
+     * {@code Int32Array}, waits for all of them to report, and returns the array.
+     */
+    private static Value runAgents(Context cx, int length, String callback) {
+        cx.getBindings("js").putMember("WORKERS", WORKERS);
+        cx.getBindings("js").putMember("callback", callback);
+        return cx.eval("js", "" +
+                        "for (var w = 0; w < WORKERS; w++) {" +
+                        "  $262.agent.start('$262.agent.receiveBroadcast(function(sab) {" +
+                        "    var ia = new Int32Array(sab);" +
+                        "    var id = Atomics.add(ia, 0, 1);' + callback + '" +
+                        "    $262.agent.report(id);" +
+                        "    $262.agent.leaving();" +
+                        "  });');" +
+                        "}" +
+                        "var ia = new Int32Array(new SharedArrayBuffer(" + length + " * Int32Array.BYTES_PER_ELEMENT));" +
+                        "$262.agent.broadcast(ia.buffer);" +
+                        "for (var reports = 0; reports < WORKERS;) {" +
+                        "  if ($262.agent.getReport() !== null) {" +
+                        "    reports++;" +
+                        "  } else {" +
+                        "    $262.agent.sleep(10);" +
+                        "  }" +
+                        "}" +
+                        "ia;");
+    }
+
+    private static Context newContext() {
+        return TestUtil.newContextBuilder().option("js.test262-mode", "true").build();
+    }
+
+    /**
+     * Every agent updates its own slot and a shared counter.
+     */
+    @Test(timeout = 60000)
+    public void atomicUpdates() {
+        final int iterations = 10000;
+        try (Context cx = newContext()) {
+            Value ia = runAgents(cx, WORKERS + 2, "" +
+                            "for (var i = 0; i < " + iterations + "; i++) {" +
+                            "  Atomics.add(ia, id + 2, 1);" +
+                            "  var old;" +
+                            "  do {" +
+                            "    old = Atomics.load(ia, 1);" +
+                            "  } while (Atomics.compareExchange(ia, 1, old, old + 1) !== old);" +
+                            "}");
+            assertEquals(WORKERS, ia.getArrayElement(0).asInt());
+            assertEquals(WORKERS * iterations, ia.getArrayElement(1).asInt());
+            for (int w = 0; w < WORKERS; w++) {
+                assertEquals(iterations, ia.getArrayElement(w + 2).asInt());
+            }
+        }
+    }
+
+    /**
+     * Pairs of agents take turns on their own slot using {@code Atomics.wait} and
+     * {@code Atomics.notify}.
+     */
+    @Test(timeout = 60000)
+    public void waitNotifyPingPong() {
+        final int rounds = 1000;
+        try (Context cx = newContext()) {
+            Value ia = runAgents(cx, WORKERS / 2 + 1, "" +
+                            "var slot = (id >> 1) + 1;" +
+                            "var parity = id & 1;" +
+                            "for (var i = 0; i < " + rounds + "; i++) {" +
+                            "  var v;" +
+                            "  while (((v = Atomics.load(ia, slot)) & 1) !== parity) {" +
+                            "    Atomics.wait(ia, slot, v);" +
+                            "  }" +
+                            "  Atomics.add(ia, slot, 1);" +
+                            "  Atomics.notify(ia, slot);" +
+                            "}");
+            for (int p = 0; p < WORKERS / 2; p++) {
+                assertEquals(2 * rounds, ia.getArrayElement(p + 1).asInt());
+            }
+        }
+    }
+
+    /**
+     * Views with different offsets share the waiter list of a location.
+     */
+    @Test(timeout = 60000)
+    public void notifyThroughOtherView() {
+        try (Context cx = newContext()) {
+            Value ia = runAgents(cx, 4, "" +
+                            "if (id === 0) {" +
+                            "  var view = new Int32Array(sab, Int32Array.BYTES_PER_ELEMENT);" +
+                            "  for (var woken = 0; woken < " + (WORKERS - 1) + ";) {" +
+                            "    woken += Atomics.notify(view, 1);" +
+                            "  }" +
+                            "} else if (Atomics.wait(ia, 2, 0) === 'ok') {" +
+                            "  Atomics.add(ia, 3, 1);" +
+                            "}");
+            assertEquals(WORKERS, ia.getArrayElement(0).asInt());
+            assertEquals(WORKERS - 1, ia.getArrayElement(3).asInt());
+        }
+    }
+}
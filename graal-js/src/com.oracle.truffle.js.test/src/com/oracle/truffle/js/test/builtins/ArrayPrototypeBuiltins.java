@@ -81,4 +81,34 @@ public class ArrayPrototypeBuiltins {
         }
     }
 
+    @Test
+    public void testSortDefault() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            Value value = context.eval(JavaScriptLanguage.ID, "[10, 9, 1, -1, undefined, 2.5, 100].sort().join()");
+            assertEquals("-1,1,10,100,2.5,9,", value.asString());
+            value = context.eval(JavaScriptLanguage.ID, "var calls = 0; var o = {toString() { calls++; return 'b'; }};" +
+                            "[o, 'c', 'a', {toString() { return 'b'; }, id: 1}].sort().map(x => x.id === 1 ? 'b1' : String(x)).join() + ':' + calls");
+            // stable; o is converted once by sort and once by map
+            assertEquals("a,b,b1,c:2", value.asString());
+        }
+    }
+
+    @Test
+    public void testSortTypedArray() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            Value value = context.eval(JavaScriptLanguage.ID, "Array.from(new Float64Array([3, NaN, -0, 0, -Infinity, 1.5]).sort()).map(x => Object.is(x, -0) ? '-0' : String(x)).join()");
+            assertEquals("-Infinity,-0,0,1.5,3,NaN", value.asString());
+            value = context.eval(JavaScriptLanguage.ID, "new Uint32Array([4294967295, 0, 2147483648, 1]).sort().join()");
+            assertEquals("0,1,2147483648,4294967295", value.asString());
+            value = context.eval(JavaScriptLanguage.ID, "new BigUint64Array([2n ** 64n - 1n, 0n, 2n ** 63n]).sort().join()");
+            assertEquals("0,9223372036854775808,18446744073709551615", value.asString());
+            value = context.eval(JavaScriptLanguage.ID, "new Int8Array([5, -3, 127, -128]).sort((a, b) => b - a).join()");
+            assertEquals("127,5,-3,-128", value.asString());
+            // large enough to be sorted in parallel
+            value = context.eval(JavaScriptLanguage.ID, "var a = new Int32Array(100000); for (var i = 0; i < a.length; i++) a[i] = (i * 7919) % 100003 - 50000;" +
+                            "a.sort(); var sorted = true; for (var i = 1; i < a.length; i++) sorted = sorted && a[i - 1] <= a[i]; sorted");
+            assertTrue(value.asBoolean());
+        }
+    }
+
 }
@@ -86,4 +86,30 @@ public class BigIntBuiltinTest {
     public void testLiteral() {
         testIntl("42n", "Missing space after");
     }
+
+    @Test
+    public void testAsIntN() {
+        String code = "var r = [];" +
+                        "for (var bits of [0, 1, 8, 32, 63, 64, 65, 128]) {" +
+                        "  for (var v of [0n, 1n, -1n, 255n, -256n, 2n ** 63n, 2n ** 63n - 1n, -(2n ** 63n), 2n ** 64n + 5n, -(2n ** 70n) - 3n]) {" +
+                        "    r.push(BigInt.asIntN(bits, v), BigInt.asUintN(bits, v));" +
+                        "  }" +
+                        "}" +
+                        "r.join();";
+        try (Context context = JSTest.newContextBuilder().build()) {
+            String expected = "0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,0,-1,1,-1,1,-1,1,0,0,0,0,-1,1,0,0,-1,1,-1,1,0,0,1,1,-1,255,-1,255,0," +
+                            "0,0,0,-1,255,0,0,5,5,-3,253,0,0,1,1,-1,4294967295,255,255,-256,4294967040,0,0,-1,4294967295,0,0,5,5,-3," +
+                            "4294967293,0,0,1,1,-1,9223372036854775807,255,255,-256,9223372036854775552,0,0,-1,9223372036854775807,0,0,5,5," +
+                            "-3,9223372036854775805,0,0,1,1,-1,18446744073709551615,255,255,-256,18446744073709551360,-9223372036854775808," +
+                            "9223372036854775808,9223372036854775807,9223372036854775807,-9223372036854775808,9223372036854775808,5,5,-3," +
+                            "18446744073709551613,0,0,1,1,-1,36893488147419103231,255,255,-256,36893488147419102976,9223372036854775808," +
+                            "9223372036854775808,9223372036854775807,9223372036854775807,-9223372036854775808,27670116110564327424," +
+                            "-18446744073709551611,18446744073709551621,-3,36893488147419103229,0,0,1,1,-1," +
+                            "340282366920938463463374607431768211455,255,255,-256,340282366920938463463374607431768211200," +
+                            "9223372036854775808,9223372036854775808,9223372036854775807,9223372036854775807,-9223372036854775808," +
+                            "340282366920938463454151235394913435648,18446744073709551621,18446744073709551621,-1180591620717411303427," +
+                            "340282366920938462282782986714356908029";
+            Assert.assertEquals(expected, context.eval(JavaScriptLanguage.ID, code).asString());
+        }
+    }
 }
@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.builtins;
+
+import static com.oracle.truffle.js.lang.JavaScriptLanguage.ID;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
+import org.junit.Test;
+
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.test.JSTest;
+
+public class GraalBuiltinsTest {
+
+    private static final String DATA = "var data = {a: 1, b: [1.5, -2, 'x\\u00e9\\u20ac\\ud83d\\ude00'], c: {d: null, e: true, f: undefined}, '\"q\"': '\\n'};";
+
+    private static byte[] toBytes(Value uint8Array) {
+        byte[] bytes = new byte[(int) uint8Array.getArraySize()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) uint8Array.getArrayElement(i).asInt();
+        }
+        return bytes;
+    }
+
+    @Test
+    public void testStringifyToBuffer() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            context.eval(ID, DATA);
+            String expected = context.eval(ID, "JSON.stringify(data, null, 2)").asString();
+            Value result = context.eval(ID, "Graal.stringifyToBuffer(data, null, 2)");
+            assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), toBytes(result));
+            assertTrue(context.eval(ID, "Graal.stringifyToBuffer(undefined) === undefined").asBoolean());
+            expected = context.eval(ID, "JSON.stringify(data, ['a', 'b'])").asString();
+            assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), toBytes(context.eval(ID, "Graal.stringifyToBuffer(data, ['a', 'b'])")));
+        }
+    }
+
+    @Test
+    public void testStringifyToBufferReuse() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            context.eval(ID, DATA);
+            String expected = context.eval(ID, "JSON.stringify(data)").asString();
+            Value fits = context.eval(ID, "var big = new ArrayBuffer(1024); var r1 = Graal.stringifyToBuffer(data, null, 0, big); r1");
+            assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), toBytes(fits));
+            assertTrue(context.eval(ID, "r1.buffer === big").asBoolean());
+            Value grown = context.eval(ID, "var small = new ArrayBuffer(4); var r2 = Graal.stringifyToBuffer(data, null, 0, small); r2");
+            assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), toBytes(grown));
+            assertTrue(context.eval(ID, "r2.buffer !== small").asBoolean());
+            assertEquals(expected.getBytes(StandardCharsets.UTF_8).length, context.eval(ID, "r2.length").asInt());
+            // the buffer that was too small keeps the prefix that was written before it overflowed
+            assertEquals(4, context.eval(ID, "small.byteLength").asInt());
+            assertEquals(expected.substring(0, 4), context.eval(ID, "String.fromCharCode.apply(null, new Uint8Array(small))").asString());
+        }
+    }
+
+    @Test
+    public void testMapFile() throws IOException {
+        Path file = Files.createTempFile("graal-map-file", ".bin");
+        try {
+            Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+            try (Context context = JSTest.newContextBuilder().allowIO(true).build()) {
+                context.getBindings(ID).putMember("path", file.toString());
+                assertEquals("1,2,3,4,5,6,7,8", context.eval(ID, "var b = Graal.mapFile(path); new Uint8Array(b).join()").asString());
+                assertEquals("4,5", context.eval(ID, "new Uint8Array(Graal.mapFile(path, {offset: 3, length: 2})).join()").asString());
+                assertEquals(0x0807060504030201L, context.eval(ID, "new DataView(b).getBigUint64(0, true)").asLong());
+                // copy-on-write by default
+                context.eval(ID, "new Uint8Array(b)[0] = 42;");
+                assertEquals(1, Files.readAllBytes(file)[0]);
+                context.eval(ID, "new Uint8Array(Graal.mapFile(path, {writable: true}))[1] = 42;");
+                assertEquals(42, Files.readAllBytes(file)[1]);
+                // a region past the end of the file does not silently extend it
+                assertTrue(context.eval(ID, "try { Graal.mapFile(path, {writable: true, length: 16}); false; } catch (e) { e instanceof RangeError; }").asBoolean());
+                assertTrue(context.eval(ID, "try { Graal.mapFile(path, {offset: 4, length: 8}); false; } catch (e) { e instanceof RangeError; }").asBoolean());
+                assertEquals(8, Files.size(file));
+                assertTrue(context.eval(ID, "try { Graal.mapFile(path, {length: 16, grow: true}); false; } catch (e) { e instanceof TypeError; }").asBoolean());
+                context.eval(ID, "new Uint8Array(Graal.mapFile(path, {writable: true, grow: true, length: 16}))[15] = 7;");
+                assertEquals(16, Files.size(file));
+                assertEquals(7, Files.readAllBytes(file)[15]);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testMapReadOnlyFile() throws IOException {
+        Path file = Files.createTempFile("graal-map-file", ".bin");
+        try {
+            Files.write(file, new byte[]{1, 2, 3, 4});
+            file.toFile().setWritable(false);
+            try (Context context = JSTest.newContextBuilder().allowIO(true).build()) {
+                context.getBindings(ID).putMember("path", file.toString());
+                assertEquals("2,3", context.eval(ID, "var b = Graal.mapFile(path, {offset: 1, length: 2}); new Uint8Array(b).join()").asString());
+                // writes are private to the buffer
+                assertEquals("42,3", context.eval(ID, "new Uint8Array(b)[0] = 42; new Uint8Array(b).join()").asString());
+                assertEquals(2, Files.readAllBytes(file)[1]);
+            }
+        } finally {
+            file.toFile().setWritable(true);
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void checkPromiseJobStatistics(Context context) {
+        context.eval(ID, "var log = []; Promise.resolve().then(() => log.push(1)).then(() => log.push(2)); Promise.resolve().then(() => log.push(3));");
+        assertEquals("1,3,2", context.eval(ID, "log.join()").asString());
+        Value stats = context.eval(ID, "Graal.promiseJobStatistics(true)");
+        assertEquals(3, stats.getMember("enqueued").asInt());
+        assertEquals(3, stats.getMember("executed").asInt());
+        assertEquals(2, stats.getMember("highWaterMark").asInt());
+        assertEquals(1, stats.getMember("turns").asInt());
+        assertTrue(stats.getMember("maxTurnLatency").asDouble() >= stats.getMember("lastTurnLatency").asDouble());
+        assertTrue(stats.getMember("drainTime").asDouble() >= 0);
+        stats = context.eval(ID, "Graal.promiseJobStatistics()");
+        assertEquals(0, stats.getMember("executed").asInt());
+        assertEquals(0, stats.getMember("turns").asInt());
+    }
+
+    @Test
+    public void testPromiseJobStatistics() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            checkPromiseJobStatistics(context);
+        }
+    }
+
+    @Test
+    public void testPromiseJobStatisticsBatched() {
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.PROMISE_JOB_BATCHING_NAME, "true").build()) {
+            checkPromiseJobStatistics(context);
+        }
+    }
+
+    @Test
+    public void testRegexCacheStatistics() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            String code = "function f(p) { return new RegExp(p, 'g'); }" +
+                            "function g(p) { return new RegExp(p, 'g'); }" +
+                            "var before = Graal.regexCacheStatistics();" +
+                            "var ok = f('x+' + 'y').test('xxy') && g('x+' + 'y').test('xxy');" +
+                            "var after = Graal.regexCacheStatistics();" +
+                            "[ok, after.hits - before.hits, after.misses - before.misses].join();";
+            assertEquals("true,1,1", context.eval(ID, code).asString());
+        }
+    }
+
+    @Test
+    public void testCopyFromHostArray() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            Value bindings = context.getBindings(ID);
+            bindings.putMember("ints", new int[]{1, -2, 3});
+            bindings.putMember("doubles", new double[]{0.5, -1.5});
+            bindings.putMember("longs", new long[]{1L << 40, -1});
+            bindings.putMember("bytes", new byte[]{1, -1});
+            assertEquals("1,-2,3", context.eval(ID, "var a = Graal.copyFromHostArray(ints); a.push(4); a.slice(0, 3).join()").asString());
+            assertEquals("1,-2,3", context.eval(ID, "var i32 = new Int32Array(4); Graal.copyFromHostArray(ints, i32) === i32 && i32.slice(0, 3).join()").asString());
+            assertEquals("0,0.5,-1.5", context.eval(ID, "var f64 = new Float64Array(3); Graal.copyFromHostArray(doubles, f64.subarray(1)); f64.join()").asString());
+            assertEquals("1099511627776,-1", context.eval(ID, "var b64 = new BigInt64Array(2); Graal.copyFromHostArray(longs, b64); b64.join()").asString());
+            assertEquals("1,255", context.eval(ID, "var u8 = new Uint8Array(2); Graal.copyFromHostArray(bytes, u8); u8.join()").asString());
+            // element-wise conversion for other element types
+            assertEquals("1,0", context.eval(ID, "var c8 = new Uint8ClampedArray(2); Graal.copyFromHostArray(bytes, c8); c8.join()").asString());
+            assertEquals("1,65534,3", context.eval(ID, "var u16 = new Uint16Array(3); Graal.copyFromHostArray(ints, u16); u16.join()").asString());
+            assertEquals("1099511627776,-1", context.eval(ID, "Graal.copyFromHostArray(longs).join()").asString());
+            assertEquals("RangeError", context.eval(ID, "try { Graal.copyFromHostArray(ints, new Int32Array(2)); } catch (e) { e.name }").asString());
+            assertEquals("TypeError", context.eval(ID, "try { Graal.copyFromHostArray(longs, new Float64Array(2)); } catch (e) { e.name }").asString());
+            assertEquals("TypeError", context.eval(ID, "try { Graal.copyFromHostArray([1, 2]); } catch (e) { e.name }").asString());
+        }
+    }
+
+    @Test
+    public void testCopyToHostArray() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            Value bindings = context.getBindings(ID);
+            int[] ints = new int[4];
+            double[] doubles = new double[2];
+            long[] longs = new long[2];
+            byte[] bytes = new byte[3];
+            bindings.putMember("ints", ints);
+            bindings.putMember("doubles", doubles);
+            bindings.putMember("longs", longs);
+            bindings.putMember("bytes", bytes);
+            assertEquals(3, context.eval(ID, "Graal.copyToHostArray([1, -2, 3], ints)").asInt());
+            assertArrayEquals(new int[]{1, -2, 3, 0}, ints);
+            assertEquals(4, context.eval(ID, "Graal.copyToHostArray([1.5, 2, , '4', 5], ints)").asInt());
+            assertArrayEquals(new int[]{1, 2, 0, 4}, ints);
+            assertEquals(2, context.eval(ID, "Graal.copyToHostArray(new Float64Array([0, 0.5, -1.5]).subarray(1), doubles)").asInt());
+            assertArrayEquals(new double[]{0.5, -1.5}, doubles, 0);
+            assertEquals(2, context.eval(ID, "Graal.copyToHostArray(new BigUint64Array([2n ** 64n - 1n, 7n]), longs)").asInt());
+            assertArrayEquals(new long[]{-1, 7}, longs);
+            assertEquals(2, context.eval(ID, "Graal.copyToHostArray(new Uint8Array([255, 1]), bytes)").asInt());
+            assertArrayEquals(new byte[]{-1, 1, 0}, bytes);
+            assertEquals(3, context.eval(ID, "Graal.copyToHostArray(new Int16Array([300, -1, 2]), bytes)").asInt());
+            assertArrayEquals(new byte[]{44, -1, 2}, bytes);
+            assertEquals("TypeError", context.eval(ID, "try { Graal.copyToHostArray(new Int32Array(2), longs); } catch (e) { e.name }").asString());
+            assertEquals(2, context.eval(ID, "Graal.copyToHostArray([-3, 2n ** 63n], longs)").asInt());
+            assertArrayEquals(new long[]{-3, Long.MIN_VALUE}, longs);
+            assertEquals("RangeError", context.eval(ID, "try { Graal.copyToHostArray([0.5], longs); } catch (e) { e.name }").asString());
+            assertEquals("RangeError", context.eval(ID, "try { Graal.copyToHostArray([2 ** 63], longs); } catch (e) { e.name }").asString());
+            assertEquals("RangeError", context.eval(ID, "try { Graal.copyToHostArray([NaN], longs); } catch (e) { e.name }").asString());
+        }
+    }
+
+    @Test
+    public void testCopyHostLongArrayRoundTrip() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            Value bindings = context.getBindings(ID);
+            long[] small = new long[]{1, -2, Integer.MAX_VALUE};
+            long[] large = new long[]{1L << 40, -(1L << 53), 3};
+            long[] target = new long[3];
+            bindings.putMember("small", small);
+            bindings.putMember("large", large);
+            bindings.putMember("target", target);
+            assertEquals(3, context.eval(ID, "Graal.copyToHostArray(Graal.copyFromHostArray(small), target)").asInt());
+            assertArrayEquals(small, target);
+            assertEquals(3, context.eval(ID, "Graal.copyToHostArray(Graal.copyFromHostArray(large), target)").asInt());
+            assertArrayEquals(large, target);
+        }
+    }
+}
@@ -73,4 +73,27 @@ public class JSONParseTest {
         }
     }
 
+    @Test
+    public void testJSONParseRepeatedKeys() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            String code = "var r = [];" +
+                            "for (var i = 0; i < 3; i++) {" +
+                            "  r.push(JSON.parse('[{\"id\":1,\"name\":\"a\"},{\"id\":2,\"name\":\"b\"},{\"id\":3,\"nam\\\\u0065\":\"c\"}]'));" +
+                            "  r.push(JSON.parse('{\"id\":4,\"id\":5,\"idx\":6}'));" +
+                            "}" +
+                            "JSON.stringify(r[4]) + JSON.stringify(r[5]);";
+            Value result = context.eval(ID, code);
+            assertEquals("[{\"id\":1,\"name\":\"a\"},{\"id\":2,\"name\":\"b\"},{\"id\":3,\"name\":\"c\"}]{\"id\":5,\"idx\":6}", result.asString());
+        }
+    }
+
+    @Test
+    public void testJSONParseArrays() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            Value result = context.eval(ID, "var a = JSON.parse('[[1,2,3],[1,2.5,-0],[1,\"x\",null],[]]');" +
+                            "a[0].push(4); a[1].push('y');" +
+                            "JSON.stringify(a) + (1 / a[1][2]) + a.length + a[3].length;");
+            assertEquals("[[1,2,3,4],[1,2.5,0,\"y\"],[1,\"x\",null],[]]-Infinity40", result.asString());
+        }
+    }
 }
@@ -42,6 +42,8 @@ package com.oracle.truffle.js.test.interop;
 
 import static com.oracle.truffle.js.lang.JavaScriptLanguage.ID;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import org.graalvm.polyglot.Context;
@@ -49,9 +51,16 @@ import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.Value;
 import org.junit.Test;
 
+import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.interop.InteropException;
+import com.oracle.truffle.api.interop.InteropLibrary;
+import com.oracle.truffle.api.nodes.RootNode;
 import com.oracle.truffle.js.lang.JavaScriptLanguage;
 import com.oracle.truffle.js.runtime.JSContextOptions;
 import com.oracle.truffle.js.test.JSTest;
+import com.oracle.truffle.js.test.TestHelper;
 
 public class FunctionTest {
 
@@ -119,4 +128,44 @@ public class FunctionTest {
         }
     }
 
+    @Test
+    public void testInteropBindMemberFunctionsIdentity() {
+        try (TestHelper helper = new TestHelper(JSTest.newContextBuilder().option(JSContextOptions.BIND_MEMBER_FUNCTIONS_NAME, "true"))) {
+            helper.enterContext();
+            try {
+                Object ob1 = helper.runNoPolyglot("var f = function() {}; var ob1 = {f: f}; ob1");
+                Object ob2 = helper.runNoPolyglot("var ob2 = {f: f}; ob2");
+                CallTarget readMember = Truffle.getRuntime().createCallTarget(new RootNode(null) {
+                    @Child InteropLibrary interop = InteropLibrary.getFactory().createDispatched(2);
+
+                    @Override
+                    public Object execute(VirtualFrame frame) {
+                        try {
+                            return interop.readMember(frame.getArguments()[0], (String) frame.getArguments()[1]);
+                        } catch (InteropException e) {
+                            throw new AssertionError(e);
+                        }
+                    }
+                });
+
+                // repeated reads of a member yield the same bound function
+                Object bound = readMember.call(ob1, "f");
+                assertSame(bound, readMember.call(ob1, "f"));
+
+                // a bound function is specific to its receiver
+                assertNotSame(bound, readMember.call(ob2, "f"));
+
+                // the bound function is not visible to JavaScript code
+                assertEquals("f", helper.runNoPolyglot("Reflect.ownKeys(ob1).join()"));
+
+                // changing the member binds the new function
+                Object rebound = readMember.call(ob1, "f");
+                helper.runNoPolyglot("ob1.f = function() {}");
+                assertNotSame(rebound, readMember.call(ob1, "f"));
+            } finally {
+                helper.leaveContext();
+            }
+        }
+    }
+
 }
@@ -40,7 +40,18 @@
  */
 package com.oracle.truffle.js.test.nashorn;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.HostAccess;
 import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.Value;
 import org.junit.Assert;
@@ -51,8 +62,12 @@ import com.oracle.truffle.js.runtime.JSContextOptions;
 import com.oracle.truffle.js.test.JSTest;
 
 public class JavaExtendTest {
+    private static Context newContext() {
+        return JSTest.newContextBuilder().option(JSContextOptions.NASHORN_COMPATIBILITY_MODE_NAME, "true").allowAllAccess(true).build();
+    }
+
     private static String testIntl(String sourceText) {
-        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.NASHORN_COMPATIBILITY_MODE_NAME, "true").allowAllAccess(true).build()) {
+        try (Context context = newContext()) {
             Value result = context.eval(Source.newBuilder(JavaScriptLanguage.ID, sourceText, "java-extend-test").buildLiteral());
             Assert.assertTrue(result.isString());
             return result.asString();
@@ -68,4 +83,92 @@ public class JavaExtendTest {
         Assert.assertEquals("true", testIntl(sourceCode));
     }
 
+    @Test
+    public void adapterClassSharedAcrossContexts() {
+        String sourceText = "var Adapter = Java.extend(java.lang.Runnable, java.util.concurrent.Callable); new Adapter({run: function() {}, call: function() { return 42; }});";
+        Class<?> adapterClass;
+        try (Context context = newContext()) {
+            adapterClass = context.eval(JavaScriptLanguage.ID, sourceText).asHostObject().getClass();
+        }
+        try (Context context = newContext()) {
+            Value adapter = context.eval(JavaScriptLanguage.ID, sourceText);
+            Assert.assertSame(adapterClass, adapter.asHostObject().getClass());
+            Assert.assertEquals(42, adapter.invokeMember("call").asInt());
+        }
+    }
+
+    @Test
+    public void adapterCacheDirectory() throws IOException {
+        Path directory = Files.createTempDirectory("graal-js-adapter-cache");
+        try {
+            String sourceText = "var Adapter = Java.extend(java.util.function.IntSupplier, java.util.function.LongSupplier, java.util.function.DoubleSupplier);" +
+                            "var adapter = new Adapter({getAsInt: function() { return 1; }, getAsLong: function() { return 2; }, getAsDouble: function() { return 3; }});" +
+                            "'' + (adapter.getAsInt() + adapter.getAsLong() + adapter.getAsDouble());";
+            Assert.assertEquals("6", evalWithAdapterCache(directory, true, sourceText));
+            List<Path> entries = listCacheEntries(directory);
+            Assert.assertEquals(1, entries.size());
+            byte[] content = Files.readAllBytes(entries.get(0));
+            // the class file follows a 32 byte HMAC
+            Assert.assertEquals(0xCAFEBABE, ((content[32] & 0xff) << 24) | ((content[33] & 0xff) << 16) | ((content[34] & 0xff) << 8) | (content[35] & 0xff));
+            Set<PosixFilePermission> keyPermissions = Files.getPosixFilePermissions(directory.resolve("adapter-cache.key"));
+            Assert.assertEquals(PosixFilePermissions.fromString("rw-------"), keyPermissions);
+        } finally {
+            deleteDirectory(directory);
+        }
+    }
+
+    @Test
+    public void adapterCacheDirectoryRequiresIO() throws IOException {
+        Path directory = Files.createTempDirectory("graal-js-adapter-cache");
+        try {
+            String sourceText = "var Adapter = Java.extend(java.util.function.BooleanSupplier, java.util.function.IntSupplier);" +
+                            "var adapter = new Adapter({getAsBoolean: function() { return true; }, getAsInt: function() { return 1; }});" +
+                            "'' + adapter.getAsBoolean() + adapter.getAsInt();";
+            Assert.assertEquals("true1", evalWithAdapterCache(directory, false, sourceText));
+            try (Stream<Path> files = Files.list(directory)) {
+                Assert.assertEquals(0, files.count());
+            }
+        } finally {
+            deleteDirectory(directory);
+        }
+    }
+
+    @Test
+    public void adapterCacheDirectoryWritableByOthers() throws IOException {
+        Path directory = Files.createTempDirectory("graal-js-adapter-cache");
+        try {
+            Files.setPosixFilePermissions(directory, PosixFilePermissions.fromString("rwxrwxrwx"));
+            String sourceText = "var Adapter = Java.extend(java.util.function.BooleanSupplier, java.util.function.LongSupplier);" +
+                            "var adapter = new Adapter({getAsBoolean: function() { return true; }, getAsLong: function() { return 2; }});" +
+                            "'' + adapter.getAsBoolean() + adapter.getAsLong();";
+            Assert.assertEquals("true2", evalWithAdapterCache(directory, true, sourceText));
+            try (Stream<Path> files = Files.list(directory)) {
+                Assert.assertEquals(0, files.count());
+            }
+        } finally {
+            deleteDirectory(directory);
+        }
+    }
+
+    private static String evalWithAdapterCache(Path directory, boolean allowIO, String sourceText) {
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.NASHORN_COMPATIBILITY_MODE_NAME, "true").option(JSContextOptions.JAVA_ADAPTER_CACHE_DIR_NAME,
+                        directory.toString()).allowHostAccess(HostAccess.ALL).allowHostClassLookup(s -> true).allowIO(allowIO).build()) {
+            return context.eval(JavaScriptLanguage.ID, sourceText).asString();
+        }
+    }
+
+    private static List<Path> listCacheEntries(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".class")).collect(Collectors.toList());
+        }
+    }
+
+    private static void deleteDirectory(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
 }
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+
+import org.junit.Test;
+
+import com.oracle.truffle.js.runtime.BigInt;
+
+/**
+ * Checks the long-based fast paths of {@link BigInt} against {@link BigInteger}.
+ */
+public class BigIntTest {
+
+    private static final BigInteger[] VALUES;
+
+    static {
+        long[] longs = {0, 1, -1, 2, -2, 3, 42, -42, Integer.MAX_VALUE, Integer.MIN_VALUE, 0xFFFFFFFFL, -0xFFFFFFFFL, 0x100000000L, 3037000499L, 3037000500L, -3037000500L,
+                        Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE - 1, Long.MIN_VALUE + 1, Long.MAX_VALUE / 2, Long.MIN_VALUE / 2};
+        BigInteger max = BigInteger.valueOf(Long.MAX_VALUE);
+        BigInteger min = BigInteger.valueOf(Long.MIN_VALUE);
+        VALUES = new BigInteger[longs.length + 4];
+        for (int i = 0; i < longs.length; i++) {
+            VALUES[i] = BigInteger.valueOf(longs[i]);
+        }
+        VALUES[longs.length] = max.add(BigInteger.ONE);
+        VALUES[longs.length + 1] = min.subtract(BigInteger.ONE);
+        VALUES[longs.length + 2] = BigInteger.ONE.shiftLeft(100);
+        VALUES[longs.length + 3] = BigInteger.ONE.shiftLeft(100).negate();
+    }
+
+    private static BigInt big(BigInteger value) {
+        return BigInt.fromBigInteger(value);
+    }
+
+    private static void assertBigInt(BigInteger expected, BigInt actual) {
+        assertEquals(expected, actual.bigIntegerValue());
+        assertEquals(big(expected), actual);
+        assertEquals(big(expected).hashCode(), actual.hashCode());
+        assertEquals(expected.bitLength() < Long.SIZE, actual.fitsInLong());
+    }
+
+    @Test
+    public void testBinaryOperations() {
+        for (BigInteger a : VALUES) {
+            for (BigInteger b : VALUES) {
+                BigInt x = big(a);
+                BigInt y = big(b);
+                assertBigInt(a.add(b), x.add(y));
+                assertBigInt(a.subtract(b), x.subtract(y));
+                assertBigInt(a.multiply(b), x.multiply(y));
+                assertBigInt(a.and(b), x.and(y));
+                assertBigInt(a.or(b), x.or(y));
+                assertBigInt(a.xor(b), x.xor(y));
+                assertEquals(Integer.signum(a.compareTo(b)), Integer.signum(x.compareTo(y)));
+                assertEquals(a.equals(b), x.equals(y));
+                if (b.signum() != 0) {
+                    assertBigInt(a.divide(b), x.divide(y));
+                    assertBigInt(a.remainder(b), x.remainder(y));
+                }
+                if (b.signum() > 0) {
+                    assertBigInt(a.mod(b), x.mod(y));
+                }
+                if (b.bitLength() < Long.SIZE) {
+                    assertEquals(Integer.signum(a.compareTo(b)), Integer.signum(x.compareValueTo(b.longValue())));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testUnaryOperations() {
+        for (BigInteger a : VALUES) {
+            BigInt x = big(a);
+            assertBigInt(a.negate(), x.negate());
+            assertBigInt(a.not(), x.not());
+            assertEquals(a.signum(), x.signum());
+            assertEquals(a.toString(16), x.toString(16));
+            assertEquals(a.longValue(), x.longValue());
+            assertEquals(a.intValue(), x.intValue());
+            assertEquals(a.doubleValue(), x.doubleValue(), 0);
+            for (int n : new int[]{0, 1, 31, 32, 62, 63, 64, 65, 100}) {
+                assertBigInt(a.shiftLeft(n), x.shiftLeft(n));
+                assertBigInt(a.shiftRight(n), x.shiftRight(n));
+                assertEquals(a.testBit(n), x.testBit(n));
+            }
+            assertBigInt(BigInteger.valueOf(a.longValue()), x.toBigInt64());
+            assertBigInt(a.mod(BigInteger.ONE.shiftLeft(64)), x.toBigUint64());
+        }
+    }
+
+    @Test
+    public void testNormalization() {
+        assertTrue(BigInt.valueOf(Long.MAX_VALUE).add(BigInt.ONE).subtract(BigInt.ONE).fitsInLong());
+        assertFalse(BigInt.valueOfUnsigned(-1L).fitsInLong());
+        assertEquals(BigInt.valueOf(Long.MIN_VALUE), new BigInt(BigInteger.valueOf(Long.MIN_VALUE)));
+        assertEquals(BigInt.ZERO, BigInt.valueOf("0x0"));
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.nodes.NodeFactory;
+import com.oracle.truffle.js.nodes.ScriptNode;
+import com.oracle.truffle.js.nodes.function.FunctionRootNode;
+import com.oracle.truffle.js.parser.BinarySnapshotProvider;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.runtime.JSRealm;
+import com.oracle.truffle.js.test.JSTest;
+import com.oracle.truffle.js.test.TestHelper;
+
+public class CodeCacheTest {
+
+    private static final String CODE = "function fib(n) { return n < 2 ? n : fib(n - 1) + fib(n - 2); } fib(15);";
+
+    private static int evalWithCache(Path cacheDir, String code) {
+        return evalWithCache(cacheDir, code, true);
+    }
+
+    private static int evalWithCache(Path cacheDir, String code, boolean allowIO) {
+        try (Context context = JSTest.newContextBuilder().allowIO(allowIO).option(JSContextOptions.CODE_CACHE_DIR_NAME, cacheDir.toString()).build()) {
+            return context.eval(Source.create(JavaScriptLanguage.ID, code)).asInt();
+        }
+    }
+
+    private static long countEntries(Path cacheDir) throws IOException {
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            return files.filter(p -> p.toString().endsWith(".jsc")).count();
+        }
+    }
+
+    private static Path findEntry(Path cacheDir) throws IOException {
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            return files.filter(p -> p.toString().endsWith(".jsc")).findFirst().orElseThrow(AssertionError::new);
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    public void testCodeCacheRoundTrip() throws IOException {
+        Path cacheDir = Files.createTempDirectory("js-code-cache");
+        try {
+            assertEquals(610, evalWithCache(cacheDir, CODE));
+            assertEquals(1, countEntries(cacheDir));
+            // second run is served from the cache
+            assertEquals(610, evalWithCache(cacheDir, CODE));
+            assertEquals(1, countEntries(cacheDir));
+            assertEquals(42, evalWithCache(cacheDir, "6 * 7"));
+            assertEquals(2, countEntries(cacheDir));
+        } finally {
+            deleteRecursively(cacheDir);
+        }
+    }
+
+    @Test
+    public void testCodeCacheRequiresIO() throws IOException {
+        Path cacheDir = Files.createTempDirectory("js-code-cache");
+        try {
+            assertEquals(610, evalWithCache(cacheDir, CODE, false));
+            assertEquals(0, countEntries(cacheDir));
+            assertEquals(610, evalWithCache(cacheDir, CODE, true));
+            assertEquals(1, countEntries(cacheDir));
+            // existing entries are not read either
+            assertEquals(610, evalWithCache(cacheDir, CODE, false));
+        } finally {
+            deleteRecursively(cacheDir);
+        }
+    }
+
+    @Test
+    public void testCodeCacheIgnoresUnrelatedOptions() throws IOException {
+        Path cacheDir = Files.createTempDirectory("js-code-cache");
+        try {
+            assertEquals(610, evalWithCache(cacheDir, CODE));
+            try (Context context = JSTest.newContextBuilder().allowIO(true).option(JSContextOptions.CODE_CACHE_DIR_NAME, cacheDir.toString()).option(
+                            JSContextOptions.STACK_TRACE_LIMIT_NAME, "3").build()) {
+                assertEquals(610, context.eval(Source.create(JavaScriptLanguage.ID, CODE)).asInt());
+            }
+            assertEquals(1, countEntries(cacheDir));
+            try (Context context = JSTest.newContextBuilder().allowIO(true).option(JSContextOptions.CODE_CACHE_DIR_NAME, cacheDir.toString()).option(
+                            JSContextOptions.ECMASCRIPT_VERSION_NAME, "2017").build()) {
+                assertEquals(610, context.eval(Source.create(JavaScriptLanguage.ID, CODE)).asInt());
+            }
+            assertEquals(2, countEntries(cacheDir));
+        } finally {
+            deleteRecursively(cacheDir);
+        }
+    }
+
+    @Test
+    public void testCodeCacheSyntaxError() throws IOException {
+        Path cacheDir = Files.createTempDirectory("js-code-cache");
+        try {
+            evalWithCache(cacheDir, "var x = ;");
+            fail("should have thrown");
+        } catch (PolyglotException e) {
+            assertTrue(e.isSyntaxError());
+        } finally {
+            assertEquals(0, countEntries(cacheDir));
+            deleteRecursively(cacheDir);
+        }
+    }
+
+    @Test
+    public void testMapSnapshot() throws IOException {
+        Path cacheDir = Files.createTempDirectory("js-code-cache");
+        try {
+            assertEquals(610, evalWithCache(cacheDir, CODE));
+            Path entry = findEntry(cacheDir);
+            try (TestHelper testHelper = new TestHelper(JSTest.newContextBuilder().allowIO(true))) {
+                testHelper.enterContext();
+                try {
+                    JSRealm realm = testHelper.getRealm();
+                    JSContext jsContext = realm.getContext();
+                    BinarySnapshotProvider snapshot = BinarySnapshotProvider.map(realm.getEnv().getPublicTruffleFile(entry.toString()));
+                    com.oracle.truffle.api.source.Source source = com.oracle.truffle.api.source.Source.newBuilder(JavaScriptLanguage.ID, CODE, "fib.js").build();
+                    ScriptNode script = ScriptNode.fromFunctionRoot(jsContext, (FunctionRootNode) snapshot.apply(NodeFactory.getInstance(jsContext), jsContext, source));
+                    assertEquals(610, script.run(realm));
+                } finally {
+                    testHelper.leaveContext();
+                }
+            }
+        } finally {
+            deleteRecursively(cacheDir);
+        }
+    }
+
+    @Test
+    public void testMapSnapshotRejectsOtherSource() throws IOException {
+        Path cacheDir = Files.createTempDirectory("js-code-cache");
+        try {
+            assertEquals(42, evalWithCache(cacheDir, "6 * 7"));
+            Path entry = findEntry(cacheDir);
+            try (TestHelper testHelper = new TestHelper(JSTest.newContextBuilder().allowIO(true))) {
+                testHelper.enterContext();
+                try {
+                    JSRealm realm = testHelper.getRealm();
+                    JSContext jsContext = realm.getContext();
+                    BinarySnapshotProvider snapshot = BinarySnapshotProvider.map(realm.getEnv().getPublicTruffleFile(entry.toString()));
+                    com.oracle.truffle.api.source.Source source = com.oracle.truffle.api.source.Source.newBuilder(JavaScriptLanguage.ID, "6 * 8", "other.js").build();
+                    snapshot.apply(NodeFactory.getInstance(jsContext), jsContext, source);
+                    fail("should have thrown");
+                } catch (IllegalArgumentException e) {
+                    // expected
+                } finally {
+                    testHelper.leaveContext();
+                }
+            }
+        } finally {
+            deleteRecursively(cacheDir);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.graalvm.polyglot.Engine;
+import org.junit.Assume;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.util.JSAgentScheduler;
+import com.oracle.truffle.js.test.JSTest;
+
+public class JSAgentSchedulerTest {
+
+    @Test
+    public void testManyAgentsOnFewThreads() throws Exception {
+        try (Engine engine = JSTest.newEngineBuilder().build(); JSAgentScheduler scheduler = new JSAgentScheduler(2)) {
+            List<JSAgentScheduler.Agent> agents = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                agents.add(scheduler.createAgent(JSTest.newContextBuilder().engine(engine)));
+            }
+            List<CompletableFuture<String>> results = new ArrayList<>();
+            for (int i = 0; i < agents.size(); i++) {
+                JSAgentScheduler.Agent agent = agents.get(i);
+                int id = i;
+                agent.submit(c -> c.eval(JavaScriptLanguage.ID, "var log = [" + id + "];"));
+                for (int j = 0; j < 20; j++) {
+                    int step = j;
+                    agent.submit(c -> c.eval(JavaScriptLanguage.ID, "log.push(" + step + ");"));
+                }
+                results.add(agent.submit(c -> c.eval(JavaScriptLanguage.ID, "log.join()").asString()));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                StringBuilder expected = new StringBuilder().append(i);
+                for (int j = 0; j < 20; j++) {
+                    expected.append(',').append(j);
+                }
+                assertEquals(expected.toString(), results.get(i).get(10, TimeUnit.SECONDS));
+                assertEquals(22, agents.get(i).getCompletedTaskCount());
+            }
+        }
+    }
+
+    @Test
+    public void testWaitingAgentDoesNotStallOthers() throws Exception {
+        try (JSAgentScheduler scheduler = new JSAgentScheduler(1)) {
+            JSAgentScheduler.Agent waiting = scheduler.createAgent(JSTest.newContextBuilder());
+            JSAgentScheduler.Agent other = scheduler.createAgent(JSTest.newContextBuilder());
+            CompletableFuture<String> waitResult = waiting.submit(c -> c.eval(JavaScriptLanguage.ID, "Atomics.wait(new Int32Array(new SharedArrayBuffer(4)), 0, 0, 2000)").asString());
+            // the pool compensates for the worker blocked in Atomics.wait
+            assertEquals(42, (int) other.submit(c -> c.eval(JavaScriptLanguage.ID, "6 * 7").asInt()).get(1, TimeUnit.SECONDS));
+            assertEquals("timed-out", waitResult.get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testCpuTime() throws Exception {
+        Assume.assumeTrue(ManagementFactory.getThreadMXBean().isCurrentThreadCpuTimeSupported());
+        try (JSAgentScheduler scheduler = new JSAgentScheduler(1)) {
+            JSAgentScheduler.Agent busy = scheduler.createAgent(JSTest.newContextBuilder());
+            JSAgentScheduler.Agent idle = scheduler.createAgent(JSTest.newContextBuilder());
+            busy.submit(c -> c.eval(JavaScriptLanguage.ID, "var s = 0; for (var i = 0; i < 1e7; i++) { s += i; } s;")).get(30, TimeUnit.SECONDS);
+            assertTrue(busy.getCpuTimeNanos() > 0);
+            assertEquals(0, idle.getCpuTimeNanos());
+        }
+    }
+
+    @Test
+    public void testClose() throws Exception {
+        JSAgentScheduler scheduler = new JSAgentScheduler(2);
+        JSAgentScheduler.Agent agent = scheduler.createAgent(JSTest.newContextBuilder());
+        assertEquals(3, (int) agent.submit(c -> c.eval(JavaScriptLanguage.ID, "1 + 2").asInt()).get(10, TimeUnit.SECONDS));
+        assertEquals(1, scheduler.getAgentCount());
+        scheduler.close();
+        assertEquals(0, scheduler.getAgentCount());
+        assertTrue(agent.submit(c -> null).isCompletedExceptionally());
+    }
+}
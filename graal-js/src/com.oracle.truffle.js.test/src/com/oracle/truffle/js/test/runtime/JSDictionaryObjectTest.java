@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.builtins.JSDictionaryObject;
+import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.PropertyDescriptor;
+import com.oracle.truffle.js.test.JSTest;
+
+public class JSDictionaryObjectTest extends JSTest {
+
+    @Override
+    public void setup() {
+        super.setup();
+        testHelper.enterContext();
+    }
+
+    @Override
+    public void close() {
+        testHelper.leaveContext();
+        super.close();
+    }
+
+    @Test
+    public void testPlainAndDescriptorEntries() {
+        JSContext context = testHelper.getJSContext();
+        DynamicObject obj = JSDictionaryObject.create(context);
+        JSObject.set(obj, "x", 10);
+        assertEquals(10, JSDictionaryObject.getOwnEntry(obj, "x"));
+        assertEquals(10, JSObject.get(obj, "x"));
+        assertTrue(JSDictionaryObject.setOwnPlainValue(obj, "x", 11));
+        assertEquals(11, JSObject.get(obj, "x"));
+
+        PropertyDescriptor desc = JSObject.getOwnProperty(obj, "x");
+        assertTrue(desc.getWritable() && desc.getEnumerable() && desc.getConfigurable());
+        assertEquals(11, desc.getValue());
+
+        JSObject.defineOwnProperty(obj, "ro", PropertyDescriptor.createData(20, true, false, true));
+        assertTrue(JSDictionaryObject.getOwnEntry(obj, "ro") instanceof PropertyDescriptor);
+        assertFalse(JSDictionaryObject.setOwnPlainValue(obj, "ro", 21));
+        JSObject.set(obj, "ro", 21);
+        assertEquals(20, JSObject.get(obj, "ro"));
+
+        assertFalse(JSDictionaryObject.setOwnPlainValue(obj, "missing", 1));
+        assertTrue(JSObject.delete(obj, "x"));
+        assertEquals(null, JSDictionaryObject.getOwnEntry(obj, "x"));
+    }
+
+    @Test
+    public void testPropertyAccessNodes() {
+        String code = "var o = {}; for (var i = 0; i < 1100; i++) { o['p' + i] = i; }" +
+                        "Object.defineProperty(o, 'ro', {value: 1, writable: false, enumerable: true, configurable: true});" +
+                        "Object.prototype.inherited = 42;" +
+                        "var sum = 0;" +
+                        "for (var j = 0; j < 1000; j++) { o.p5 = o.p5 + 1; o.ro = 2; sum += o.p7 + o.inherited + o.ro; }" +
+                        "delete Object.prototype.inherited;" +
+                        "[o.p5, sum, o.missing, Object.keys(o).length].join();";
+        assertEquals("1005,50000,,1101", testHelper.run(code));
+    }
+}
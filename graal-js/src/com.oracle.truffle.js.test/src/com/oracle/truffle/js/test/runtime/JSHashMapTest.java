@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.oracle.truffle.js.runtime.util.JSHashMap;
+
+public class JSHashMapTest {
+
+    private static List<Object> keys(JSHashMap.Cursor cursor) {
+        List<Object> keys = new ArrayList<>();
+        while (cursor.advance()) {
+            keys.add(cursor.getKey());
+        }
+        return keys;
+    }
+
+    @Test
+    public void testInsertionOrder() {
+        JSHashMap map = new JSHashMap();
+        for (int i = 0; i < 1000; i++) {
+            map.put(999 - i, i);
+        }
+        assertEquals(1000, map.size());
+        List<Object> keys = keys(map.getEntries());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(999 - i, keys.get(i));
+            assertEquals(i, map.get(999 - i));
+        }
+        map.put(500, "updated");
+        assertEquals(1000, map.size());
+        assertEquals(499, keys(map.getEntries()).indexOf(500));
+        assertEquals("updated", map.get(500));
+    }
+
+    @Test
+    public void testMixedKeys() {
+        JSHashMap map = new JSHashMap();
+        map.put(1, "int");
+        map.put(1.5, "double");
+        map.put(Double.NaN, "nan");
+        assertEquals("int", map.get(1));
+        assertEquals("double", map.get(1.5));
+        assertEquals("nan", map.get(Double.NaN));
+        map.put("1", "string");
+        assertEquals("int", map.get(1));
+        assertEquals("string", map.get("1"));
+        assertTrue(map.has(Double.NaN));
+        assertFalse(map.has(2));
+        assertEquals(Arrays.asList(1, 1.5, Double.NaN, "1"), keys(map.getEntries()));
+        assertTrue(keys(map.getEntries()).get(0) instanceof Integer);
+    }
+
+    @Test
+    public void testRemoveDuringIteration() {
+        JSHashMap map = new JSHashMap();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        JSHashMap.Cursor cursor = map.getEntries();
+        List<Object> visited = new ArrayList<>();
+        while (cursor.advance()) {
+            int key = (Integer) cursor.getKey();
+            visited.add(key);
+            // remove the current and the next entry; enough removals to trigger a shrinking rehash
+            map.remove(key);
+            map.remove(key + 1);
+        }
+        assertEquals(0, map.size());
+        assertEquals(50, visited.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(2 * i, visited.get(i));
+        }
+    }
+
+    @Test
+    public void testAddDuringIteration() {
+        JSHashMap map = new JSHashMap();
+        map.put("a", 1);
+        JSHashMap.Cursor cursor = map.getEntries();
+        int count = 0;
+        while (cursor.advance()) {
+            if (++count < 100) {
+                map.put("k" + count, count);
+            }
+        }
+        assertEquals(100, count);
+        assertFalse(cursor.advance());
+    }
+
+    @Test
+    public void testClearDuringIteration() {
+        JSHashMap map = new JSHashMap();
+        map.put(1, 1);
+        map.put(2, 2);
+        JSHashMap.Cursor cursor = map.getEntries();
+        assertTrue(cursor.advance());
+        JSHashMap.Cursor copy = cursor.copy();
+        map.clear();
+        assertEquals(0, map.size());
+        assertNull(map.get(1));
+        map.put(3, 3);
+        assertTrue(cursor.advance());
+        assertEquals(3, cursor.getKey());
+        assertFalse(cursor.advance());
+        assertEquals(Arrays.asList(3), keys(copy));
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.PolyglotException;
+import org.junit.Test;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSContextOptions;
+import com.oracle.truffle.js.test.JSTest;
+
+/**
+ * Eval, Function and load sources parsed from the engine-wide parse cache must behave as if they
+ * were parsed anew.
+ */
+public class ParseCacheTest {
+
+    private static final String CODE = "" +
+                    "var r = [];" +
+                    "function f(x) { return eval('x * 2'); }" +
+                    "function g(x) { var y = 10; return eval('x * 2'); }" +
+                    "for (var i = 0; i < 3; i++) { r.push(f(i), g(i), (0, eval)('typeof x'), new Function('a', 'return a + 1')(i)); }" +
+                    "(0, eval)('var z = 5'); r.push(z);" +
+                    "r.join();";
+
+    private static final String EXPECTED = "0,0,undefined,1,2,2,undefined,2,4,4,undefined,3,5";
+
+    @Test
+    public void testSharedEngine() {
+        try (Engine engine = JSTest.newEngineBuilder().build()) {
+            for (int i = 0; i < 3; i++) {
+                try (Context context = JSTest.newContextBuilder().engine(engine).build()) {
+                    assertEquals(EXPECTED, context.eval(JavaScriptLanguage.ID, CODE).asString());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDisabled() {
+        try (Context context = JSTest.newContextBuilder().option(JSContextOptions.PARSE_CACHE_SIZE_NAME, "0").build()) {
+            assertEquals(EXPECTED, context.eval(JavaScriptLanguage.ID, CODE).asString());
+        }
+    }
+
+    @Test
+    public void testStrictnessIsPartOfKey() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            String code = "function s() { 'use strict'; return eval('var v = 1; typeof v'); }" +
+                            "function l() { return eval('var v = 1; typeof v'); }" +
+                            "[s(), l(), typeof v].join();";
+            assertEquals("number,number,undefined", context.eval(JavaScriptLanguage.ID, code).asString());
+        }
+    }
+
+    @Test
+    public void testSyntaxErrorNotCached() {
+        try (Context context = JSTest.newContextBuilder().build()) {
+            for (int i = 0; i < 2; i++) {
+                try {
+                    context.eval(JavaScriptLanguage.ID, "(0, eval)('var x = ;')");
+                    fail("should have thrown");
+                } catch (PolyglotException e) {
+                    assertTrue(e.isGuestException());
+                    assertTrue(e.getMessage().contains("SyntaxError"));
+                }
+            }
+        }
+    }
+}
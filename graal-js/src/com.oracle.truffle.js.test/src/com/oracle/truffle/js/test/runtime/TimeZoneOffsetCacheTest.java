@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.ZoneId;
+
+import org.junit.Test;
+
+import com.oracle.truffle.js.runtime.builtins.JSDate;
+import com.oracle.truffle.js.runtime.util.TimeZoneOffsetCache;
+
+public class TimeZoneOffsetCacheTest {
+
+    private static final String[] ZONES = {"UTC", "UTC+9", "America/New_York", "Europe/Prague", "Australia/Lord_Howe", "Pacific/Apia", "Asia/Kolkata"};
+
+    @Test
+    public void testSequentialTimes() {
+        for (String zone : ZONES) {
+            ZoneId zoneId = ZoneId.of(zone);
+            TimeZoneOffsetCache cache = new TimeZoneOffsetCache();
+            // 1900 - 2040 in steps of 7 hours and 13 minutes
+            long step = (7 * 60 + 13) * 60 * 1000L;
+            for (long t = -2208988800000L; t < 2208988800000L; t += step) {
+                for (boolean isUTC : new boolean[]{true, false}) {
+                    assertEquals(zone + " " + t + " " + isUTC, JSDate.localTZA(t, isUTC, zoneId), cache.localTZA(t, isUTC, zoneId));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testAroundTransitions() {
+        ZoneId zoneId = ZoneId.of("Europe/Prague");
+        TimeZoneOffsetCache cache = new TimeZoneOffsetCache();
+        // 2020-03-29T01:00:00Z and 2020-10-25T01:00:00Z
+        for (long transition : new long[]{1585443600000L, 1603587600000L}) {
+            for (long delta = -4 * 3600000L; delta <= 4 * 3600000L; delta += 60000L) {
+                long t = transition + delta;
+                assertEquals(JSDate.localTZA(t, true, zoneId), cache.localTZA(t, true, zoneId));
+                assertEquals(JSDate.localTZA(t, false, zoneId), cache.localTZA(t, false, zoneId));
+            }
+        }
+    }
+
+    @Test
+    public void testZoneChange() {
+        TimeZoneOffsetCache cache = new TimeZoneOffsetCache();
+        long t = 1600000000000L;
+        assertEquals(2 * 3600000L, cache.localTZA(t, true, ZoneId.of("Europe/Prague")));
+        assertEquals(-4 * 3600000L, cache.localTZA(t, true, ZoneId.of("America/New_York")));
+        assertEquals(0L, cache.localTZA(t, false, ZoneId.of("UTC")));
+    }
+}
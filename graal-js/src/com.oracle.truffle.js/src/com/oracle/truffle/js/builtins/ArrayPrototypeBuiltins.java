@@ -145,9 +145,11 @@ import com.oracle.truffle.js.nodes.interop.ImportValueNode;
 import com.oracle.truffle.js.nodes.unary.IsCallableNode;
 import com.oracle.truffle.js.nodes.unary.IsConstructorNode;
 import com.oracle.truffle.js.nodes.unary.JSIsArrayNode;
+import com.oracle.truffle.js.runtime.BigInt;
 import com.oracle.truffle.js.runtime.Boundaries;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSArguments;
+import com.oracle.truffle.js.runtime.JSConfig;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRealm;
 import com.oracle.truffle.js.runtime.JSRuntime;
@@ -156,11 +158,6 @@ import com.oracle.truffle.js.runtime.Symbol;
 import com.oracle.truffle.js.runtime.array.ScriptArray;
 import com.oracle.truffle.js.runtime.array.SparseArray;
 import com.oracle.truffle.js.runtime.array.TypedArray;
-import com.oracle.truffle.js.runtime.array.dyn.AbstractDoubleArray;
-import com.oracle.truffle.js.runtime.array.dyn.AbstractIntArray;
-import com.oracle.truffle.js.runtime.array.dyn.ConstantByteArray;
-import com.oracle.truffle.js.runtime.array.dyn.ConstantDoubleArray;
-import com.oracle.truffle.js.runtime.array.dyn.ConstantIntArray;
 import com.oracle.truffle.js.runtime.builtins.BuiltinEnum;
 import com.oracle.truffle.js.runtime.builtins.JSArray;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBuffer;
@@ -2508,6 +2505,9 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
                         @Cached("create(getContext())") JSArrayToDenseObjectArrayNode arrayToObjectArrayNode,
                         @Cached("create(getContext(), !getContext().isOptionV8CompatibilityMode())") JSArrayDeleteRangeNode arrayDeleteRangeNode) {
             checkCompareFunction(compare);
+            if (isTypedArrayImplementation) {
+                validateTypedArray(thisObj);
+            }
             long len = getLength(thisObj);
 
             if (len < 2) {
@@ -2518,7 +2518,7 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             ScriptArray scriptArray = arrayGetArrayType(thisObj);
             Object[] array = arrayToObjectArrayNode.executeObjectArray(thisObj, scriptArray, len);
 
-            sortIntl(getComparator(thisObj, compare), array);
+            sortElements(compare, array);
 
             for (int i = 0; i < array.length; i++) {
                 write(thisObj, i, array[i]);
@@ -2539,10 +2539,46 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             deletePropertyNode.executeEvaluated(obj, i);
         }
 
-        @Specialization
+        @Specialization(guards = "isJSArrayBufferView(thisObj)")
+        protected DynamicObject sortTypedArray(DynamicObject thisObj, final Object compare) {
+            checkCompareFunction(compare);
+            if (!isTypedArrayImplementation) {
+                // Array.prototype.sort applied to a typed array
+                return sortJSObject(compare, thisObj);
+            }
+            validateTypedArray(thisObj);
+            TypedArray typedArray = JSArrayBufferView.typedArrayGetArrayType(thisObj);
+            int len = typedArray.lengthInt(thisObj);
+
+            if (len < 2) {
+                // nothing to do
+                return thisObj;
+            }
+
+            if (compare == Undefined.instance) {
+                noCompareFnBranch.enter();
+                sortTypedArrayDefault(thisObj, typedArray, len);
+            } else {
+                hasCompareFnBranch.enter();
+                Object[] array = new Object[len];
+                for (int i = 0; i < len; i++) {
+                    array[i] = typedArray.getElement(thisObj, i);
+                }
+                sortIntl(new SortComparator(compare, JSArrayBufferView.getArrayBuffer(thisObj)), array);
+                for (int i = 0; i < array.length; i++) {
+                    write(thisObj, i, array[i]);
+                }
+            }
+            return thisObj;
+        }
+
+        @Specialization(guards = "!isJSArrayBufferView(thisObj)")
         protected Object sort(Object thisObj, final Object comparefn,
                         @Cached("createBinaryProfile()") ConditionProfile isJSObject) {
             checkCompareFunction(comparefn);
+            if (isTypedArrayImplementation) {
+                validateTypedArray(thisObj);
+            }
             Object thisJSObj = toObject(thisObj);
             if (isJSObject.profile(JSObject.isJSObject(thisJSObj))) {
                 return sortJSObject(comparefn, (DynamicObject) thisJSObj);
@@ -2562,8 +2598,7 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             Iterable<Object> keys = getKeys(thisJSObj);
             Object[] array = jsobjectToArray(thisJSObj, len, keys);
 
-            Comparator<Object> comparator = getComparator(thisJSObj, comparefn);
-            sortIntl(comparator, array);
+            sortElements(comparefn, array);
 
             for (int i = 0; i < array.length; i++) {
                 write(thisJSObj, i, array[i]);
@@ -2591,8 +2626,7 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
 
             Object[] array = foreignArrayToObjectArray(thisObj, (int) len);
 
-            Comparator<Object> comparator = getComparator(thisObj, comparefn);
-            sortIntl(comparator, array);
+            sortElements(comparefn, array);
 
             for (int i = 0; i < array.length; i++) {
                 write(thisObj, i, array[i]);
@@ -2607,31 +2641,106 @@ public final class ArrayPrototypeBuiltins extends JSBuiltinsContainer.SwitchEnum
             }
         }
 
-        private Comparator<Object> getComparator(Object thisObj, Object compare) {
+        private void sortElements(Object compare, Object[] array) {
+            assert !isTypedArrayImplementation : "typed arrays are sorted by sortTypedArray";
             if (compare == Undefined.instance) {
                 noCompareFnBranch.enter();
-                return getDefaultComparator(thisObj);
+                sortByStringKeys(array);
             } else {
                 assert isCallable(compare);
                 hasCompareFnBranch.enter();
-                DynamicObject arrayBufferObj = isTypedArrayImplementation && JSArrayBufferView.isJSArrayBufferView(thisObj) ? JSArrayBufferView.getArrayBuffer((DynamicObject) thisObj) : null;
-                return new SortComparator(compare, arrayBufferObj);
+                sortIntl(new SortComparator(compare, null), array);
             }
         }
 
-        private Comparator<Object> getDefaultComparator(Object thisObj) {
-            if (isTypedArrayImplementation) {
-                return null; // use Comparable.compareTo (equivalent to Comparator.naturalOrder())
+        /**
+         * Default sort order of Array.prototype.sort: undefined last, everything else by comparing
+         * the ToString values. Each element is converted only once (rather than once per
+         * comparison), then the (key, element) pairs are sorted stably.
+         */
+        @TruffleBoundary
+        private static void sortByStringKeys(Object[] array) {
+            StringSortEntry[] entries = new StringSortEntry[array.length];
+            int count = 0;
+            for (Object element : array) {
+                if (element != Undefined.instance) {
+                    entries[count++] = new StringSortEntry(JSRuntime.toString(element), element);
+                }
+            }
+            Arrays.sort(entries, 0, count);
+            for (int i = 0; i < count; i++) {
+                array[i] = entries[i].element;
+            }
+            Arrays.fill(array, count, array.length, Undefined.instance);
+        }
+
+        private static final class StringSortEntry implements Comparable<StringSortEntry> {
+            final String key;
+            final Object element;
+
+            StringSortEntry(String key, Object element) {
+                this.key = key;
+                this.element = element;
+            }
+
+            @Override
+            public int compareTo(StringSortEntry other) {
+                return key.compareTo(other.key);
+            }
+        }
+
+        /**
+         * Default sort order of %TypedArray%.prototype.sort, i.e., numeric. The elements are sorted
+         * as primitives (in parallel for large arrays) and written back in place; Arrays.sort
+         * orders -0 before +0 and NaN last, as required by TypedArraySortCompare.
+         */
+        @TruffleBoundary
+        private static void sortTypedArrayDefault(DynamicObject thisObj, TypedArray typedArray, int len) {
+            boolean parallel = len >= JSConfig.TypedArrayParallelSortThreshold;
+            if (typedArray instanceof TypedArray.TypedIntArray) {
+                TypedArray.TypedIntArray<?> intArray = (TypedArray.TypedIntArray<?>) typedArray;
+                // Uint32 elements are read as raw int bits; flip the sign bit to sort them unsigned
+                int bias = typedArray instanceof TypedArray.AbstractUint32Array ? Integer.MIN_VALUE : 0;
+                int[] values = new int[len];
+                for (int i = 0; i < len; i++) {
+                    values[i] = intArray.getInt(thisObj, i, true) ^ bias;
+                }
+                if (parallel) {
+                    Arrays.parallelSort(values);
+                } else {
+                    Arrays.sort(values);
+                }
+                for (int i = 0; i < len; i++) {
+                    intArray.setInt(thisObj, i, values[i] ^ bias, true);
+                }
+            } else if (typedArray instanceof TypedArray.TypedFloatArray) {
+                TypedArray.TypedFloatArray<?> floatArray = (TypedArray.TypedFloatArray<?>) typedArray;
+                double[] values = new double[len];
+                for (int i = 0; i < len; i++) {
+                    values[i] = floatArray.getDouble(thisObj, i, true);
+                }
+                if (parallel) {
+                    Arrays.parallelSort(values);
+                } else {
+                    Arrays.sort(values);
+                }
+                for (int i = 0; i < len; i++) {
+                    floatArray.setDouble(thisObj, i, values[i], true);
+                }
             } else {
-                if (JSArray.isJSArray(thisObj)) {
-                    ScriptArray array = arrayGetArrayType((DynamicObject) thisObj);
-                    if (array instanceof AbstractIntArray || array instanceof ConstantByteArray || array instanceof ConstantIntArray) {
-                        return JSArray.DEFAULT_JSARRAY_INTEGER_COMPARATOR;
-                    } else if (array instanceof AbstractDoubleArray || array instanceof ConstantDoubleArray) {
-                        return JSArray.DEFAULT_JSARRAY_DOUBLE_COMPARATOR;
-                    }
+                TypedArray.TypedBigIntArray<?> bigIntArray = (TypedArray.TypedBigIntArray<?>) typedArray;
+                BigInt[] values = new BigInt[len];
+                for (int i = 0; i < len; i++) {
+                    values[i] = bigIntArray.getBigInt(thisObj, i, true);
+                }
+                if (parallel) {
+                    Arrays.parallelSort(values);
+                } else {
+                    Arrays.sort(values);
+                }
+                for (int i = 0; i < len; i++) {
+                    bigIntArray.setBigInt(thisObj, i, values[i], true);
                 }
-                return JSArray.DEFAULT_JSARRAY_COMPARATOR;
             }
         }
 
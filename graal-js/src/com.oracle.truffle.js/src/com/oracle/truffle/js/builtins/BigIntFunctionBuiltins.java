@@ -111,7 +111,15 @@ public final class BigIntFunctionBuiltins extends JSBuiltinsContainer.SwitchEnum
 
             long bits = toIndexNode.executeLong(bitsObj);
             BigInt bigint = toBigIntNode.executeBigInteger(bigIntObj);
-            if (bits > JSRuntime.MAX_BIG_INT_EXPONENT) {
+            if (bits <= Long.SIZE) {
+                // the result depends on the low 64 bits (two's complement) only
+                long value = bigint.longValue();
+                if (bits == Long.SIZE) {
+                    return BigInt.valueOfUnsigned(value);
+                } else {
+                    return BigInt.valueOf(value & ((1L << bits) - 1));
+                }
+            } else if (bits > JSRuntime.MAX_BIG_INT_EXPONENT) {
                 if (bigint.signum() >= 0) {
                     return bigint;
                 } else {
@@ -136,7 +144,14 @@ public final class BigIntFunctionBuiltins extends JSBuiltinsContainer.SwitchEnum
 
             long bits = toIndexNode.executeLong(bitsObj);
             BigInt bigint = toBigIntNode.executeBigInteger(bigIntObj);
-            if (bits > JSRuntime.MAX_BIG_INT_EXPONENT) {
+            if (bits <= Long.SIZE) {
+                if (bits == 0) {
+                    return BigInt.ZERO;
+                }
+                // sign-extend the low bits of the two's complement representation
+                int shift = Long.SIZE - (int) bits;
+                return BigInt.valueOf((bigint.longValue() << shift) >> shift);
+            } else if (bits > JSRuntime.MAX_BIG_INT_EXPONENT) {
                 return bigint;
             }
             BigInt twoPowBits = BigInt.TWO.pow((int) bits);
@@ -55,7 +55,9 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Map;
 import java.util.StringTokenizer;
 
@@ -134,6 +136,7 @@ import com.oracle.truffle.js.runtime.SafeInteger;
 import com.oracle.truffle.js.runtime.Symbol;
 import com.oracle.truffle.js.runtime.builtins.BuiltinEnum;
 import com.oracle.truffle.js.runtime.builtins.JSArgumentsObject;
+import com.oracle.truffle.js.runtime.builtins.JSArray;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBuffer;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.builtins.JSURLDecoder;
@@ -382,7 +385,7 @@ public class GlobalBuiltins extends JSBuiltinsContainer.SwitchEnum<GlobalBuiltin
                 case exec:
                     return GlobalScriptingEXECNodeGen.create(context, builtin, args().fixedArgs(2).createArgumentNodes(context));
                 case importScriptEngineGlobalBindings:
-                    return JSGlobalImportScriptEngineGlobalBindingsNodeGen.create(context, builtin, args().fixedArgs(1).varArgs().createArgumentNodes(context));
+                    return JSGlobalImportScriptEngineGlobalBindingsNodeGen.create(context, builtin, args().fixedArgs(2).createArgumentNodes(context));
             }
             return null;
         }
@@ -1623,24 +1626,45 @@ public class GlobalBuiltins extends JSBuiltinsContainer.SwitchEnum<GlobalBuiltin
             super(context, builtin);
         }
 
+        /**
+         * Imports all entries of the bindings, or only those with the given keys (a host
+         * {@code String[]}) if provided. In the latter case, returns an array of the keys that have
+         * been defined; keys that are already defined in the global scope are skipped.
+         */
         @Specialization
-        final Object importGlobalContext(Object globalContextBindings) {
-            doImport(globalContextBindings);
-            return Undefined.instance;
+        final Object importGlobalContext(Object globalContextBindings, Object keys) {
+            return doImport(globalContextBindings, keys);
         }
 
         @TruffleBoundary
-        private void doImport(Object globalContextBindings) {
-            DynamicObject globalObject = getContext().getRealm().getGlobalObject();
-            Bindings bindings = (Bindings) getContext().getRealm().getEnv().asHostObject(globalContextBindings);
-            for (Map.Entry<String, Object> entry : bindings.entrySet()) {
-                String key = entry.getKey();
-                if (!globalObject.getShape().hasProperty(key) && !JSObject.getPrototype(globalObject).getShape().hasProperty(key)) {
-                    JSObjectUtil.defineProxyProperty(globalObject, key, new ScriptEngineGlobalScopeBindingsPropertyProxy(getContext(), bindings, key), JSAttributes.getDefault());
+        private Object doImport(Object globalContextBindings, Object keys) {
+            TruffleLanguage.Env env = getContext().getRealm().getEnv();
+            Bindings bindings = (Bindings) env.asHostObject(globalContextBindings);
+            if (env.isHostObject(keys) && env.asHostObject(keys) instanceof String[]) {
+                List<Object> defined = new ArrayList<>();
+                for (String key : (String[]) env.asHostObject(keys)) {
+                    if (importKey(bindings, key)) {
+                        defined.add(key);
+                    }
+                }
+                return JSArray.createConstantObjectArray(getContext(), defined.toArray());
+            } else {
+                for (Map.Entry<String, Object> entry : bindings.entrySet()) {
+                    importKey(bindings, entry.getKey());
                 }
+                return Undefined.instance;
             }
         }
 
+        private boolean importKey(Bindings bindings, String key) {
+            DynamicObject globalObject = getContext().getRealm().getGlobalObject();
+            if (!globalObject.getShape().hasProperty(key) && !JSObject.getPrototype(globalObject).getShape().hasProperty(key)) {
+                JSObjectUtil.defineProxyProperty(globalObject, key, new ScriptEngineGlobalScopeBindingsPropertyProxy(getContext(), bindings, key), JSAttributes.getDefault());
+                return true;
+            }
+            return false;
+        }
+
         private static class ScriptEngineGlobalScopeBindingsPropertyProxy implements PropertyProxy {
 
             private final JSContext context;
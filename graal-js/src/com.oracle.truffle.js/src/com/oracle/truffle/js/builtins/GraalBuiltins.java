@@ -0,0 +1,552 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.builtins;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.OpenOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.TruffleLanguage.Env;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.js.builtins.GraalBuiltinsFactory.GraalCopyFromHostArrayNodeGen;
+import com.oracle.truffle.js.builtins.GraalBuiltinsFactory.GraalCopyToHostArrayNodeGen;
+import com.oracle.truffle.js.builtins.GraalBuiltinsFactory.GraalMapFileNodeGen;
+import com.oracle.truffle.js.builtins.GraalBuiltinsFactory.GraalPromiseJobStatisticsNodeGen;
+import com.oracle.truffle.js.builtins.GraalBuiltinsFactory.GraalRegexCacheStatisticsNodeGen;
+import com.oracle.truffle.js.builtins.JSONBuiltinsFactory.JSONStringifyToBufferNodeGen;
+import com.oracle.truffle.js.nodes.function.JSBuiltin;
+import com.oracle.truffle.js.nodes.function.JSBuiltinNode;
+import com.oracle.truffle.js.runtime.BigInt;
+import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.JSAgent;
+import com.oracle.truffle.js.runtime.JSContext;
+import com.oracle.truffle.js.runtime.JSRealm;
+import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.PromiseJobStatistics;
+import com.oracle.truffle.js.runtime.array.ScriptArray;
+import com.oracle.truffle.js.runtime.array.TypedArray;
+import com.oracle.truffle.js.runtime.array.TypedArray.AbstractUint8ClampedArray;
+import com.oracle.truffle.js.runtime.array.TypedArray.TypedBigIntArray;
+import com.oracle.truffle.js.runtime.array.TypedArray.TypedFloatArray;
+import com.oracle.truffle.js.runtime.array.TypedArray.TypedIntArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractDoubleArray;
+import com.oracle.truffle.js.runtime.array.dyn.AbstractIntArray;
+import com.oracle.truffle.js.runtime.array.dyn.ConstantDoubleArray;
+import com.oracle.truffle.js.runtime.array.dyn.ConstantIntArray;
+import com.oracle.truffle.js.runtime.builtins.JSArray;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBuffer;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
+import com.oracle.truffle.js.runtime.builtins.JSSharedArrayBuffer;
+import com.oracle.truffle.js.runtime.builtins.JSUserObject;
+import com.oracle.truffle.js.runtime.objects.JSAttributes;
+import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
+import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.BufferUtil;
+import com.oracle.truffle.js.runtime.util.DirectByteBufferHelper;
+
+/**
+ * Contains functions of the {@code Graal} object.
+ */
+public final class GraalBuiltins extends JSBuiltinsContainer.Lambda {
+
+    public static final JSBuiltinsContainer BUILTINS = new GraalBuiltins();
+
+    protected GraalBuiltins() {
+        super(JSRealm.GRAAL_CLASS_NAME);
+        defineFunction("stringifyToBuffer", 4, (context, builtin) -> JSONStringifyToBufferNodeGen.create(context, builtin, args().fixedArgs(4).createArgumentNodes(context)));
+        defineFunction("mapFile", 2, (context, builtin) -> GraalMapFileNodeGen.create(context, builtin, args().fixedArgs(2).createArgumentNodes(context)));
+        defineFunction("regexCacheStatistics", 0, (context, builtin) -> GraalRegexCacheStatisticsNodeGen.create(context, builtin, args().createArgumentNodes(context)));
+        defineFunction("promiseJobStatistics", 1, (context, builtin) -> GraalPromiseJobStatisticsNodeGen.create(context, builtin, args().fixedArgs(1).createArgumentNodes(context)));
+        defineFunction("copyFromHostArray", 2, (context, builtin) -> GraalCopyFromHostArrayNodeGen.create(context, builtin, args().fixedArgs(2).createArgumentNodes(context)));
+        defineFunction("copyToHostArray", 2, (context, builtin) -> GraalCopyToHostArrayNodeGen.create(context, builtin, args().fixedArgs(2).createArgumentNodes(context)));
+    }
+
+    /**
+     * {@code Graal.mapFile(path, options)}: creates an {@code ArrayBuffer} (or, with
+     * {@code options.shared}, a {@code SharedArrayBuffer}) backed by a memory mapping of (a region
+     * of) a file. The file is accessed through the Truffle file system, i.e., subject to the IO
+     * permissions of the context.
+     *
+     * Options: {@code offset} and {@code length} of the region (default: the whole file),
+     * {@code writable}: if {@code true}, the file is mapped read-write and writes go to the file;
+     * otherwise it is mapped copy-on-write, i.e., writes are private to the buffer (a file that
+     * cannot be opened for writing is read into a new buffer instead), and
+     * {@code grow}: if {@code true}, a writable region that extends past the end of the file is
+     * allowed and the file is extended to the end of the region. Otherwise, a region past the end
+     * of the file is rejected with a {@code RangeError}.
+     */
+    public abstract static class GraalMapFileNode extends JSBuiltinNode {
+
+        public GraalMapFileNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization
+        @TruffleBoundary(transferToInterpreterOnException = false)
+        protected final DynamicObject mapFile(Object path, Object options) {
+            TruffleFile file = GlobalBuiltins.getFileFromArgument(path, getContext().getRealm().getEnv());
+            boolean writable = JSRuntime.toBoolean(getOption(options, "writable"));
+            boolean shared = JSRuntime.toBoolean(getOption(options, "shared"));
+            boolean grow = JSRuntime.toBoolean(getOption(options, "grow"));
+            if (grow && !writable) {
+                throw Errors.createTypeError("Only writable mappings can grow the file");
+            }
+            if (shared && !getContext().isOptionSharedArrayBuffer()) {
+                throw Errors.createTypeError("SharedArrayBuffer is not enabled");
+            }
+            long offset = toRegionBound(getOption(options, "offset"), 0);
+            Object lengthOption = getOption(options, "length");
+            long length = lengthOption == Undefined.instance ? -1 : toRegionBound(lengthOption, 0);
+            ByteBuffer buffer;
+            try {
+                if (writable) {
+                    buffer = mapRegion(file, EnumSet.of(StandardOpenOption.READ, StandardOpenOption.WRITE), FileChannel.MapMode.READ_WRITE, offset, length, grow);
+                } else {
+                    buffer = mapPrivateRegion(file, offset, length);
+                }
+            } catch (NonWritableChannelException e) {
+                throw Errors.createTypeError("The file is not writable");
+            } catch (IOException | SecurityException | UnsupportedOperationException e) {
+                throw Errors.createErrorFromException(e);
+            }
+            buffer = DirectByteBufferHelper.cast(buffer);
+            if (shared) {
+                return JSSharedArrayBuffer.createSharedArrayBuffer(getContext(), buffer);
+            } else {
+                return JSArrayBuffer.createDirectArrayBuffer(getContext(), buffer);
+            }
+        }
+
+        /**
+         * Maps the region copy-on-write. Private mappings require a channel that is open for writing,
+         * so a file that cannot be opened for writing is read into a new buffer instead (a read-only
+         * mapping cannot back an {@code ArrayBuffer}, which is always writable).
+         */
+        private static ByteBuffer mapPrivateRegion(TruffleFile file, long offset, long length) throws IOException {
+            SeekableByteChannel channel;
+            try {
+                channel = file.newByteChannel(EnumSet.of(StandardOpenOption.READ, StandardOpenOption.WRITE));
+            } catch (IOException | SecurityException | UnsupportedOperationException e) {
+                return readRegion(file, offset, length);
+            }
+            try (SeekableByteChannel c = channel) {
+                return mapRegion(c, FileChannel.MapMode.PRIVATE, offset, length, false);
+            }
+        }
+
+        private static ByteBuffer mapRegion(TruffleFile file, Set<OpenOption> openOptions, FileChannel.MapMode mode, long offset, long length, boolean grow) throws IOException {
+            try (SeekableByteChannel channel = file.newByteChannel(openOptions)) {
+                return mapRegion(channel, mode, offset, length, grow);
+            }
+        }
+
+        private static ByteBuffer mapRegion(SeekableByteChannel channel, FileChannel.MapMode mode, long offset, long length, boolean grow) throws IOException {
+            if (!(channel instanceof FileChannel)) {
+                throw Errors.createTypeError("The file system does not support memory-mapped files");
+            }
+            long regionLength = checkRegion(channel.size(), offset, length, grow);
+            // the mapping stays valid after the channel is closed
+            return ((FileChannel) channel).map(mode, offset, regionLength).order(ByteOrder.nativeOrder());
+        }
+
+        private static ByteBuffer readRegion(TruffleFile file, long offset, long length) throws IOException {
+            try (SeekableByteChannel channel = file.newByteChannel(EnumSet.of(StandardOpenOption.READ))) {
+                int regionLength = (int) checkRegion(channel.size(), offset, length, false);
+                ByteBuffer buffer = DirectByteBufferHelper.allocateDirect(regionLength);
+                channel.position(offset);
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer) < 0) {
+                        throw Errors.createRangeError("Mapped region exceeds the file size");
+                    }
+                }
+                BufferUtil.asBaseBuffer(buffer).clear();
+                return buffer.order(ByteOrder.nativeOrder());
+            }
+        }
+
+        /**
+         * Checks the region against the file size and returns its length ({@code -1} stands for the
+         * rest of the file).
+         */
+        private static long checkRegion(long size, long offset, long length, boolean grow) {
+            long regionLength = length < 0 ? Math.max(0, size - offset) : length;
+            if (regionLength > Integer.MAX_VALUE) {
+                throw Errors.createRangeError("Mapped region exceeds the maximum ArrayBuffer length, use offset and length to map the file in parts");
+            }
+            if (!grow && (offset > size || offset + regionLength > size)) {
+                throw Errors.createRangeError("Mapped region exceeds the file size");
+            }
+            return regionLength;
+        }
+
+        private static Object getOption(Object options, String name) {
+            if (JSObject.isJSObject(options)) {
+                return JSObject.get((DynamicObject) options, name);
+            }
+            return Undefined.instance;
+        }
+
+        private static long toRegionBound(Object value, long defaultValue) {
+            if (value == Undefined.instance) {
+                return defaultValue;
+            }
+            long bound = JSRuntime.toInteger(value);
+            if (bound < 0) {
+                throw Errors.createRangeError("Invalid offset or length");
+            }
+            return bound;
+        }
+    }
+
+    /**
+     * {@code Graal.copyFromHostArray(hostArray, target)}: copies the elements of a Java
+     * {@code int[]}, {@code double[]}, {@code long[]} or {@code byte[]} array in one operation.
+     * Without {@code target}, returns a new dense {@code Array} backed by an int or double array
+     * (a {@code long[]} yields an int-backed array if all values fit, otherwise a double-backed
+     * one). Otherwise, {@code target} must be a {@code TypedArray} that can hold all elements; it
+     * is filled from the start and returned. Arrays of matching element size are copied as a whole
+     * into the backing store, other combinations element by element with the usual conversions. A
+     * {@code long[]} can only be copied into a {@code BigInt64Array} or {@code BigUint64Array}.
+     */
+    public abstract static class GraalCopyFromHostArrayNode extends JSBuiltinNode {
+
+        public GraalCopyFromHostArrayNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization
+        @TruffleBoundary
+        protected final DynamicObject copyFromHostArray(Object hostArray, Object target) {
+            Object array = getHostArray(getContext(), hostArray);
+            if (target == Undefined.instance) {
+                return createArray(array);
+            } else if (JSArrayBufferView.isJSArrayBufferView(target)) {
+                copyToTypedArray(array, (DynamicObject) target);
+                return (DynamicObject) target;
+            } else {
+                throw Errors.createTypeError("Target must be a TypedArray or undefined");
+            }
+        }
+
+        private DynamicObject createArray(Object array) {
+            JSContext context = getContext();
+            if (array instanceof int[]) {
+                int[] ints = (int[]) array;
+                return JSArray.createZeroBasedIntArray(context, Arrays.copyOf(ints, ints.length));
+            } else if (array instanceof double[]) {
+                double[] doubles = (double[]) array;
+                return JSArray.createZeroBasedDoubleArray(context, Arrays.copyOf(doubles, doubles.length));
+            } else if (array instanceof byte[]) {
+                byte[] bytes = (byte[]) array;
+                int[] ints = new int[bytes.length];
+                for (int i = 0; i < bytes.length; i++) {
+                    ints[i] = bytes[i];
+                }
+                return JSArray.createZeroBasedIntArray(context, ints);
+            } else {
+                long[] longs = (long[]) array;
+                boolean fitsInt = true;
+                for (long value : longs) {
+                    if (value != (int) value) {
+                        fitsInt = false;
+                        break;
+                    }
+                }
+                if (fitsInt) {
+                    int[] ints = new int[longs.length];
+                    for (int i = 0; i < longs.length; i++) {
+                        ints[i] = (int) longs[i];
+                    }
+                    return JSArray.createZeroBasedIntArray(context, ints);
+                } else {
+                    double[] doubles = new double[longs.length];
+                    for (int i = 0; i < longs.length; i++) {
+                        doubles[i] = longs[i];
+                    }
+                    return JSArray.createZeroBasedDoubleArray(context, doubles);
+                }
+            }
+        }
+
+        private void copyToTypedArray(Object array, DynamicObject typedArray) {
+            if (JSArrayBufferView.hasDetachedBuffer(typedArray, getContext())) {
+                throw Errors.createTypeErrorDetachedBuffer();
+            }
+            TypedArray arrayType = JSArrayBufferView.typedArrayGetArrayType(typedArray);
+            if ((array instanceof long[]) != (arrayType instanceof TypedBigIntArray)) {
+                throw Errors.createTypeErrorCannotMixBigIntWithOtherTypes(this);
+            }
+            int length = Array.getLength(array);
+            if (length > arrayType.lengthInt(typedArray)) {
+                throw Errors.createRangeError("Host array does not fit into the target TypedArray");
+            }
+            if (array instanceof int[] && arrayType instanceof TypedIntArray && arrayType.bytesPerElement() == Integer.BYTES) {
+                arrayType.getElementsView(typedArray, true).asIntBuffer().put((int[]) array);
+            } else if (array instanceof double[] && arrayType instanceof TypedFloatArray && arrayType.bytesPerElement() == Double.BYTES) {
+                arrayType.getElementsView(typedArray, true).asDoubleBuffer().put((double[]) array);
+            } else if (array instanceof long[]) {
+                arrayType.getElementsView(typedArray, true).asLongBuffer().put((long[]) array);
+            } else if (array instanceof byte[] && arrayType instanceof TypedIntArray && arrayType.bytesPerElement() == Byte.BYTES && !(arrayType instanceof AbstractUint8ClampedArray)) {
+                arrayType.getElementsView(typedArray, true).put((byte[]) array);
+            } else {
+                for (int i = 0; i < length; i++) {
+                    arrayType.setElement(typedArray, i, getHostElement(array, i), false);
+                }
+            }
+        }
+
+        private static Object getHostElement(Object array, int index) {
+            if (array instanceof int[]) {
+                return ((int[]) array)[index];
+            } else if (array instanceof double[]) {
+                return ((double[]) array)[index];
+            } else if (array instanceof byte[]) {
+                return (int) ((byte[]) array)[index];
+            } else {
+                return BigInt.valueOf(((long[]) array)[index]);
+            }
+        }
+    }
+
+    /**
+     * {@code Graal.copyToHostArray(source, hostArray)}: copies the elements of an {@code Array} or
+     * {@code TypedArray} into a Java {@code int[]}, {@code double[]}, {@code long[]} or
+     * {@code byte[]} array in one operation, starting at index 0, and returns the number of copied
+     * elements, i.e., the smaller of both lengths. Elements are converted like by
+     * {@code ToInt32}, {@code ToNumber} and {@code ToInt8}, respectively. Elements copied into a
+     * {@code long[]} are converted like by {@code ToBigInt64} if they are BigInts, otherwise they
+     * must be integral Numbers in the range of a Java {@code long} (so that the arrays created by
+     * {@code copyFromHostArray} can be copied back). Int- and double-backed arrays and typed arrays
+     * of matching element size avoid the per-element conversion.
+     */
+    public abstract static class GraalCopyToHostArrayNode extends JSBuiltinNode {
+
+        public GraalCopyToHostArrayNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization
+        @TruffleBoundary
+        protected final int copyToHostArray(Object source, Object hostArray) {
+            Object array = getHostArray(getContext(), hostArray);
+            int hostLength = Array.getLength(array);
+            if (JSArrayBufferView.isJSArrayBufferView(source)) {
+                return copyFromTypedArray((DynamicObject) source, array, hostLength);
+            } else if (JSArray.isJSArray(source)) {
+                return copyFromArray((DynamicObject) source, array, hostLength);
+            } else {
+                throw Errors.createTypeError("Source must be an Array or a TypedArray");
+            }
+        }
+
+        private int copyFromTypedArray(DynamicObject typedArray, Object array, int hostLength) {
+            if (JSArrayBufferView.hasDetachedBuffer(typedArray, getContext())) {
+                throw Errors.createTypeErrorDetachedBuffer();
+            }
+            TypedArray arrayType = JSArrayBufferView.typedArrayGetArrayType(typedArray);
+            if ((array instanceof long[]) != (arrayType instanceof TypedBigIntArray)) {
+                throw Errors.createTypeErrorCannotMixBigIntWithOtherTypes(this);
+            }
+            int length = Math.min(hostLength, arrayType.lengthInt(typedArray));
+            if (array instanceof int[] && arrayType instanceof TypedIntArray && arrayType.bytesPerElement() == Integer.BYTES) {
+                arrayType.getElementsView(typedArray, true).asIntBuffer().get((int[]) array, 0, length);
+            } else if (array instanceof double[] && arrayType instanceof TypedFloatArray && arrayType.bytesPerElement() == Double.BYTES) {
+                arrayType.getElementsView(typedArray, true).asDoubleBuffer().get((double[]) array, 0, length);
+            } else if (array instanceof long[]) {
+                arrayType.getElementsView(typedArray, true).asLongBuffer().get((long[]) array, 0, length);
+            } else if (array instanceof byte[] && arrayType instanceof TypedIntArray && arrayType.bytesPerElement() == Byte.BYTES) {
+                arrayType.getElementsView(typedArray, true).get((byte[]) array, 0, length);
+            } else {
+                for (int i = 0; i < length; i++) {
+                    setHostElement(array, i, arrayType.getElement(typedArray, i));
+                }
+            }
+            return length;
+        }
+
+        private static int copyFromArray(DynamicObject jsArray, Object array, int hostLength) {
+            ScriptArray arrayType = JSObject.getArray(jsArray);
+            int length = (int) Math.min(hostLength, arrayType.length(jsArray));
+            boolean dense = length == 0 || (arrayType.firstElementIndex(jsArray) == 0 && arrayType.lastElementIndex(jsArray) >= length - 1 && !arrayType.hasHoles(jsArray));
+            if (dense && array instanceof int[] && arrayType instanceof AbstractIntArray) {
+                AbstractIntArray intArrayType = (AbstractIntArray) arrayType;
+                int[] ints = (int[]) array;
+                for (int i = 0; i < length; i++) {
+                    ints[i] = intArrayType.getInBoundsFastInt(jsArray, i, true);
+                }
+            } else if (dense && array instanceof int[] && arrayType instanceof ConstantIntArray) {
+                System.arraycopy(ConstantIntArray.getArray(jsArray, true), 0, array, 0, length);
+            } else if (dense && array instanceof double[] && arrayType instanceof AbstractDoubleArray) {
+                AbstractDoubleArray doubleArrayType = (AbstractDoubleArray) arrayType;
+                double[] doubles = (double[]) array;
+                for (int i = 0; i < length; i++) {
+                    doubles[i] = doubleArrayType.getInBoundsFastDouble(jsArray, i, true);
+                }
+            } else if (dense && array instanceof double[] && arrayType instanceof ConstantDoubleArray) {
+                System.arraycopy(ConstantDoubleArray.getArray(jsArray, true), 0, array, 0, length);
+            } else if (dense && array instanceof long[] && arrayType instanceof AbstractIntArray) {
+                AbstractIntArray intArrayType = (AbstractIntArray) arrayType;
+                long[] longs = (long[]) array;
+                for (int i = 0; i < length; i++) {
+                    longs[i] = intArrayType.getInBoundsFastInt(jsArray, i, true);
+                }
+            } else {
+                for (int i = 0; i < length; i++) {
+                    setHostElement(array, i, JSObject.get(jsArray, i));
+                }
+            }
+            return length;
+        }
+
+        private static void setHostElement(Object array, int index, Object value) {
+            if (array instanceof int[]) {
+                ((int[]) array)[index] = JSRuntime.toInt32(value);
+            } else if (array instanceof double[]) {
+                ((double[]) array)[index] = JSRuntime.toDouble(value);
+            } else if (array instanceof byte[]) {
+                ((byte[]) array)[index] = (byte) JSRuntime.toInt32(value);
+            } else {
+                ((long[]) array)[index] = toHostLong(value);
+            }
+        }
+
+        private static long toHostLong(Object value) {
+            Object numeric = JSRuntime.toNumeric(value);
+            if (numeric instanceof BigInt) {
+                return ((BigInt) numeric).longValue();
+            }
+            double d = JSRuntime.toDouble((Number) numeric);
+            // also rejects NaN and infinities
+            if (!(d == Math.rint(d) && d >= -0x1p63 && d < 0x1p63)) {
+                throw Errors.createRangeError("Cannot convert " + JSRuntime.toString(numeric) + " to a Java long");
+            }
+            return (long) d;
+        }
+    }
+
+    /**
+     * Returns the Java array wrapped by the given host object, if it is an array supported by the
+     * bulk copy functions.
+     */
+    private static Object getHostArray(JSContext context, Object hostArray) {
+        Env env = context.getRealm().getEnv();
+        if (env.isHostObject(hostArray)) {
+            Object array = env.asHostObject(hostArray);
+            if (array instanceof int[] || array instanceof double[] || array instanceof long[] || array instanceof byte[]) {
+                return array;
+            }
+        }
+        throw Errors.createTypeError("Expected a Java int[], double[], long[] or byte[] array");
+    }
+
+    /**
+     * {@code Graal.promiseJobStatistics(reset)}: returns the promise job queue statistics of the
+     * current agent (see {@link PromiseJobStatistics}) as an object with the properties
+     * {@code enqueued}, {@code executed}, {@code highWaterMark}, {@code turns}, {@code drainTime},
+     * {@code lastTurnLatency} and {@code maxTurnLatency}, times in milliseconds. If {@code reset}
+     * is truthy, the statistics are reset afterwards.
+     */
+    public abstract static class GraalPromiseJobStatisticsNode extends JSBuiltinNode {
+
+        public GraalPromiseJobStatisticsNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization
+        @TruffleBoundary
+        protected final DynamicObject promiseJobStatistics(Object reset) {
+            JSContext context = getContext();
+            JSAgent agent = context.getRealm().getAgent();
+            PromiseJobStatistics statistics = agent.getPromiseJobStatistics();
+            if (JSRuntime.toBoolean(reset)) {
+                agent.resetPromiseJobStatistics();
+            }
+            DynamicObject result = JSUserObject.create(context);
+            JSObjectUtil.putDataProperty(context, result, "enqueued", (double) statistics.getEnqueuedJobs(), JSAttributes.getDefault());
+            JSObjectUtil.putDataProperty(context, result, "executed", (double) statistics.getExecutedJobs(), JSAttributes.getDefault());
+            JSObjectUtil.putDataProperty(context, result, "highWaterMark", statistics.getQueueHighWaterMark(), JSAttributes.getDefault());
+            JSObjectUtil.putDataProperty(context, result, "turns", (double) statistics.getTurns(), JSAttributes.getDefault());
+            JSObjectUtil.putDataProperty(context, result, "drainTime", nanosToMillis(statistics.getTotalDrainNanos()), JSAttributes.getDefault());
+            JSObjectUtil.putDataProperty(context, result, "lastTurnLatency", nanosToMillis(statistics.getLastTurnLatencyNanos()), JSAttributes.getDefault());
+            JSObjectUtil.putDataProperty(context, result, "maxTurnLatency", nanosToMillis(statistics.getMaxTurnLatencyNanos()), JSAttributes.getDefault());
+            return result;
+        }
+
+        private static double nanosToMillis(long nanos) {
+            return nanos / 1e6;
+        }
+    }
+
+    /**
+     * {@code Graal.regexCacheStatistics()}: returns the number of {@code hits} and {@code misses}
+     * of the engine-wide cache of compiled regular expressions.
+     */
+    public abstract static class GraalRegexCacheStatisticsNode extends JSBuiltinNode {
+
+        public GraalRegexCacheStatisticsNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization
+        @TruffleBoundary
+        protected final DynamicObject regexCacheStatistics() {
+            JSContext context = getContext();
+            long[] statistics = context.getRegexCacheStatistics();
+            DynamicObject result = JSUserObject.create(context);
+            JSObjectUtil.putDataProperty(context, result, "hits", (double) statistics[0], JSAttributes.getDefault());
+            JSObjectUtil.putDataProperty(context, result, "misses", (double) statistics[1], JSAttributes.getDefault());
+            return result;
+        }
+    }
+}
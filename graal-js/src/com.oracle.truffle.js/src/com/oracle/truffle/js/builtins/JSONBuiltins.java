@@ -40,6 +40,7 @@
  */
 package com.oracle.truffle.js.builtins;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -55,6 +56,9 @@ import com.oracle.truffle.api.profiles.ConditionProfile;
 import com.oracle.truffle.js.builtins.JSONBuiltinsFactory.JSONParseNodeGen;
 import com.oracle.truffle.js.builtins.JSONBuiltinsFactory.JSONStringifyNodeGen;
 import com.oracle.truffle.js.builtins.helper.JSONData;
+import com.oracle.truffle.js.builtins.helper.JSONParseSiteCache;
+import com.oracle.truffle.js.builtins.helper.JSONStringifyOutput;
+import com.oracle.truffle.js.builtins.helper.JSONStringifyOutput.UTF8Output;
 import com.oracle.truffle.js.builtins.helper.JSONStringifyStringNode;
 import com.oracle.truffle.js.builtins.helper.TruffleJSONParser;
 import com.oracle.truffle.js.nodes.access.CreateDataPropertyNode;
@@ -65,10 +69,15 @@ import com.oracle.truffle.js.nodes.function.JSBuiltin;
 import com.oracle.truffle.js.nodes.function.JSBuiltinNode;
 import com.oracle.truffle.js.nodes.unary.IsCallableNode;
 import com.oracle.truffle.js.nodes.unary.JSIsArrayNode;
+import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRuntime;
+import com.oracle.truffle.js.runtime.array.TypedArray;
+import com.oracle.truffle.js.runtime.array.TypedArrayFactory;
 import com.oracle.truffle.js.runtime.builtins.BuiltinEnum;
 import com.oracle.truffle.js.runtime.builtins.JSArray;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBuffer;
+import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
 import com.oracle.truffle.js.runtime.builtins.JSNumber;
 import com.oracle.truffle.js.runtime.builtins.JSString;
 import com.oracle.truffle.js.runtime.builtins.JSUserObject;
@@ -138,6 +147,8 @@ public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuilt
 
     public abstract static class JSONParseNode extends JSONOperation {
 
+        private final JSONParseSiteCache siteCache = new JSONParseSiteCache();
+
         public JSONParseNode(JSContext context, JSBuiltin builtin) {
             super(context, builtin);
         }
@@ -159,7 +170,7 @@ public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuilt
 
         @TruffleBoundary(transferToInterpreterOnException = false)
         private Object parseIntl(String jsonString) {
-            return new TruffleJSONParser(getContext()).parse(jsonString);
+            return new TruffleJSONParser(getContext(), siteCache).parse(jsonString);
         }
 
         @TruffleBoundary
@@ -193,9 +204,9 @@ public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuilt
         }
     }
 
-    public abstract static class JSONStringifyNode extends JSONOperation {
+    public abstract static class JSONStringifyOperation extends JSONOperation {
 
-        public JSONStringifyNode(JSContext context, JSBuiltin builtin) {
+        public JSONStringifyOperation(JSContext context, JSBuiltin builtin) {
             super(context, builtin);
         }
 
@@ -208,12 +219,12 @@ public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuilt
         private final BranchProfile spaceIsStringBranch = BranchProfile.create();
         private final ConditionProfile spaceIsUndefinedProfile = ConditionProfile.createBinaryProfile();
 
-        protected Object jsonStr(Object jsonData, String key, DynamicObject holder) {
+        private JSONStringifyStringNode getJSONStringifyStringNode() {
             if (jsonStringifyStringNode == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 jsonStringifyStringNode = insert(JSONStringifyStringNode.create(getContext()));
             }
-            return jsonStringifyStringNode.execute(jsonData, key, holder);
+            return jsonStringifyStringNode;
         }
 
         @Override
@@ -233,14 +244,7 @@ public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuilt
             return isCallableNode.executeBoolean(obj);
         }
 
-        @Specialization(guards = "isCallable(replacerFn)")
-        protected Object stringify(Object value, DynamicObject replacerFn, Object spaceParam) {
-            assert JSRuntime.isCallable(replacerFn);
-            return stringifyIntl(value, spaceParam, replacerFn, null);
-        }
-
-        @Specialization(guards = "isArray(replacerObj)")
-        protected Object stringifyReplacerArray(Object value, DynamicObject replacerObj, Object spaceParam) {
+        protected List<String> createReplacerList(DynamicObject replacerObj) {
             int len = (int) JSRuntime.toLength(JSObject.get(replacerObj, JSArray.LENGTH));
             List<String> replacerList = new ArrayList<>();
             for (int i = 0; i < len; i++) {
@@ -256,7 +260,7 @@ public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuilt
                     addToReplacer(replacerList, item);
                 }
             }
-            return stringifyIntl(value, spaceParam, null, replacerList);
+            return replacerList;
         }
 
         @TruffleBoundary
@@ -266,37 +270,32 @@ public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuilt
             }
         }
 
-        @SuppressWarnings("unused")
-        @Specialization(guards = {"isString(value)", "!isCallable(replacer)", "!isArray(replacer)"})
-        // GR-24628: JSON.stringify is frequently called with (just) a String argument
-        protected Object stringifyAStringNoReplacer(Object value, Object replacer, Object spaceParam,
-                        @Cached("createStringBuilderProfile()") StringBuilderProfile stringBuilderProfile) {
-            String str = JSRuntime.toStringIsString(value);
-            StringBuilder builder = new StringBuilder(str.length() + 8);
-            JSONStringifyStringNode.jsonQuote(stringBuilderProfile, builder, str);
-            return stringBuilderProfile.toString(builder);
+        protected Object stringifyIntl(Object value, Object spaceParam, DynamicObject replacerFnObj, List<String> replacerList) {
+            JSONData data = createJSONData(spaceParam, replacerFnObj, replacerList);
+            return getJSONStringifyStringNode().execute(data, "", createWrapper(value));
         }
 
-        protected StringBuilderProfile createStringBuilderProfile() {
-            return StringBuilderProfile.create(getContext().getStringLengthLimit());
+        /**
+         * Serializes into {@code output}; returns {@code false} if the value is not serializable.
+         */
+        protected boolean stringifyToOutput(Object value, Object spaceParam, DynamicObject replacerFnObj, List<String> replacerList, JSONStringifyOutput output) {
+            JSONData data = createJSONData(spaceParam, replacerFnObj, replacerList);
+            return getJSONStringifyStringNode().executeToOutput(data, "", createWrapper(value), output);
         }
 
-        @SuppressWarnings("unused")
-        @Specialization(guards = {"!isString(value)", "!isCallable(replacer)", "!isArray(replacer)"})
-        protected Object stringifyNoReplacer(Object value, Object replacer, Object spaceParam) {
-            return stringifyIntl(value, spaceParam, null, null);
-        }
-
-        private Object stringifyIntl(Object value, Object spaceParam, DynamicObject replacerFnObj, List<String> replacerList) {
+        private JSONData createJSONData(Object spaceParam, DynamicObject replacerFnObj, List<String> replacerList) {
             final String gap = spaceIsUndefinedProfile.profile(spaceParam == Undefined.instance) ? "" : getGap(spaceParam);
+            return new JSONData(gap, replacerFnObj, replacerList);
+        }
 
+        private DynamicObject createWrapper(Object value) {
             DynamicObject wrapper = JSUserObject.create(getContext());
             if (createWrapperPropertyNode == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
                 createWrapperPropertyNode = insert(CreateDataPropertyNode.create(getContext(), ""));
             }
             createWrapperPropertyNode.executeVoid(wrapper, value);
-            return jsonStr(new JSONData(gap, replacerFnObj, replacerList), "", wrapper);
+            return wrapper;
         }
 
         private String getGap(Object spaceParam) {
@@ -347,4 +346,121 @@ public final class JSONBuiltins extends JSBuiltinsContainer.SwitchEnum<JSONBuilt
             return toNumberNode.executeNumber(target);
         }
     }
+
+    public abstract static class JSONStringifyNode extends JSONStringifyOperation {
+
+        public JSONStringifyNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization(guards = "isCallable(replacerFn)")
+        protected Object stringify(Object value, DynamicObject replacerFn, Object spaceParam) {
+            assert JSRuntime.isCallable(replacerFn);
+            return stringifyIntl(value, spaceParam, replacerFn, null);
+        }
+
+        @Specialization(guards = "isArray(replacerObj)")
+        protected Object stringifyReplacerArray(Object value, DynamicObject replacerObj, Object spaceParam) {
+            return stringifyIntl(value, spaceParam, null, createReplacerList(replacerObj));
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization(guards = {"isString(value)", "!isCallable(replacer)", "!isArray(replacer)"})
+        // GR-24628: JSON.stringify is frequently called with (just) a String argument
+        protected Object stringifyAStringNoReplacer(Object value, Object replacer, Object spaceParam,
+                        @Cached("createStringBuilderProfile()") StringBuilderProfile stringBuilderProfile) {
+            String str = JSRuntime.toStringIsString(value);
+            StringBuilder builder = new StringBuilder(str.length() + 8);
+            JSONStringifyStringNode.jsonQuote(stringBuilderProfile, builder, str);
+            return stringBuilderProfile.toString(builder);
+        }
+
+        protected StringBuilderProfile createStringBuilderProfile() {
+            return StringBuilderProfile.create(getContext().getStringLengthLimit());
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization(guards = {"!isString(value)", "!isCallable(replacer)", "!isArray(replacer)"})
+        protected Object stringifyNoReplacer(Object value, Object replacer, Object spaceParam) {
+            return stringifyIntl(value, spaceParam, null, null);
+        }
+    }
+
+    /**
+     * Like {@code JSON.stringify}, but encodes the result as UTF-8 directly into a byte buffer and
+     * returns a {@code Uint8Array} over the written bytes. If an {@code ArrayBuffer} is passed as the
+     * fourth argument, the output is written into it as long as it fits, so callers can reuse one
+     * buffer across calls; otherwise a new buffer is allocated. The output is encoded in a single
+     * pass, so if it does not fit, the passed buffer is left holding a prefix of the output (at most
+     * its byte length) and its previous contents are lost either way.
+     */
+    public abstract static class JSONStringifyToBufferNode extends JSONStringifyOperation {
+
+        public JSONStringifyToBufferNode(JSContext context, JSBuiltin builtin) {
+            super(context, builtin);
+        }
+
+        @Specialization(guards = "isCallable(replacerFn)")
+        protected Object stringify(Object value, DynamicObject replacerFn, Object spaceParam, Object target) {
+            assert JSRuntime.isCallable(replacerFn);
+            return stringifyToBuffer(value, spaceParam, replacerFn, null, target);
+        }
+
+        @Specialization(guards = "isArray(replacerObj)")
+        protected Object stringifyReplacerArray(Object value, DynamicObject replacerObj, Object spaceParam, Object target) {
+            return stringifyToBuffer(value, spaceParam, null, createReplacerList(replacerObj), target);
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization(guards = {"!isCallable(replacer)", "!isArray(replacer)"})
+        protected Object stringifyNoReplacer(Object value, Object replacer, Object spaceParam, Object target) {
+            return stringifyToBuffer(value, spaceParam, null, null, target);
+        }
+
+        private Object stringifyToBuffer(Object value, Object spaceParam, DynamicObject replacerFnObj, List<String> replacerList, Object target) {
+            UTF8Output output = createOutput(target);
+            if (!stringifyToOutput(value, spaceParam, replacerFnObj, replacerList, output)) {
+                return Undefined.instance;
+            }
+            return createResult(output, target);
+        }
+
+        @TruffleBoundary
+        private UTF8Output createOutput(Object target) {
+            if (target == Undefined.instance) {
+                return JSONStringifyOutput.createUTF8Output(null, getContext().isOptionDirectByteBuffer());
+            }
+            if (!JSArrayBuffer.isJSHeapArrayBuffer(target) && !JSArrayBuffer.isJSDirectArrayBuffer(target)) {
+                throw Errors.createTypeError("ArrayBuffer expected");
+            }
+            DynamicObject targetBuffer = (DynamicObject) target;
+            if (JSArrayBuffer.isDetachedBuffer(targetBuffer)) {
+                throw Errors.createTypeErrorDetachedBuffer();
+            }
+            if (JSArrayBuffer.isJSDirectArrayBuffer(targetBuffer)) {
+                return JSONStringifyOutput.createUTF8Output(JSArrayBuffer.getDirectByteBuffer(targetBuffer), true);
+            } else {
+                return JSONStringifyOutput.createUTF8Output(ByteBuffer.wrap(JSArrayBuffer.getByteArray(targetBuffer)), false);
+            }
+        }
+
+        @TruffleBoundary
+        private DynamicObject createResult(UTF8Output output, Object target) {
+            int length = output.finish();
+            DynamicObject arrayBuffer;
+            if (!output.isReallocated()) {
+                arrayBuffer = (DynamicObject) target;
+            } else {
+                ByteBuffer buffer = output.getBuffer();
+                buffer.clear();
+                if (buffer.isDirect()) {
+                    arrayBuffer = JSArrayBuffer.createDirectArrayBuffer(getContext(), buffer);
+                } else {
+                    arrayBuffer = JSArrayBuffer.createArrayBuffer(getContext(), buffer.array());
+                }
+            }
+            TypedArray arrayType = TypedArrayFactory.Uint8Array.createArrayType(JSArrayBuffer.isJSDirectArrayBuffer(arrayBuffer), false);
+            return JSArrayBufferView.createArrayBufferView(getContext(), arrayBuffer, arrayType, 0, length);
+        }
+    }
 }
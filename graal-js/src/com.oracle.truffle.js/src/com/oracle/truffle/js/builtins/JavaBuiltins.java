@@ -360,13 +360,7 @@ public final class JavaBuiltins extends JSBuiltinsContainer.SwitchEnum<JavaBuilt
 
             JavaAccess.checkAccess(types, getContext());
 
-            Class<?> result;
-            if (types.length == 1 && classOverrides == null) {
-                result = getContext().getJavaAdapterClassFor(types[0]);
-            } else {
-                result = JavaAdapterFactory.getAdapterClassFor(types, classOverrides);
-            }
-            return env.asHostSymbol(result);
+            return env.asHostSymbol(JavaAdapterFactory.getAdapterClassFor(types, classOverrides));
         }
 
         protected static boolean isType(Object obj, TruffleLanguage.Env env) {
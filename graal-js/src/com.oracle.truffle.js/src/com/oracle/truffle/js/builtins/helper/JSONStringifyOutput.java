@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.builtins.helper;
+
+import java.nio.ByteBuffer;
+
+import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.util.DirectByteBufferHelper;
+import com.oracle.truffle.js.runtime.util.StringBuilderProfile;
+
+/**
+ * Character sink of {@link JSONStringifyStringNode}. Output either goes into a
+ * {@link StringBuilder} (plain {@code JSON.stringify}) or is encoded to UTF-8 on the fly into a
+ * {@link ByteBuffer} that becomes the backing store of the resulting {@code ArrayBuffer}.
+ */
+public abstract class JSONStringifyOutput {
+
+    protected JSONStringifyOutput() {
+    }
+
+    public abstract void append(char c);
+
+    public abstract void append(String str);
+
+    public abstract void append(int value);
+
+    public abstract void append(long value);
+
+    public static StringOutput createStringOutput(StringBuilderProfile profile, StringBuilder builder) {
+        return new StringOutput(profile, builder);
+    }
+
+    public static UTF8Output createUTF8Output(ByteBuffer target, boolean direct) {
+        return new UTF8Output(target, direct);
+    }
+
+    public static final class StringOutput extends JSONStringifyOutput {
+        private final StringBuilderProfile profile;
+        private final StringBuilder builder;
+
+        StringOutput(StringBuilderProfile profile, StringBuilder builder) {
+            this.profile = profile;
+            this.builder = builder;
+        }
+
+        @Override
+        public void append(char c) {
+            profile.append(builder, c);
+        }
+
+        @Override
+        public void append(String str) {
+            profile.append(builder, str);
+        }
+
+        @Override
+        public void append(int value) {
+            profile.append(builder, value);
+        }
+
+        @Override
+        public void append(long value) {
+            profile.append(builder, value);
+        }
+
+        public String getString() {
+            return profile.toString(builder);
+        }
+    }
+
+    /**
+     * Writes UTF-8 into a growable byte buffer. Unpaired surrogates (which JSON.stringify only
+     * leaves unescaped in the gap string) are encoded as U+FFFD. A target buffer is written to
+     * directly; if the output outgrows it, the bytes written so far are copied to a new buffer and
+     * the target keeps that prefix.
+     */
+    public static final class UTF8Output extends JSONStringifyOutput {
+        /** Maximum byte length of the output, a safe upper bound for array allocation. */
+        static final int MAX_BYTE_LENGTH = Integer.MAX_VALUE - 8;
+        private static final int MIN_CAPACITY = 64;
+        private static final char REPLACEMENT_CHAR = '\uFFFD';
+
+        private final boolean direct;
+        private ByteBuffer buffer;
+        private boolean reallocated;
+        private char pendingHighSurrogate;
+
+        UTF8Output(ByteBuffer target, boolean direct) {
+            this.direct = direct;
+            if (target != null) {
+                this.buffer = target.duplicate();
+                this.buffer.clear();
+            } else {
+                this.buffer = allocate(MIN_CAPACITY);
+                this.reallocated = true;
+            }
+        }
+
+        @Override
+        public void append(char c) {
+            if (pendingHighSurrogate != 0) {
+                char high = pendingHighSurrogate;
+                pendingHighSurrogate = 0;
+                if (Character.isLowSurrogate(c)) {
+                    putCodePoint(Character.toCodePoint(high, c));
+                    return;
+                }
+                putChar(REPLACEMENT_CHAR);
+            }
+            if (Character.isHighSurrogate(c)) {
+                pendingHighSurrogate = c;
+            } else if (Character.isLowSurrogate(c)) {
+                putChar(REPLACEMENT_CHAR);
+            } else {
+                putChar(c);
+            }
+        }
+
+        @Override
+        public void append(String str) {
+            int length = str.length();
+            for (int i = 0; i < length; i++) {
+                char c = str.charAt(i);
+                if (c < 0x80 && pendingHighSurrogate == 0) {
+                    ensureCapacity(1);
+                    buffer.put((byte) c);
+                } else {
+                    append(c);
+                }
+            }
+        }
+
+        @Override
+        public void append(int value) {
+            append((long) value);
+        }
+
+        @Override
+        public void append(long value) {
+            flushPendingSurrogate();
+            if (value == Long.MIN_VALUE) {
+                append(Long.toString(value));
+                return;
+            }
+            long v = value;
+            if (v < 0) {
+                ensureCapacity(1);
+                buffer.put((byte) '-');
+                v = -v;
+            }
+            int digits = 1;
+            for (long t = v; t >= 10; t /= 10) {
+                digits++;
+            }
+            ensureCapacity(digits);
+            int start = buffer.position();
+            for (int i = start + digits - 1; i >= start; i--) {
+                buffer.put(i, (byte) ('0' + (v % 10)));
+                v /= 10;
+            }
+            buffer.position(start + digits);
+        }
+
+        private void putChar(char c) {
+            if (c < 0x80) {
+                ensureCapacity(1);
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                ensureCapacity(2);
+                buffer.put((byte) (0xC0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else {
+                ensureCapacity(3);
+                buffer.put((byte) (0xE0 | (c >> 12)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+
+        private void putCodePoint(int codePoint) {
+            ensureCapacity(4);
+            buffer.put((byte) (0xF0 | (codePoint >> 18)));
+            buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+            buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+            buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+        }
+
+        private void flushPendingSurrogate() {
+            if (pendingHighSurrogate != 0) {
+                pendingHighSurrogate = 0;
+                putChar(REPLACEMENT_CHAR);
+            }
+        }
+
+        private void ensureCapacity(int additional) {
+            if (buffer.remaining() < additional) {
+                grow(additional);
+            }
+        }
+
+        private void grow(int additional) {
+            long required = (long) buffer.position() + additional;
+            if (required > MAX_BYTE_LENGTH) {
+                throw Errors.createRangeErrorInvalidStringLength();
+            }
+            int newCapacity = (int) Math.min(MAX_BYTE_LENGTH, Math.max(required, Math.max(MIN_CAPACITY, (long) buffer.capacity() * 2)));
+            ByteBuffer newBuffer = allocate(newCapacity);
+            buffer.flip();
+            newBuffer.put(buffer);
+            buffer = newBuffer;
+            reallocated = true;
+        }
+
+        private ByteBuffer allocate(int capacity) {
+            return direct ? DirectByteBufferHelper.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+        }
+
+        /**
+         * Completes the output and returns the number of bytes written.
+         */
+        public int finish() {
+            flushPendingSurrogate();
+            return buffer.position();
+        }
+
+        /**
+         * Whether the output outgrew the target buffer (or there was none), i.e., whether
+         * {@link #getBuffer()} is a new buffer.
+         */
+        public boolean isReallocated() {
+            return reallocated;
+        }
+
+        public ByteBuffer getBuffer() {
+            return buffer;
+        }
+    }
+}
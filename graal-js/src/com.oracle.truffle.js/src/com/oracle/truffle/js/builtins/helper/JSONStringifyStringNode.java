@@ -51,12 +51,15 @@ import com.oracle.truffle.api.interop.TruffleObject;
 import com.oracle.truffle.api.interop.UnknownIdentifierException;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.Property;
+import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.js.nodes.JSGuards;
 import com.oracle.truffle.js.nodes.JavaScriptBaseNode;
 import com.oracle.truffle.js.nodes.access.PropertyGetNode;
 import com.oracle.truffle.js.nodes.function.JSFunctionCallNode;
 import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSArguments;
+import com.oracle.truffle.js.runtime.JSConfig;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.Symbol;
@@ -66,11 +69,15 @@ import com.oracle.truffle.js.runtime.builtins.JSBoolean;
 import com.oracle.truffle.js.runtime.builtins.JSClass;
 import com.oracle.truffle.js.runtime.builtins.JSNumber;
 import com.oracle.truffle.js.runtime.builtins.JSString;
+import com.oracle.truffle.js.runtime.builtins.JSUserObject;
 import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSProperty;
+import com.oracle.truffle.js.runtime.objects.JSShape;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.truffleinterop.JSInteropUtil;
 import com.oracle.truffle.js.runtime.util.StringBuilderProfile;
+import com.oracle.truffle.js.runtime.util.UnmodifiableArrayList;
 
 public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
 
@@ -79,6 +86,8 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
     @Child private JSFunctionCallNode callToJSONFunction;
     private final StringBuilderProfile stringBuilderProfile;
 
+    private static final String[] CONTROL_ESCAPES = createControlEscapes();
+
     protected JSONStringifyStringNode(JSContext context) {
         this.context = context;
         this.stringBuilderProfile = StringBuilderProfile.create(context.getStringLengthLimit());
@@ -100,7 +109,7 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
                 return Undefined.instance;
             }
             StringBuilder builder = new StringBuilder();
-            jsonStrExecute(builder, data, value);
+            jsonStrExecute(JSONStringifyOutput.createStringOutput(stringBuilderProfile, builder), data, value);
             return stringBuilderProfile.toString(builder);
         } catch (StackOverflowError ex) {
             throwStackError();
@@ -108,20 +117,40 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
         }
     }
 
+    /**
+     * Like {@link #execute}, but serializes into {@code output} instead of creating a string.
+     *
+     * @return {@code false} if nothing was written because the value is not serializable (i.e.,
+     *         {@code JSON.stringify} would return {@code undefined})
+     */
+    public final boolean executeToOutput(JSONData data, String key, DynamicObject holder, JSONStringifyOutput output) {
+        try {
+            Object value = jsonStrPrepare(data, key, holder);
+            if (!isStringifyable(value)) {
+                return false;
+            }
+            jsonStrExecute(output, data, value);
+            return true;
+        } catch (StackOverflowError ex) {
+            throwStackError();
+            return false;
+        }
+    }
+
     private static boolean isStringifyable(Object value) {
         // values that are not stringifyable are replaced by undefined in jsonStrPrepare()
         return value != Undefined.instance;
     }
 
     @TruffleBoundary
-    private void jsonStrExecute(StringBuilder builder, JSONData data, Object value) {
+    private void jsonStrExecute(JSONStringifyOutput builder, JSONData data, Object value) {
         assert isStringifyable(value);
         if (value == Null.instance) {
-            stringBuilderProfile.append(builder, Null.NAME);
+            builder.append(Null.NAME);
         } else if (value instanceof Boolean) {
-            stringBuilderProfile.append(builder, (boolean) value ? JSBoolean.TRUE_NAME : JSBoolean.FALSE_NAME);
+            builder.append((boolean) value ? JSBoolean.TRUE_NAME : JSBoolean.FALSE_NAME);
         } else if (JSRuntime.isString(value)) {
-            jsonQuote(stringBuilderProfile, builder, value.toString());
+            jsonQuote(builder, value.toString());
         } else if (JSRuntime.isNumber(value)) {
             appendNumber(builder, (Number) value);
         } else if (JSRuntime.isBigInt(value)) {
@@ -138,16 +167,16 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
             jsonForeignObject(builder, data, value);
         } else if (JSRuntime.isJavaPrimitive(value)) {
             // call toString on Java objects, GR-3722
-            jsonQuote(stringBuilderProfile, builder, value.toString());
+            jsonQuote(builder, value.toString());
         } else {
             throw new RuntimeException("JSON.stringify: should never reach here, unknown type: " + value + " " + value.getClass());
         }
     }
 
-    private void jsonForeignObject(StringBuilder builder, JSONData data, Object obj) {
+    private void jsonForeignObject(JSONStringifyOutput builder, JSONData data, Object obj) {
         InteropLibrary interop = InteropLibrary.getFactory().getUncached(obj);
         if (interop.isNull(obj)) {
-            stringBuilderProfile.append(builder, Null.NAME);
+            builder.append(Null.NAME);
         } else if (interop.isBoolean(obj) || interop.isString(obj) || interop.isNumber(obj)) {
             Object unboxed = JSInteropUtil.toPrimitiveOrDefault(obj, Null.instance, interop, this);
             assert !JSGuards.isForeignObject(unboxed);
@@ -159,16 +188,16 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
         }
     }
 
-    private void appendNumber(StringBuilder builder, Number n) {
+    private static void appendNumber(JSONStringifyOutput builder, Number n) {
         double d = JSRuntime.doubleValue(n);
         if (Double.isNaN(d) || Double.isInfinite(d)) {
-            stringBuilderProfile.append(builder, Null.NAME);
+            builder.append(Null.NAME);
         } else if (n instanceof Integer) {
-            stringBuilderProfile.append(builder, ((Integer) n).intValue());
+            builder.append(((Integer) n).intValue());
         } else if (n instanceof Long) {
-            stringBuilderProfile.append(builder, ((Long) n).longValue());
+            builder.append(((Long) n).longValue());
         } else {
-            stringBuilderProfile.append(builder, JSRuntime.doubleToString(d));
+            builder.append(JSRuntime.doubleToString(d));
         }
     }
 
@@ -254,7 +283,7 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
     }
 
     @TruffleBoundary
-    private void jsonJO(StringBuilder builder, JSONData data, Object value) {
+    private void jsonJO(JSONStringifyOutput builder, JSONData data, Object value) {
         checkCycle(data, value);
         data.pushStack(value);
         checkStackDepth(data);
@@ -266,7 +295,12 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
         boolean hasContent;
         if (data.getPropertyList() == null) {
             if (JSObject.isJSObject(value)) {
-                hasContent = serializeJSONObjectProperties(builder, data, value, indent, JSObject.enumerableOwnNames((DynamicObject) value));
+                DynamicObject valueObj = (DynamicObject) value;
+                if (hasOnlyShapeProperties(valueObj)) {
+                    hasContent = serializeShapeProperties(builder, data, valueObj, indent);
+                } else {
+                    hasContent = serializeJSONObjectProperties(builder, data, value, indent, JSObject.enumerableOwnNames(valueObj));
+                }
             } else {
                 hasContent = serializeForeignObjectProperties(builder, data, value, indent);
             }
@@ -279,7 +313,7 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
         data.setIndent(stepback);
     }
 
-    private boolean serializeJSONObjectProperties(StringBuilder builder, JSONData data, Object value, int indent, List<? extends Object> keys) {
+    private boolean serializeJSONObjectProperties(JSONStringifyOutput builder, JSONData data, Object value, int indent, List<? extends Object> keys) {
         boolean isFirst = true;
         boolean hasContent = false;
         for (Object key : keys) {
@@ -292,7 +326,50 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
                 } else {
                     appendSeparator(builder, data, indent);
                 }
-                jsonQuote(stringBuilderProfile, builder, name);
+                jsonQuote(builder, name);
+                appendColon(builder, data);
+                jsonStrExecute(builder, data, strPPrepared);
+                hasContent = true;
+            }
+        }
+        return hasContent;
+    }
+
+    private static boolean hasOnlyShapeProperties(DynamicObject obj) {
+        return JSConfig.FastOwnKeys && JSUserObject.isJSUserObject(obj) && JSObject.getJSClass(obj).hasOnlyShapeProperties(obj);
+    }
+
+    /**
+     * Serializes the enumerable own properties of an ordinary object using the (cached) property
+     * list of its shape. Values are read directly from the property locations as long as the
+     * object's shape does not change underneath.
+     */
+    private boolean serializeShapeProperties(JSONStringifyOutput builder, JSONData data, DynamicObject obj, int indent) {
+        Shape shape = obj.getShape();
+        UnmodifiableArrayList<Property> properties = JSShape.getPropertiesIfHasEnumerablePropertyNames(shape);
+        boolean isFirst = true;
+        boolean hasContent = false;
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            if (!(property.getKey() instanceof String) || !JSProperty.isEnumerable(property)) {
+                continue;
+            }
+            String name = (String) property.getKey();
+            Object propertyValue;
+            if (obj.getShape() == shape) {
+                propertyValue = JSProperty.getValue(property, obj, obj, false);
+            } else {
+                propertyValue = JSObject.get(obj, name);
+            }
+            Object strPPrepared = jsonStrPreparePart2(data, name, obj, propertyValue);
+            if (isStringifyable(strPPrepared)) {
+                if (isFirst) {
+                    concatFirstStep(builder, data);
+                    isFirst = false;
+                } else {
+                    appendSeparator(builder, data, indent);
+                }
+                jsonQuote(builder, name);
                 appendColon(builder, data);
                 jsonStrExecute(builder, data, strPPrepared);
                 hasContent = true;
@@ -301,14 +378,14 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
         return hasContent;
     }
 
-    private void appendColon(StringBuilder builder, JSONData data) {
-        stringBuilderProfile.append(builder, ':');
+    private static void appendColon(JSONStringifyOutput builder, JSONData data) {
+        builder.append(':');
         if (data.getGap().length() > 0) {
-            stringBuilderProfile.append(builder, ' ');
+            builder.append(' ');
         }
     }
 
-    private boolean serializeForeignObjectProperties(StringBuilder builder, JSONData data, Object obj, int indent) {
+    private boolean serializeForeignObjectProperties(JSONStringifyOutput builder, JSONData data, Object obj, int indent) {
         try {
             InteropLibrary objInterop = InteropLibrary.getFactory().getUncached(obj);
             if (!objInterop.hasMembers(obj)) {
@@ -335,7 +412,7 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
                     } else {
                         appendSeparator(builder, data, indent);
                     }
-                    jsonQuote(stringBuilderProfile, builder, stringKey);
+                    jsonQuote(builder, stringKey);
                     appendColon(builder, data);
                     jsonStrExecute(builder, data, strPPrepared);
                     hasContent = true;
@@ -348,7 +425,7 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
     }
 
     @TruffleBoundary
-    private void jsonJA(StringBuilder builder, JSONData data, Object value) {
+    private void jsonJA(JSONStringifyOutput builder, JSONData data, Object value) {
         checkCycle(data, value);
         assert JSRuntime.isArray(value) || InteropLibrary.getFactory().getUncached().hasArrayElements(value);
         data.pushStack(value);
@@ -392,7 +469,7 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
             if (isStringifyable(strPPrepared)) {
                 jsonStrExecute(builder, data, strPPrepared);
             } else {
-                stringBuilderProfile.append(builder, Null.NAME);
+                builder.append(Null.NAME);
             }
         }
 
@@ -412,37 +489,37 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
         throw Errors.createRangeError("cannot stringify objects nested that deep");
     }
 
-    private void concatStart(StringBuilder builder, char c) {
-        stringBuilderProfile.append(builder, c);
+    private static void concatStart(JSONStringifyOutput builder, char c) {
+        builder.append(c);
     }
 
-    private void concatFirstStep(StringBuilder builder, JSONData data) {
+    private static void concatFirstStep(JSONStringifyOutput builder, JSONData data) {
         if (data.getGap().length() > 0) {
-            stringBuilderProfile.append(builder, '\n');
+            builder.append('\n');
             for (int i = 0; i < data.getIndent(); i++) {
-                stringBuilderProfile.append(builder, data.getGap());
+                builder.append(data.getGap());
             }
         }
     }
 
-    private void concatEnd(StringBuilder builder, JSONData data, int stepback, char close, boolean hasContent) {
+    private static void concatEnd(JSONStringifyOutput builder, JSONData data, int stepback, char close, boolean hasContent) {
         if (data.getGap().length() > 0 && hasContent) {
-            stringBuilderProfile.append(builder, '\n');
+            builder.append('\n');
             for (int i = 0; i < stepback; i++) {
-                stringBuilderProfile.append(builder, data.getGap());
+                builder.append(data.getGap());
             }
         }
-        stringBuilderProfile.append(builder, close);
+        builder.append(close);
     }
 
     @TruffleBoundary
-    private void appendSeparator(StringBuilder builder, JSONData data, int indent) {
+    private static void appendSeparator(JSONStringifyOutput builder, JSONData data, int indent) {
         if (data.getGap().length() <= 0) {
-            stringBuilderProfile.append(builder, ',');
+            builder.append(',');
         } else {
-            stringBuilderProfile.append(builder, ",\n");
+            builder.append(",\n");
             for (int i = 0; i < indent; i++) {
-                stringBuilderProfile.append(builder, data.getGap());
+                builder.append(data.getGap());
             }
         }
     }
@@ -456,63 +533,71 @@ public abstract class JSONStringifyStringNode extends JavaScriptBaseNode {
     @TruffleBoundary
     public static void jsonQuote(StringBuilderProfile stringBuilderProfile, StringBuilder builder, String value) {
         stringBuilderProfile.append(builder, '"');
-        for (int i = 0; i < value.length();) {
-            char ch = value.charAt(i);
-            if (ch < ' ') {
-                if (ch == '\b') {
-                    stringBuilderProfile.append(builder, "\\b");
-                } else if (ch == '\f') {
-                    stringBuilderProfile.append(builder, "\\f");
-                } else if (ch == '\n') {
-                    stringBuilderProfile.append(builder, "\\n");
-                } else if (ch == '\r') {
-                    stringBuilderProfile.append(builder, "\\r");
-                } else if (ch == '\t') {
-                    stringBuilderProfile.append(builder, "\\t");
-                } else {
-                    jsonQuoteUnicode(stringBuilderProfile, builder, ch);
-                }
+        for (int i = 0; i < value.length(); i++) {
+            String escape = getEscape(value, i);
+            if (escape == null) {
+                stringBuilderProfile.append(builder, value.charAt(i));
             } else {
-                if (ch == '\\') {
-                    stringBuilderProfile.append(builder, "\\\\");
-                } else if (ch == '"') {
-                    stringBuilderProfile.append(builder, "\\\"");
-                } else if (Character.isSurrogate(ch)) {
-                    if (Character.isHighSurrogate(ch)) {
-                        char nextCh;
-                        if (i + 1 < value.length() && (Character.isLowSurrogate(nextCh = value.charAt(i + 1)))) {
-                            // paired surrogates
-                            stringBuilderProfile.append(builder, ch);
-                            stringBuilderProfile.append(builder, nextCh);
-                            i++;
-                        } else {
-                            // unpaired high surrogate
-                            jsonQuoteSurrogate(stringBuilderProfile, builder, ch);
-                        }
-                    } else {
-                        // unpaired low surrogate
-                        jsonQuoteSurrogate(stringBuilderProfile, builder, ch);
-                    }
-                } else {
-                    stringBuilderProfile.append(builder, ch);
-                }
+                stringBuilderProfile.append(builder, escape);
             }
-            i++;
         }
         stringBuilderProfile.append(builder, '"');
     }
 
-    private static void jsonQuoteUnicode(StringBuilderProfile profile, StringBuilder builder, char c) {
-        profile.append(builder, "\\u00");
-        profile.append(builder, Character.forDigit((c >> 4) & 0xF, 16));
-        profile.append(builder, Character.forDigit(c & 0xF, 16));
+    public static void jsonQuote(JSONStringifyOutput builder, String value) {
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            String escape = getEscape(value, i);
+            if (escape == null) {
+                builder.append(value.charAt(i));
+            } else {
+                builder.append(escape);
+            }
+        }
+        builder.append('"');
+    }
+
+    /**
+     * Returns the escape sequence of the character at {@code index}, or {@code null} if it is
+     * copied as is. Paired surrogates are copied, unpaired ones are escaped.
+     */
+    private static String getEscape(String value, int index) {
+        char ch = value.charAt(index);
+        if (ch < ' ') {
+            return CONTROL_ESCAPES[ch];
+        } else if (ch == '\\') {
+            return "\\\\";
+        } else if (ch == '"') {
+            return "\\\"";
+        } else if (Character.isHighSurrogate(ch)) {
+            if (index + 1 < value.length() && Character.isLowSurrogate(value.charAt(index + 1))) {
+                return null;
+            }
+            return jsonQuoteSurrogate(ch);
+        } else if (Character.isLowSurrogate(ch)) {
+            if (index > 0 && Character.isHighSurrogate(value.charAt(index - 1))) {
+                return null;
+            }
+            return jsonQuoteSurrogate(ch);
+        }
+        return null;
+    }
+
+    private static String[] createControlEscapes() {
+        String[] escapes = new String[' '];
+        for (char c = 0; c < ' '; c++) {
+            escapes[c] = "\\u00" + Character.forDigit((c >> 4) & 0xF, 16) + Character.forDigit(c & 0xF, 16);
+        }
+        escapes['\b'] = "\\b";
+        escapes['\f'] = "\\f";
+        escapes['\n'] = "\\n";
+        escapes['\r'] = "\\r";
+        escapes['\t'] = "\\t";
+        return escapes;
     }
 
-    private static void jsonQuoteSurrogate(StringBuilderProfile profile, StringBuilder builder, char c) {
-        profile.append(builder, "\\ud");
-        profile.append(builder, Character.forDigit((c >> 8) & 0xF, 16));
-        profile.append(builder, Character.forDigit((c >> 4) & 0xF, 16));
-        profile.append(builder, Character.forDigit(c & 0xF, 16));
+    private static String jsonQuoteSurrogate(char c) {
+        return "\\ud" + Character.forDigit((c >> 8) & 0xF, 16) + Character.forDigit((c >> 4) & 0xF, 16) + Character.forDigit(c & 0xF, 16);
     }
 
     private Object truffleGetSize(Object obj) {
@@ -47,6 +47,7 @@ import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.js.runtime.BigInt;
 import com.oracle.truffle.js.runtime.JSAgentWaiterList;
 import com.oracle.truffle.js.runtime.JSAgentWaiterList.JSAgentWaiterListEntry;
+import com.oracle.truffle.js.runtime.JSAgentWaiterList.Waiter;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.array.TypedArray;
@@ -100,7 +101,7 @@ public final class SharedMemorySync {
     // ##### Atomic CAS primitives
     @TruffleBoundary
     public static boolean compareAndSwapInt(JSContext cx, DynamicObject target, int intArrayOffset, int initial, int result) {
-        cx.getJSAgent().atomicSectionEnter(target);
+        cx.getJSAgent().atomicSectionEnter(target, intArrayOffset);
         try {
             int value = doVolatileGet(target, intArrayOffset);
             if (value == initial) {
@@ -109,13 +110,13 @@ public final class SharedMemorySync {
             }
             return false;
         } finally {
-            cx.getJSAgent().atomicSectionLeave(target);
+            cx.getJSAgent().atomicSectionLeave(target, intArrayOffset);
         }
     }
 
     @TruffleBoundary
     public static boolean compareAndSwapBigInt(JSContext cx, DynamicObject target, int intArrayOffset, BigInt initial, BigInt result) {
-        cx.getJSAgent().atomicSectionEnter(target);
+        cx.getJSAgent().atomicSectionEnter(target, intArrayOffset);
         try {
             BigInt value = doVolatileGetBigInt(target, intArrayOffset);
             if (value.compareTo(initial) == 0) {
@@ -124,25 +125,25 @@ public final class SharedMemorySync {
             }
             return false;
         } finally {
-            cx.getJSAgent().atomicSectionLeave(target);
+            cx.getJSAgent().atomicSectionLeave(target, intArrayOffset);
         }
     }
 
     // ##### Atomic Fetch-or-Get primitives
     @TruffleBoundary
     public static long atomicFetchOrGetUnsigned(JSContext cx, DynamicObject target, int intArrayOffset, Object expected, Object replacement) {
-        cx.getJSAgent().atomicSectionEnter(target);
+        cx.getJSAgent().atomicSectionEnter(target, intArrayOffset);
         long read = JSRuntime.toUInt32(doVolatileGet(target, intArrayOffset));
         if (read == JSRuntime.toUInt32(expected)) {
             doVolatilePut(target, intArrayOffset, (int) JSRuntime.toUInt32(replacement));
         }
-        cx.getJSAgent().atomicSectionLeave(target);
+        cx.getJSAgent().atomicSectionLeave(target, intArrayOffset);
         return read;
     }
 
     @TruffleBoundary
     public static long atomicFetchOrGetLong(JSContext cx, DynamicObject target, int intArrayOffset, long expected, long replacement) {
-        cx.getJSAgent().atomicSectionEnter(target);
+        cx.getJSAgent().atomicSectionEnter(target, intArrayOffset);
         try {
             int read = doVolatileGet(target, intArrayOffset);
             if (read == expected) {
@@ -150,13 +151,13 @@ public final class SharedMemorySync {
             }
             return read;
         } finally {
-            cx.getJSAgent().atomicSectionLeave(target);
+            cx.getJSAgent().atomicSectionLeave(target, intArrayOffset);
         }
     }
 
     @TruffleBoundary
     public static int atomicFetchOrGetInt(JSContext cx, DynamicObject target, int intArrayOffset, int expected, int replacement) {
-        cx.getJSAgent().atomicSectionEnter(target);
+        cx.getJSAgent().atomicSectionEnter(target, intArrayOffset);
         try {
             int read = doVolatileGet(target, intArrayOffset);
             if (read == expected) {
@@ -164,13 +165,13 @@ public final class SharedMemorySync {
             }
             return read;
         } finally {
-            cx.getJSAgent().atomicSectionLeave(target);
+            cx.getJSAgent().atomicSectionLeave(target, intArrayOffset);
         }
     }
 
     @TruffleBoundary
     public static int atomicFetchOrGetShort(JSContext cx, DynamicObject target, int intArrayOffset, int expected, int replacement, boolean sign) {
-        cx.getJSAgent().atomicSectionEnter(target);
+        cx.getJSAgent().atomicSectionEnter(target, intArrayOffset);
         int read = doVolatileGet(target, intArrayOffset);
         read = sign ? read : read & 0xFFFF;
         int expectedChopped = sign ? (short) expected : expected & 0xFFFF;
@@ -178,13 +179,13 @@ public final class SharedMemorySync {
             int signed = sign ? replacement : replacement & 0xFFFF;
             SharedMemorySync.doVolatilePut(target, intArrayOffset, (short) signed);
         }
-        cx.getJSAgent().atomicSectionLeave(target);
+        cx.getJSAgent().atomicSectionLeave(target, intArrayOffset);
         return read;
     }
 
     @TruffleBoundary
     public static int atomicFetchOrGetByte(JSContext cx, DynamicObject target, int intArrayOffset, int expected, int replacement, boolean sign) {
-        cx.getJSAgent().atomicSectionEnter(target);
+        cx.getJSAgent().atomicSectionEnter(target, intArrayOffset);
         try {
             int read = doVolatileGet(target, intArrayOffset);
             read = sign ? read : read & 0xFF;
@@ -195,13 +196,13 @@ public final class SharedMemorySync {
             }
             return read;
         } finally {
-            cx.getJSAgent().atomicSectionLeave(target);
+            cx.getJSAgent().atomicSectionLeave(target, intArrayOffset);
         }
     }
 
     @TruffleBoundary
     public static BigInt atomicFetchOrGetBigInt(JSContext cx, DynamicObject target, int intArrayOffset, BigInt expected, BigInt replacement) {
-        cx.getJSAgent().atomicSectionEnter(target);
+        cx.getJSAgent().atomicSectionEnter(target, intArrayOffset);
         try {
             BigInt read = doVolatileGetBigInt(target, intArrayOffset);
             if (read.compareTo(expected) == 0) {
@@ -209,7 +210,7 @@ public final class SharedMemorySync {
             }
             return read;
         } finally {
-            cx.getJSAgent().atomicSectionLeave(target);
+            cx.getJSAgent().atomicSectionLeave(target, intArrayOffset);
         }
     }
 
@@ -219,7 +220,7 @@ public final class SharedMemorySync {
     public static JSAgentWaiterListEntry getWaiterList(JSContext cx, DynamicObject target, int indexPos) {
         DynamicObject arrayBuffer = JSArrayBufferView.getArrayBuffer(target, JSArrayBufferView.isJSArrayBufferView(target));
         JSAgentWaiterList waiterList = JSSharedArrayBuffer.getWaiterList(arrayBuffer);
-        return waiterList.getListForIndex(indexPos);
+        return waiterList.getListForIndex(JSArrayBufferView.getByteIndex(target, indexPos));
     }
 
     @TruffleBoundary
@@ -238,14 +239,13 @@ public final class SharedMemorySync {
     }
 
     @TruffleBoundary
-    public static void addWaiter(JSContext cx, JSAgentWaiterListEntry wl, int id) {
+    public static Waiter addWaiter(JSContext cx, JSAgentWaiterListEntry wl) {
         assert cx.getJSAgent().inCriticalSection();
-        assert !wl.contains(id);
-        wl.add(id);
+        return wl.add(cx.getJSAgent().getSignifier());
     }
 
     @TruffleBoundary
-    public static void removeWaiter(JSContext cx, JSAgentWaiterListEntry wl, int w) {
+    public static void removeWaiter(JSContext cx, JSAgentWaiterListEntry wl, Waiter w) {
         assert cx.getJSAgent().inCriticalSection();
         assert wl.contains(w);
         wl.remove(w);
@@ -253,36 +253,37 @@ public final class SharedMemorySync {
 
     /* ECMA2017 24.4.1.9 - Suspend returns true if agent was woken by another agent */
     @TruffleBoundary
-    public static boolean suspendAgent(JSContext cx, JSAgentWaiterListEntry wl, int w, int timeout) {
+    public static boolean suspendAgent(JSContext cx, JSAgentWaiterListEntry wl, Waiter w, int timeout) {
         assert cx.getJSAgent().inCriticalSection();
         assert wl.contains(w);
-        assert cx.getJSAgent().getSignifier() == w;
+        assert cx.getJSAgent().getSignifier() == w.getSignifier();
         assert cx.getJSAgent().canBlock();
-        cx.getJSAgent().criticalSectionLeave(wl);
-        boolean interrupt = false;
-        try {
-            Thread.sleep(timeout);
-        } catch (InterruptedException e) {
-            interrupt = true;
-        }
-        cx.getJSAgent().criticalSectionEnter(wl);
-        return interrupt;
+        return cx.getJSAgent().suspend(wl, w, timeout);
     }
 
-    /* ECMA2017 24.4.1.10 - Wake up another agent */
+    /**
+     * ECMA2017 24.4.1.10 - Wake up another agent. The waiters have already been marked as notified
+     * in the critical section, so this is called after leaving it.
+     */
     @TruffleBoundary
-    public static void wakeWaiter(JSContext cx, int w) {
-        assert cx.getJSAgent().inCriticalSection();
-        cx.getJSAgent().wakeAgent(w);
+    public static void wakeWaiters(Waiter[] waiters) {
+        for (Waiter w : waiters) {
+            w.unpark();
+        }
     }
 
+    /**
+     * Removes up to {@code count} waiters from the waiter list and marks them as notified.
+     */
     @TruffleBoundary
-    public static int[] removeWaiters(JSContext cx, JSAgentWaiterListEntry wl, int count) {
+    public static Waiter[] removeWaiters(JSContext cx, JSAgentWaiterListEntry wl, int count) {
         assert cx.getJSAgent().inCriticalSection();
         int c = Integer.min(wl.size(), count);
-        int[] removed = new int[c];
-        while (c-- > 0) {
-            removed[c] = wl.poll();
+        Waiter[] removed = new Waiter[c];
+        for (int i = 0; i < c; i++) {
+            Waiter w = wl.poll();
+            w.setNotified();
+            removed[i] = w;
         }
         return removed;
     }
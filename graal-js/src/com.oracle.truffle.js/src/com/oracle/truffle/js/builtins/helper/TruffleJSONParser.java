@@ -40,21 +40,30 @@
  */
 package com.oracle.truffle.js.builtins.helper;
 
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
 import com.oracle.js.parser.ParserException;
 import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.Shape;
+import com.oracle.truffle.js.nodes.access.ArrayLiteralNode;
+import com.oracle.truffle.js.nodes.access.ArrayLiteralNode.ArrayContentType;
 import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.JSConfig;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSException;
 import com.oracle.truffle.js.runtime.JSRuntime;
-import com.oracle.truffle.js.runtime.array.ScriptArray;
-import com.oracle.truffle.js.runtime.builtins.JSAbstractArray;
 import com.oracle.truffle.js.runtime.builtins.JSArray;
 import com.oracle.truffle.js.runtime.builtins.JSUserObject;
+import com.oracle.truffle.js.runtime.objects.JSAttributes;
+import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
 import com.oracle.truffle.js.runtime.objects.Null;
 
 public class TruffleJSONParser {
 
     protected final JSContext context;
+    private final JSONParseSiteCache siteCache;
     protected int pos;
     protected int len;
     protected String parseStr;
@@ -64,11 +73,21 @@ public class TruffleJSONParser {
     protected static final char[] BooleanTrueLiteral = new char[]{'t', 'r', 'u', 'e'};
     protected static final char[] BooleanFalseLiteral = new char[]{'f', 'a', 'l', 's', 'e'};
     protected static final int MAX_PARSE_DEPTH = 100000;
+    protected static final int INITIAL_ARRAY_CAPACITY = 8;
 
     private static final String MALFORMED_NUMBER = "malformed number";
 
+    /** Snapshot of the site cache's key predictions, copied on first write. */
+    private Map<Shape, String> keyPredictions;
+    private boolean keyPredictionsChanged;
+
     public TruffleJSONParser(JSContext context) {
+        this(context, null);
+    }
+
+    public TruffleJSONParser(JSContext context, JSONParseSiteCache siteCache) {
         this.context = context;
+        this.siteCache = siteCache;
     }
 
     public Object parse(String value) {
@@ -76,6 +95,10 @@ public class TruffleJSONParser {
         this.parseDepth = 0;
         this.parseStr = value;
         this.len = parseStr.length();
+        if (siteCache != null) {
+            this.keyPredictions = siteCache.getKeyPredictions();
+            this.keyPredictionsChanged = false;
+        }
         try {
             skipWhitespace();
             Object result = parseJSONValue();
@@ -94,6 +117,11 @@ public class TruffleJSONParser {
             throwSyntaxError(null);
         } finally {
             parseStr = null;
+            if (keyPredictionsChanged) {
+                siteCache.setKeyPredictions(keyPredictions);
+                keyPredictionsChanged = false;
+            }
+            keyPredictions = null;
         }
         return null;
     }
@@ -156,22 +184,81 @@ public class TruffleJSONParser {
     }
 
     private void parseJSONMemberList(DynamicObject object) {
-        Member member = parseJSONMember();
-        JSRuntime.createDataProperty(object, member.getKey(), member.getValue());
+        parseJSONMember(object);
         while (get() == ',') {
             skipChar(',');
             skipWhitespace();
-            member = parseJSONMember();
-            JSRuntime.createDataProperty(object, member.getKey(), member.getValue());
+            parseJSONMember(object);
         }
     }
 
-    private Member parseJSONMember() {
-        String jsonString = parseJSONString();
+    private void parseJSONMember(DynamicObject object) {
+        Shape shape = object.getShape();
+        String jsonString = parseJSONMemberKey(shape);
         expectChar(':');
         skipWhitespace();
         Object jsonValue = parseJSONValue();
-        return new Member(jsonString, jsonValue);
+        addJSONMember(object, shape, jsonString, jsonValue);
+    }
+
+    /**
+     * Parses a member key. If the site cache predicts the key that usually follows the current
+     * shape, and the input matches it, the cached key string is reused without copying.
+     */
+    private String parseJSONMemberKey(Shape shape) {
+        if (keyPredictions != null && isStringQuote(get())) {
+            String predicted = keyPredictions.get(shape);
+            if (predicted != null && isPredictedKeyAt(predicted, pos + 1)) {
+                pos += predicted.length() + 2;
+                skipWhitespace();
+                return predicted;
+            }
+        }
+        return parseJSONString();
+    }
+
+    private boolean isPredictedKeyAt(String key, int keyStart) {
+        int keyEnd = keyStart + key.length();
+        return keyEnd < len && parseStr.charAt(keyEnd) == '"' && parseStr.regionMatches(keyStart, key, 0, key.length());
+    }
+
+    private void addJSONMember(DynamicObject object, Shape shape, String key, Object value) {
+        if (shape.getPropertyCount() < JSConfig.DictionaryObjectThreshold && !shape.hasProperty(key)) {
+            // fresh ordinary object, new key: plain shape transition
+            JSObjectUtil.putDataProperty(context, object, key, value, JSAttributes.getDefault());
+            recordKeyPrediction(shape, key);
+        } else {
+            JSRuntime.createDataProperty(object, key, value);
+        }
+    }
+
+    private void recordKeyPrediction(Shape shape, String key) {
+        if (keyPredictions == null || keyPredictions.get(shape) == key || !isPredictableKey(key)) {
+            return;
+        }
+        if (!keyPredictionsChanged) {
+            if (keyPredictions.size() >= JSONParseSiteCache.MAX_KEY_PREDICTIONS) {
+                return;
+            }
+            keyPredictions = new IdentityHashMap<>(keyPredictions);
+            keyPredictionsChanged = true;
+        }
+        if (keyPredictions.size() < JSONParseSiteCache.MAX_KEY_PREDICTIONS || keyPredictions.containsKey(shape)) {
+            keyPredictions.put(shape, key);
+        }
+    }
+
+    /**
+     * Only keys that appear verbatim in the source (no escapes needed) can be matched directly.
+     */
+    private static boolean isPredictableKey(String key) {
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c < ' ' || c == '"' || c == '\\') {
+                return false;
+            }
+        }
+        return true;
     }
 
     private Object parseJSONArray() {
@@ -179,12 +266,14 @@ public class TruffleJSONParser {
         incDepth();
         skipChar('[');
         skipWhitespace();
-        DynamicObject array = JSArray.createEmptyZeroLength(context);
+        DynamicObject array;
         if (get() != ']') {
-            parseJSONElementList(array);
+            array = parseJSONElementList();
             if (get() != ']') {
                 error("closing quote ] expected");
             }
+        } else {
+            array = JSArray.createEmptyZeroLength(context);
         }
         skipChar(']');
         skipWhitespace();
@@ -211,18 +300,34 @@ public class TruffleJSONParser {
         this.parseDepth--;
     }
 
-    protected ScriptArray parseJSONElementList(DynamicObject arrayObject) {
-        int index = 0;
-        ScriptArray scriptArray = JSAbstractArray.arrayGetArrayType(arrayObject);
-        scriptArray = scriptArray.setElement(arrayObject, index, parseJSONValue(), false);
+    protected DynamicObject parseJSONElementList() {
+        Object[] elements = new Object[INITIAL_ARRAY_CAPACITY];
+        int length = 0;
+        elements[length++] = parseJSONValue();
         while (get() == ',') {
             skipChar(',');
             skipWhitespace();
-            index++;
-            scriptArray = scriptArray.setElement(arrayObject, index, parseJSONValue(), false);
+            if (length == elements.length) {
+                elements = Arrays.copyOf(elements, length + (length >> 1));
+            }
+            elements[length++] = parseJSONValue();
+        }
+        return createArray(length == elements.length ? elements : Arrays.copyOf(elements, length));
+    }
+
+    /**
+     * Creates the array with the final storage type right away, so that homogeneous numeric arrays
+     * do not go through element-wise type transitions.
+     */
+    private DynamicObject createArray(Object[] elements) {
+        ArrayContentType type = ArrayLiteralNode.identifyPrimitiveContentType(elements, false);
+        if (type == ArrayContentType.Integer) {
+            return JSArray.createZeroBasedIntArray(context, ArrayLiteralNode.createIntArray(elements));
+        } else if (type == ArrayContentType.Double) {
+            return JSArray.createZeroBasedDoubleArray(context, ArrayLiteralNode.createDoubleArray(elements));
+        } else {
+            return JSArray.createZeroBasedObjectArray(context, elements);
         }
-        JSAbstractArray.arraySetArrayType(arrayObject, scriptArray);
-        return scriptArray;
     }
 
     protected String parseJSONString() {
@@ -577,22 +682,4 @@ public class TruffleJSONParser {
         }
         return true;
     }
-
-    protected final class Member {
-        private final String key;
-        private final Object value;
-
-        public Member(String key, Object value) {
-            this.key = key;
-            this.value = value;
-        }
-
-        public String getKey() {
-            return key;
-        }
-
-        public Object getValue() {
-            return value;
-        }
-    }
 }
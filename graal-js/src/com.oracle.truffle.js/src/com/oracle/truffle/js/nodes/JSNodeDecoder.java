@@ -296,14 +296,17 @@ public class JSNodeDecoder {
                     }
                     JSFunctionData functionData = (JSFunctionData) state.getObject();
                     final Object[] arguments = getObjectArray(state);
+                    // Only capture the (shared) snapshot buffer and the arguments, not the
+                    // enclosing decoder state, so that the registers of the enclosing function
+                    // do not stay reachable until this function is called.
+                    final ByteBuffer snapshot = state.getBuffer();
                     functionData.setLazyInit(new JSFunctionData.Initializer() {
-                        private final ByteBuffer buffer = ((ByteBuffer) asBaseBuffer(state.getBuffer().duplicate()).position(position));
-
                         @Override
                         public void initializeRoot(JSFunctionData fd) {
                             if (VERBOSE) {
                                 System.out.println("Decoding: " + fd.getName());
                             }
+                            ByteBuffer buffer = ((ByteBuffer) asBaseBuffer(snapshot.duplicate()).position(position));
                             NodeDecoder.DecoderState extracted = new NodeDecoder.DecoderState(new BinaryDecoder(buffer), arguments);
                             decodeNode(extracted, nodeFactory, context, source);
                         }
@@ -1121,6 +1121,15 @@ public abstract class PropertyCacheNode<T extends PropertyCacheNode.CacheNode<T>
 
     protected abstract T createTruffleObjectPropertyNode();
 
+    /**
+     * Creates a cache node for a property access on a {@link JSDictionaryObject} receiver, or
+     * returns {@code null} if the access should go to the generic case.
+     */
+    @SuppressWarnings("unused")
+    protected T createDictionaryObjectPropertyNode(DynamicObject store) {
+        return null;
+    }
+
     @TruffleBoundary
     protected T specialize(Object thisObj) {
         return specialize(thisObj, null);
@@ -1215,7 +1224,12 @@ public abstract class PropertyCacheNode<T extends PropertyCacheNode.CacheNode<T>
             Shape cacheShape = store.getShape();
 
             if (JSConfig.DictionaryObject && JSDictionaryObject.isJSDictionaryObject(store)) {
-                // TODO: could probably specialize on shape as well.
+                if (depth == 0 && store == thisObj && !(key instanceof HiddenKey)) {
+                    specialized = createDictionaryObjectPropertyNode(store);
+                    if (specialized != null) {
+                        break;
+                    }
+                }
                 return rewriteToGeneric(currentHead, cachedCount, "dictionary object");
             }
 
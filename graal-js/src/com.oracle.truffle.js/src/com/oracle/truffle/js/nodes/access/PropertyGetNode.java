@@ -95,6 +95,7 @@ import com.oracle.truffle.js.runtime.builtins.JSAdapter;
 import com.oracle.truffle.js.runtime.builtins.JSArray;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
 import com.oracle.truffle.js.runtime.builtins.JSClass;
+import com.oracle.truffle.js.runtime.builtins.JSDictionaryObject;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.builtins.JSFunctionData;
 import com.oracle.truffle.js.runtime.builtins.JSModuleNamespace;
@@ -109,6 +110,7 @@ import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSProperty;
 import com.oracle.truffle.js.runtime.objects.JSShape;
 import com.oracle.truffle.js.runtime.objects.Null;
+import com.oracle.truffle.js.runtime.objects.PropertyDescriptor;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.JSClassProfile;
 import com.oracle.truffle.js.runtime.util.TRegexUtil;
@@ -357,6 +359,39 @@ public class PropertyGetNode extends PropertyCacheNode<PropertyGetNode.GetCacheN
         }
     }
 
+    /**
+     * Looks up the property in the hash map of a {@link JSDictionaryObject} receiver, avoiding the
+     * generic case for objects used as hash maps. Properties not found in the dictionary are
+     * looked up in the usual way.
+     */
+    public static final class DictionaryObjectPropertyGetNode extends LinkedPropertyGetNode {
+        @Child private GetPropertyFromJSObjectNode getFallbackNode;
+        private final BranchProfile notFoundBranch = BranchProfile.create();
+        private final BranchProfile descriptorBranch = BranchProfile.create();
+
+        public DictionaryObjectPropertyGetNode(ReceiverCheckNode receiverCheck) {
+            super(receiverCheck);
+        }
+
+        @Override
+        protected Object getValue(Object thisObj, Object receiver, Object defaultValue, PropertyGetNode root, boolean guard) {
+            DynamicObject store = receiverCheck.getStore(thisObj);
+            Object entry = JSDictionaryObject.getOwnEntry(store, root.getKey());
+            if (entry == null) {
+                notFoundBranch.enter();
+                if (getFallbackNode == null) {
+                    CompilerDirectives.transferToInterpreterAndInvalidate();
+                    getFallbackNode = insert(GetPropertyFromJSObjectNode.create(root));
+                }
+                return getFallbackNode.executeWithJSObject(store, receiver, defaultValue, root);
+            } else if (entry instanceof PropertyDescriptor) {
+                descriptorBranch.enter();
+                return JSDictionaryObject.getValue((PropertyDescriptor) entry, receiver);
+            }
+            return entry;
+        }
+    }
+
     protected abstract static class AbstractFinalDataPropertyGetNode extends LinkedPropertyGetNode {
         private final Assumption finalAssumption;
 
@@ -1800,4 +1835,12 @@ public class PropertyGetNode extends PropertyCacheNode<PropertyGetNode.GetCacheN
     protected GetCacheNode createTruffleObjectPropertyNode() {
         return new ForeignPropertyGetNode(key, isMethod(), isGlobal(), context);
     }
+
+    @Override
+    protected GetCacheNode createDictionaryObjectPropertyNode(DynamicObject store) {
+        if (isGlobal() || isOwnProperty()) {
+            return null;
+        }
+        return new DictionaryObjectPropertyGetNode(new ShapeCheckNode(store.getShape()));
+    }
 }
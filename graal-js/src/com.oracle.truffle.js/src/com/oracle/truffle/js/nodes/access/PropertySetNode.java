@@ -82,6 +82,7 @@ import com.oracle.truffle.js.runtime.Symbol;
 import com.oracle.truffle.js.runtime.builtins.JSAdapter;
 import com.oracle.truffle.js.runtime.builtins.JSArray;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
+import com.oracle.truffle.js.runtime.builtins.JSDictionaryObject;
 import com.oracle.truffle.js.runtime.builtins.JSGlobalObject;
 import com.oracle.truffle.js.runtime.builtins.JSProxy;
 import com.oracle.truffle.js.runtime.objects.Accessor;
@@ -963,6 +964,30 @@ public class PropertySetNode extends PropertyCacheNode<PropertySetNode.SetCacheN
         }
     }
 
+    /**
+     * Updates existing plain data properties in the hash map of a {@link JSDictionaryObject}
+     * receiver, avoiding the generic case for objects used as hash maps. Everything else is
+     * handled by the generic set operation.
+     */
+    public static final class DictionaryObjectPropertySetNode extends LinkedPropertySetNode {
+        private final JSClassProfile jsclassProfile = JSClassProfile.create();
+        private final BranchProfile slowBranch = BranchProfile.create();
+
+        public DictionaryObjectPropertySetNode(ReceiverCheckNode receiverCheckNode) {
+            super(receiverCheckNode);
+        }
+
+        @Override
+        protected boolean setValue(Object thisObj, Object value, Object receiver, PropertySetNode root, boolean guard) {
+            DynamicObject store = receiverCheck.getStore(thisObj);
+            if (receiver != store || !JSDictionaryObject.setOwnPlainValue(store, root.getKey(), value)) {
+                slowBranch.enter();
+                JSObject.setWithReceiver(store, root.getKey(), value, receiver, root.isStrict(), jsclassProfile);
+            }
+            return true;
+        }
+    }
+
     public static final class JSProxyDispatcherPropertySetNode extends LinkedPropertySetNode {
         @Child private JSProxyPropertySetNode proxySet;
 
@@ -1403,6 +1428,14 @@ public class PropertySetNode extends PropertyCacheNode<PropertySetNode.SetCacheN
         return new ForeignPropertySetNode(context);
     }
 
+    @Override
+    protected SetCacheNode createDictionaryObjectPropertyNode(DynamicObject store) {
+        if (isGlobal() || isOwnProperty()) {
+            return null;
+        }
+        return new DictionaryObjectPropertySetNode(new ShapeCheckNode(store.getShape()));
+    }
+
     @TruffleBoundary
     protected void globalPropertySetInStrictMode(Object thisObj) {
         assert JSObject.isDynamicObject(thisObj) && context.getRealm().getGlobalObject() == thisObj;
@@ -80,6 +80,7 @@ import com.oracle.truffle.js.runtime.builtins.JSFunction;
 import com.oracle.truffle.js.runtime.builtins.JSProxy;
 import com.oracle.truffle.js.runtime.java.JavaAccess;
 import com.oracle.truffle.js.runtime.java.JavaPackage;
+import com.oracle.truffle.js.runtime.java.adapter.JavaAdapterFactory;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.truffleinterop.JSInteropUtil;
@@ -250,7 +251,7 @@ public abstract class JSNewNode extends JavaScriptNode {
         }
         // Equivalent to Java.extend(type)
         JavaAccess.checkAccess(new Class<?>[]{type}, context);
-        Class<?> adapterClass = context.getJavaAdapterClassFor(type);
+        Class<?> adapterClass = JavaAdapterFactory.getAdapterClassFor(type);
         return env.asHostSymbol(adapterClass);
     }
 
@@ -41,21 +41,28 @@
 package com.oracle.truffle.js.nodes.interop;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.CachedLanguage;
 import com.oracle.truffle.api.dsl.GenerateUncached;
 import com.oracle.truffle.api.dsl.ImportStatic;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.interop.TruffleObject;
 import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.HiddenKey;
 import com.oracle.truffle.js.lang.JavaScriptLanguage;
 import com.oracle.truffle.js.nodes.JSGuards;
 import com.oracle.truffle.js.nodes.JavaScriptBaseNode;
+import com.oracle.truffle.js.nodes.access.PropertyGetNode;
+import com.oracle.truffle.js.nodes.access.PropertySetNode;
 import com.oracle.truffle.js.runtime.BigInt;
 import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.SafeInteger;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
+import com.oracle.truffle.js.runtime.builtins.JSProxy;
 import com.oracle.truffle.js.runtime.objects.JSLazyString;
+import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.truffleinterop.InteropAsyncFunction;
 import com.oracle.truffle.js.runtime.truffleinterop.InteropBoundFunction;
@@ -97,8 +104,9 @@ public abstract class ExportValueNode extends JavaScriptBaseNode {
 
     @Specialization(guards = {"isJSFunction(function)", "bindFunctions", "!isUndefined(thiz)", "!isBoundJSFunction(function)", "!isInteropCompletePromises(language) || !isAsyncFunction(function)"})
     protected static TruffleObject doBindUnboundFunction(DynamicObject function, Object thiz, @SuppressWarnings("unused") boolean bindFunctions,
-                    @CachedLanguage @SuppressWarnings("unused") JavaScriptLanguage language) {
-        return new InteropBoundFunction(function, thiz);
+                    @CachedLanguage @SuppressWarnings("unused") JavaScriptLanguage language,
+                    @Cached(value = "createBindMemberFunctionNode(language)", uncached = "getUncachedBindMemberFunctionNode()") BindMemberFunctionNode bindNode) {
+        return bindNode.bind(function, thiz);
     }
 
     @Specialization(guards = {"isJSFunction(function)", "bindFunctions", "isBoundJSFunction(function)", "!isInteropCompletePromises(language) || !isAsyncFunction(function)"})
@@ -167,4 +175,49 @@ public abstract class ExportValueNode extends JavaScriptBaseNode {
     public static ExportValueNode create() {
         return ExportValueNodeGen.create();
     }
+
+    static BindMemberFunctionNode createBindMemberFunctionNode(JavaScriptLanguage language) {
+        return BindMemberFunctionNode.create(language.getJSContext());
+    }
+
+    static BindMemberFunctionNode getUncachedBindMemberFunctionNode() {
+        return BindMemberFunctionNode.UNCACHED;
+    }
+
+    /**
+     * Binds a member function to its receiver, reusing the function bound by the previous read of
+     * the same member. The bound function is kept in a hidden property of the receiver, so it lives
+     * as long as the receiver and is read via the receiver's shape. Only the most recently bound
+     * member is kept; reading another member (or the member after it has been reassigned) binds
+     * anew. The uncached node always binds anew.
+     */
+    static final class BindMemberFunctionNode extends JavaScriptBaseNode {
+        static final HiddenKey BOUND_FUNCTION_KEY = new HiddenKey("InteropBoundFunction");
+        static final BindMemberFunctionNode UNCACHED = new BindMemberFunctionNode(null, null);
+
+        @Child private PropertyGetNode getBoundFunction;
+        @Child private PropertySetNode setBoundFunction;
+
+        private BindMemberFunctionNode(PropertyGetNode getBoundFunction, PropertySetNode setBoundFunction) {
+            this.getBoundFunction = getBoundFunction;
+            this.setBoundFunction = setBoundFunction;
+        }
+
+        static BindMemberFunctionNode create(JSContext context) {
+            return new BindMemberFunctionNode(PropertyGetNode.createGetHidden(BOUND_FUNCTION_KEY, context), PropertySetNode.createSetHidden(BOUND_FUNCTION_KEY, context));
+        }
+
+        TruffleObject bind(DynamicObject function, Object receiver) {
+            if (getBoundFunction == null || !JSObject.isJSObject(receiver) || JSProxy.isProxy(receiver)) {
+                return new InteropBoundFunction(function, receiver);
+            }
+            Object previous = getBoundFunction.getValue(receiver);
+            if (previous instanceof InteropBoundFunction && ((InteropBoundFunction) previous).getFunction() == function) {
+                return (InteropBoundFunction) previous;
+            }
+            InteropBoundFunction bound = new InteropBoundFunction(function, receiver);
+            setBoundFunction.setValue(receiver, bound);
+            return bound;
+        }
+    }
 }
@@ -70,7 +70,7 @@ public abstract class JSInteropInvokeNode extends JSInteropCallNode {
 
     public abstract Object execute(DynamicObject receiver, String name, Object[] arguments) throws UnknownIdentifierException, UnsupportedMessageException;
 
-    @Specialization(guards = {"cachedName.equals(name)"}, limit = "1")
+    @Specialization(guards = {"cachedName.equals(name)"}, limit = "3")
     Object doCached(DynamicObject receiver, @SuppressWarnings("unused") String name, Object[] arguments,
                     @Cached("name") String cachedName,
                     @CachedLanguage @SuppressWarnings("unused") LanguageReference<JavaScriptLanguage> languageRef,
@@ -54,41 +54,56 @@ import com.oracle.truffle.api.library.ExportMessage;
 import com.oracle.truffle.js.lang.JavaScriptLanguage;
 import com.oracle.truffle.js.runtime.truffleinterop.JSMetaType;
 
+/**
+ * BigInt value. Values that fit into a {@code long} are stored as a {@code long} ("small"), all
+ * other values as a {@link BigInteger}. The representation is normalized, i.e., a value is stored
+ * as a {@link BigInteger} only if it does not fit into a {@code long}. Operations on small values
+ * are performed on {@code long}s and promoted to {@link BigInteger} on overflow.
+ */
 @ExportLibrary(InteropLibrary.class)
 @ValueType
 public final class BigInt implements Comparable<BigInt>, TruffleObject {
 
     static final long serialVersionUID = 6019523258212492110L;
 
+    /** The value if it fits into a long; only valid if {@link #value} is null. */
+    private final long smallValue;
+    /** The value if it does not fit into a long, otherwise null. */
     private final BigInteger value;
 
-    public static final BigInt ZERO = new BigInt(BigInteger.ZERO);
-    public static final BigInt ONE = new BigInt(BigInteger.ONE);
-    public static final BigInt NEGATIVE_ONE = new BigInt(BigInteger.valueOf(-1));
-    public static final BigInt TWO = new BigInt(BigInteger.valueOf(2));
+    public static final BigInt ZERO = new BigInt(0L);
+    public static final BigInt ONE = new BigInt(1L);
+    public static final BigInt NEGATIVE_ONE = new BigInt(-1L);
+    public static final BigInt TWO = new BigInt(2L);
 
-    public static final BigInt MAX_INT = new BigInt(BigInteger.valueOf(Integer.MAX_VALUE));
-    public static final BigInt MIN_INT = new BigInt(BigInteger.valueOf(Integer.MIN_VALUE));
+    public static final BigInt MAX_INT = new BigInt((long) Integer.MAX_VALUE);
+    public static final BigInt MIN_INT = new BigInt((long) Integer.MIN_VALUE);
 
     private static final BigInteger TWO64 = BigInteger.ONE.shiftLeft(64);
 
     public BigInt(String s, int r) {
-        this.value = new BigInteger(s, r);
+        this(new BigInteger(s, r));
     }
 
+    @TruffleBoundary
     public BigInt(BigInteger v) {
-        this.value = v;
+        if (v.bitLength() < Long.SIZE) {
+            this.smallValue = v.longValue();
+            this.value = null;
+        } else {
+            this.smallValue = 0;
+            this.value = v;
+        }
+    }
+
+    private BigInt(long smallValue) {
+        this.smallValue = smallValue;
+        this.value = null;
     }
 
     @TruffleBoundary
     public static BigInt fromBigInteger(BigInteger value) {
-        if (value.equals(BigInteger.ZERO)) {
-            return ZERO;
-        } else if (value.equals(BigInteger.ONE)) {
-            return ONE;
-        } else {
-            return new BigInt(value);
-        }
+        return new BigInt(value);
     }
 
     @TruffleBoundary
@@ -96,20 +111,23 @@ public final class BigInt implements Comparable<BigInt>, TruffleObject {
         return new BigInt(parseBigInteger(s));
     }
 
-    @TruffleBoundary
     public static BigInt valueOf(long i) {
-        return new BigInt(BigInteger.valueOf(i));
+        return new BigInt(i);
     }
 
-    @TruffleBoundary
     public static BigInt valueOfUnsigned(long i) {
         if (i >= 0) {
-            return new BigInt(BigInteger.valueOf(i));
+            return new BigInt(i);
         } else {
-            return new BigInt(BigInteger.valueOf(i).mod(TWO64));
+            return unsignedToBigInt(i);
         }
     }
 
+    @TruffleBoundary
+    private static BigInt unsignedToBigInt(long i) {
+        return new BigInt(BigInteger.valueOf(i).mod(TWO64));
+    }
+
     @TruffleBoundary
     private static BigInteger parseBigInteger(final String valueString) {
 
@@ -141,49 +159,97 @@ public final class BigInt implements Comparable<BigInt>, TruffleObject {
         return new BigInteger(trimmedString, 10);
     }
 
-    @TruffleBoundary
+    /**
+     * Returns {@code true} if the value fits into a {@code long}.
+     */
+    public boolean isSmall() {
+        return value == null;
+    }
+
     public int intValue() {
-        return value.intValue();
+        if (value == null) {
+            return (int) smallValue;
+        }
+        return bigIntValue();
     }
 
     @TruffleBoundary
+    private int bigIntValue() {
+        return value.intValue();
+    }
+
     public double doubleValue() {
+        if (value == null) {
+            return smallValue;
+        }
+        return bigDoubleValue();
+    }
+
+    @TruffleBoundary
+    private double bigDoubleValue() {
         return value.doubleValue();
     }
 
+    @TruffleBoundary
     public BigInteger bigIntegerValue() {
-        return value;
+        return value == null ? BigInteger.valueOf(smallValue) : value;
     }
 
-    @TruffleBoundary
     public BigInt toBigInt64() {
-        return valueOf(value.longValue());
+        if (value == null) {
+            return this;
+        }
+        return valueOf(longValue());
     }
 
-    @TruffleBoundary
     public BigInt toBigUint64() {
-        return new BigInt(value.mod(TWO64));
+        if (value == null && smallValue >= 0) {
+            return this;
+        }
+        return toBigUint64Slow();
     }
 
     @TruffleBoundary
-    public BigInt pow(int e) {
-        return new BigInt(value.pow(e));
+    private BigInt toBigUint64Slow() {
+        return new BigInt(bigIntegerValue().mod(TWO64));
     }
 
     @TruffleBoundary
+    public BigInt pow(int e) {
+        return new BigInt(bigIntegerValue().pow(e));
+    }
+
     public BigInt mod(BigInt m) {
-        return new BigInt(value.mod(m.value));
+        if (value == null && m.value == null && m.smallValue > 0) {
+            return new BigInt(Math.floorMod(smallValue, m.smallValue));
+        }
+        return modSlow(m);
     }
 
-    @Override
     @TruffleBoundary
+    private BigInt modSlow(BigInt m) {
+        return new BigInt(bigIntegerValue().mod(m.bigIntegerValue()));
+    }
+
+    @Override
     public int compareTo(BigInt b) {
-        return value.compareTo(b.value);
+        if (value == null && b.value == null) {
+            return Long.compare(smallValue, b.smallValue);
+        }
+        return compareToSlow(b);
     }
 
     @TruffleBoundary
+    private int compareToSlow(BigInt b) {
+        return bigIntegerValue().compareTo(b.bigIntegerValue());
+    }
+
     public int compareValueTo(long b) {
-        return value.compareTo(BigInteger.valueOf(b));
+        if (value == null) {
+            return Long.compare(smallValue, b);
+        }
+        // a value that does not fit into a long is beyond any long
+        return signum();
     }
 
     @TruffleBoundary
@@ -196,133 +262,267 @@ public final class BigInt implements Comparable<BigInt>, TruffleObject {
         } else if (b == Double.NEGATIVE_INFINITY) {
             return 1;
         } else {
-            BigDecimal thisValue = new BigDecimal(value);
+            BigDecimal thisValue = new BigDecimal(bigIntegerValue());
             BigDecimal theOtherValue = new BigDecimal(b);
             return thisValue.compareTo(theOtherValue);
         }
     }
 
-    @TruffleBoundary
     public BigInt subtract(BigInt b) {
-        return new BigInt(value.subtract(b.value));
+        if (value == null && b.value == null) {
+            long x = smallValue;
+            long y = b.smallValue;
+            long r = x - y;
+            if (((x ^ y) & (x ^ r)) >= 0) {
+                return new BigInt(r);
+            }
+        }
+        return subtractSlow(b);
     }
 
     @TruffleBoundary
+    private BigInt subtractSlow(BigInt b) {
+        return new BigInt(bigIntegerValue().subtract(b.bigIntegerValue()));
+    }
+
     public BigInt add(BigInt b) {
-        return new BigInt(value.add(b.value));
+        if (value == null && b.value == null) {
+            long x = smallValue;
+            long y = b.smallValue;
+            long r = x + y;
+            if (((x ^ r) & (y ^ r)) >= 0) {
+                return new BigInt(r);
+            }
+        }
+        return addSlow(b);
+    }
+
+    @TruffleBoundary
+    private BigInt addSlow(BigInt b) {
+        return new BigInt(bigIntegerValue().add(b.bigIntegerValue()));
     }
 
     @TruffleBoundary
     public String toString(int radix) {
+        if (value == null) {
+            return Long.toString(smallValue, radix);
+        }
         return value.toString(radix);
     }
 
-    @TruffleBoundary
     public boolean testBit(int n) {
-        return value.testBit(n);
+        if (value == null && n >= 0) {
+            return n >= Long.SIZE ? smallValue < 0 : ((smallValue >> n) & 1) != 0;
+        }
+        return testBitSlow(n);
+    }
+
+    @TruffleBoundary
+    private boolean testBitSlow(int n) {
+        return bigIntegerValue().testBit(n);
     }
 
     @TruffleBoundary(allowInlining = true)
     public int signum() {
+        if (value == null) {
+            return Long.signum(smallValue);
+        }
         return value.signum();
     }
 
-    @TruffleBoundary
     public BigInt negate() {
-        return new BigInt(value.negate());
+        if (value == null && smallValue != Long.MIN_VALUE) {
+            return new BigInt(-smallValue);
+        }
+        return negateSlow();
     }
 
     @TruffleBoundary
+    private BigInt negateSlow() {
+        return new BigInt(bigIntegerValue().negate());
+    }
+
     public BigInt not() {
+        if (value == null) {
+            return new BigInt(~smallValue);
+        }
+        return notSlow();
+    }
+
+    @TruffleBoundary
+    private BigInt notSlow() {
         return new BigInt(value.not());
     }
 
     @Override
-    @TruffleBoundary
     public int hashCode() {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result + ((value == null) ? 0 : value.hashCode());
-        return result;
+        if (value == null) {
+            return Long.hashCode(smallValue);
+        }
+        return bigHashCode();
     }
 
-    @Override
     @TruffleBoundary
+    private int bigHashCode() {
+        return value.hashCode();
+    }
+
+    @Override
     public boolean equals(Object obj) {
         if (this == obj) {
             return true;
         }
-        if (obj == null) {
-            return false;
-        }
-        if (getClass() != obj.getClass()) {
+        if (!(obj instanceof BigInt)) {
             return false;
         }
         BigInt other = (BigInt) obj;
-        if (value == null) {
-            if (other.value != null) {
-                return false;
-            }
-        } else if (!value.equals(other.value)) {
-            return false;
+        if (value == null || other.value == null) {
+            // the representation is normalized
+            return value == other.value && smallValue == other.smallValue;
         }
-        return true;
+        return bigEquals(other.value);
     }
 
     @TruffleBoundary
+    private boolean bigEquals(BigInteger other) {
+        return value.equals(other);
+    }
+
     public BigInt and(BigInt b) {
-        return new BigInt(value.and(b.value));
+        if (value == null && b.value == null) {
+            return new BigInt(smallValue & b.smallValue);
+        }
+        return andSlow(b);
     }
 
     @TruffleBoundary
+    private BigInt andSlow(BigInt b) {
+        return new BigInt(bigIntegerValue().and(b.bigIntegerValue()));
+    }
+
     public BigInt or(BigInt b) {
-        return new BigInt(value.or(b.value));
+        if (value == null && b.value == null) {
+            return new BigInt(smallValue | b.smallValue);
+        }
+        return orSlow(b);
     }
 
     @TruffleBoundary
+    private BigInt orSlow(BigInt b) {
+        return new BigInt(bigIntegerValue().or(b.bigIntegerValue()));
+    }
+
     public BigInt xor(BigInt b) {
-        return new BigInt(value.xor(b.value));
+        if (value == null && b.value == null) {
+            return new BigInt(smallValue ^ b.smallValue);
+        }
+        return xorSlow(b);
     }
 
     @TruffleBoundary
+    private BigInt xorSlow(BigInt b) {
+        return new BigInt(bigIntegerValue().xor(b.bigIntegerValue()));
+    }
+
     public BigInt multiply(BigInt b) {
-        return new BigInt(value.multiply(b.value));
+        if (value == null && b.value == null) {
+            long x = smallValue;
+            long y = b.smallValue;
+            long r = x * y;
+            // overflow check of Math.multiplyExact
+            long ax = Math.abs(x);
+            long ay = Math.abs(y);
+            if (((ax | ay) >>> 31 == 0) || ((y == 0 || r / y == x) && !(x == Long.MIN_VALUE && y == -1))) {
+                return new BigInt(r);
+            }
+        }
+        return multiplySlow(b);
     }
 
     @TruffleBoundary
+    private BigInt multiplySlow(BigInt b) {
+        return new BigInt(bigIntegerValue().multiply(b.bigIntegerValue()));
+    }
+
     public BigInt divide(BigInt b) {
-        return new BigInt(value.divide(b.value));
+        if (value == null && b.value == null && b.smallValue != 0 && !(smallValue == Long.MIN_VALUE && b.smallValue == -1)) {
+            return new BigInt(smallValue / b.smallValue);
+        }
+        return divideSlow(b);
     }
 
     @TruffleBoundary
+    private BigInt divideSlow(BigInt b) {
+        return new BigInt(bigIntegerValue().divide(b.bigIntegerValue()));
+    }
+
     public BigInt remainder(BigInt b) {
-        return new BigInt(value.remainder(b.value));
+        if (value == null && b.value == null && b.smallValue != 0) {
+            return new BigInt(smallValue % b.smallValue);
+        }
+        return remainderSlow(b);
     }
 
     @TruffleBoundary
+    private BigInt remainderSlow(BigInt b) {
+        return new BigInt(bigIntegerValue().remainder(b.bigIntegerValue()));
+    }
+
     public BigInt shiftLeft(int b) {
-        return new BigInt(value.shiftLeft(b));
+        if (value == null && b >= 0 && b < Long.SIZE) {
+            long r = smallValue << b;
+            if ((r >> b) == smallValue) {
+                return new BigInt(r);
+            }
+        }
+        return shiftLeftSlow(b);
     }
 
     @TruffleBoundary
+    private BigInt shiftLeftSlow(int b) {
+        return new BigInt(bigIntegerValue().shiftLeft(b));
+    }
+
     public BigInt shiftRight(int b) {
-        return new BigInt(value.shiftRight(b));
+        if (value == null && b >= 0) {
+            return new BigInt(smallValue >> Math.min(b, Long.SIZE - 1));
+        }
+        return shiftRightSlow(b);
     }
 
     @TruffleBoundary
+    private BigInt shiftRightSlow(int b) {
+        return new BigInt(bigIntegerValue().shiftRight(b));
+    }
+
     public long longValueExact() {
-        return value.longValueExact();
+        if (value == null) {
+            return smallValue;
+        }
+        throw longValueExactSlow();
     }
 
     @TruffleBoundary
+    private ArithmeticException longValueExactSlow() {
+        return new ArithmeticException("BigInteger out of long range");
+    }
+
     public long longValue() {
+        if (value == null) {
+            return smallValue;
+        }
+        return bigLongValue();
+    }
+
+    @TruffleBoundary
+    private long bigLongValue() {
         return value.longValue();
     }
 
     @Override
     @TruffleBoundary
     public String toString() {
-        return value.toString(10);
+        return toString(10);
     }
 
     @ExportMessage
@@ -331,102 +531,92 @@ public final class BigInt implements Comparable<BigInt>, TruffleObject {
     }
 
     @ExportMessage
-    @TruffleBoundary
     boolean fitsInByte() {
-        return value.bitLength() < Byte.SIZE;
+        return value == null && smallValue == (byte) smallValue;
     }
 
     @ExportMessage
-    @TruffleBoundary
     boolean fitsInShort() {
-        return value.bitLength() < Short.SIZE;
+        return value == null && smallValue == (short) smallValue;
     }
 
     @ExportMessage
-    @TruffleBoundary
     boolean fitsInInt() {
-        return value.bitLength() < Integer.SIZE;
+        return value == null && smallValue == (int) smallValue;
     }
 
     @ExportMessage
-    @TruffleBoundary
     public boolean fitsInLong() {
-        return value.bitLength() < Long.SIZE;
+        return value == null;
     }
 
     @ExportMessage
     @TruffleBoundary
     boolean fitsInDouble() {
-        if (value.bitLength() <= 53) { // 53 = size of double mantissa + 1
+        BigInteger bigValue = bigIntegerValue();
+        if (bigValue.bitLength() <= 53) { // 53 = size of double mantissa + 1
             return true;
         } else {
-            double doubleValue = value.doubleValue();
+            double doubleValue = bigValue.doubleValue();
             if (!Double.isFinite(doubleValue)) {
                 return false;
             }
-            return new BigDecimal(doubleValue).toBigIntegerExact().equals(value);
+            return new BigDecimal(doubleValue).toBigIntegerExact().equals(bigValue);
         }
     }
 
     @ExportMessage
     @TruffleBoundary
     boolean fitsInFloat() {
-        if (value.bitLength() <= 24) { // 24 = size of float mantissa + 1
+        BigInteger bigValue = bigIntegerValue();
+        if (bigValue.bitLength() <= 24) { // 24 = size of float mantissa + 1
             return true;
         } else {
-            float floatValue = value.floatValue();
+            float floatValue = bigValue.floatValue();
             if (!Float.isFinite(floatValue)) {
                 return false;
             }
-            return new BigDecimal(floatValue).toBigIntegerExact().equals(value);
+            return new BigDecimal(floatValue).toBigIntegerExact().equals(bigValue);
         }
     }
 
     @ExportMessage
-    @TruffleBoundary
     byte asByte() throws UnsupportedMessageException {
-        try {
-            return value.byteValueExact();
-        } catch (ArithmeticException e) {
-            throw UnsupportedMessageException.create();
+        if (fitsInByte()) {
+            return (byte) smallValue;
         }
+        throw UnsupportedMessageException.create();
     }
 
     @ExportMessage
-    @TruffleBoundary
     short asShort() throws UnsupportedMessageException {
-        try {
-            return value.shortValueExact();
-        } catch (ArithmeticException e) {
-            throw UnsupportedMessageException.create();
+        if (fitsInShort()) {
+            return (short) smallValue;
         }
+        throw UnsupportedMessageException.create();
     }
 
     @ExportMessage
-    @TruffleBoundary
     int asInt() throws UnsupportedMessageException {
-        try {
-            return value.intValueExact();
-        } catch (ArithmeticException e) {
-            throw UnsupportedMessageException.create();
+        if (fitsInInt()) {
+            return (int) smallValue;
         }
+        throw UnsupportedMessageException.create();
     }
 
     @ExportMessage
-    @TruffleBoundary
     long asLong() throws UnsupportedMessageException {
-        try {
-            return longValueExact();
-        } catch (ArithmeticException e) {
-            throw UnsupportedMessageException.create();
+        if (fitsInLong()) {
+            return smallValue;
         }
+        throw UnsupportedMessageException.create();
     }
 
     @ExportMessage
     @TruffleBoundary
     float asFloat() throws UnsupportedMessageException {
         if (fitsInFloat()) {
-            return value.floatValue();
+            return bigIntegerValue().floatValue();
         } else {
             throw UnsupportedMessageException.create();
         }
@@ -436,7 +626,7 @@ public final class BigInt implements Comparable<BigInt>, TruffleObject {
     @TruffleBoundary
     double asDouble() throws UnsupportedMessageException {
         if (fitsInDouble()) {
-            return value.doubleValue();
+            return doubleValue();
         } else {
             throw UnsupportedMessageException.create();
         }
@@ -44,14 +44,19 @@ import java.lang.ref.WeakReference;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
 import org.graalvm.collections.EconomicSet;
 import org.graalvm.collections.Equivalence;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.TruffleContext;
 import com.oracle.truffle.api.object.DynamicObject;
 import com.oracle.truffle.js.runtime.JSAgentWaiterList.JSAgentWaiterListEntry;
+import com.oracle.truffle.js.runtime.JSAgentWaiterList.Waiter;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
 import com.oracle.truffle.js.runtime.builtins.JSFinalizationRegistry;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
@@ -94,6 +99,24 @@ public abstract class JSAgent implements EcmaAgent {
 
     private final Deque<WeakReference<DynamicObject>> finalizationRegistryQueue;
 
+    /**
+     * Execute consecutive promise jobs of the same realm without leaving and re-entering the
+     * context in between.
+     */
+    private boolean batchPromiseJobs;
+
+    /* Promise job statistics, see PromiseJobStatistics. */
+    private long enqueuedJobs;
+    private long executedJobs;
+    private int queueHighWaterMark;
+    private long turns;
+    private long totalDrainNanos;
+    private long lastTurnLatencyNanos;
+    private long maxTurnLatencyNanos;
+    private boolean turnPending;
+    private boolean draining;
+    private long turnStartNanos;
+
     public JSAgent(boolean canBlock) {
         this.signifier = signifierGenerator.incrementAndGet();
         this.canBlock = canBlock;
@@ -101,7 +124,52 @@ public abstract class JSAgent implements EcmaAgent {
         this.finalizationRegistryQueue = new ArrayDeque<>(4);
     }
 
-    public abstract void wakeAgent(int w);
+    /**
+     * Suspends this agent until the waiter is notified, the timeout elapses, or the thread is
+     * interrupted. Leaves the critical section of the waiter list while suspended. Agents running
+     * in a {@link ForkJoinPool} block in {@link ForkJoinPool#managedBlock}, so that the pool can
+     * compensate for the blocked worker.
+     *
+     * @return {@code true} if the waiter was notified by another agent
+     */
+    @TruffleBoundary
+    public final boolean suspend(JSAgentWaiterListEntry wl, Waiter waiter, long timeoutMillis) {
+        assert inCriticalSection;
+        // the waiter is already in the list, so a concurrent notify cannot be missed
+        criticalSectionLeave(wl);
+        try {
+            ForkJoinPool.managedBlock(new Suspension(waiter, timeoutMillis));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            criticalSectionEnter(wl);
+        }
+        return waiter.isNotified();
+    }
+
+    private static final class Suspension implements ForkJoinPool.ManagedBlocker {
+
+        private final Waiter waiter;
+        private final long deadline;
+
+        Suspension(Waiter waiter, long timeoutMillis) {
+            this.waiter = waiter;
+            this.deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        }
+
+        @Override
+        public boolean block() {
+            while (!isReleasable()) {
+                LockSupport.parkNanos(this, deadline - System.nanoTime());
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return waiter.isNotified() || deadline - System.nanoTime() <= 0 || Thread.currentThread().isInterrupted();
+        }
+    }
 
     public int getSignifier() {
         return signifier;
@@ -127,48 +195,66 @@ public abstract class JSAgent implements EcmaAgent {
         wl.unlock();
     }
 
-    public void atomicSectionEnter(DynamicObject target) {
+    /**
+     * Enters the atomic section of the element at the given index of a shared typed array.
+     */
+    public void atomicSectionEnter(DynamicObject target, int index) {
         assert !inAtomicSection;
         assert JSArrayBufferView.isJSArrayBufferView(target);
-        DynamicObject arrayBuffer = JSArrayBufferView.getArrayBuffer(target, JSArrayBufferView.isJSArrayBufferView(target));
-        JSAgentWaiterList waiterList = JSSharedArrayBuffer.getWaiterList(arrayBuffer);
-        waiterList.lock();
+        getWaiterList(target).lock(JSArrayBufferView.getByteIndex(target, index));
         inAtomicSection = true;
     }
 
-    public void atomicSectionLeave(DynamicObject target) {
+    public void atomicSectionLeave(DynamicObject target, int index) {
         assert inAtomicSection;
         assert JSArrayBufferView.isJSArrayBufferView(target);
-        DynamicObject arrayBuffer = JSArrayBufferView.getArrayBuffer(target, JSArrayBufferView.isJSArrayBufferView(target));
-        JSAgentWaiterList waiterList = JSSharedArrayBuffer.getWaiterList(arrayBuffer);
         inAtomicSection = false;
-        waiterList.unlock();
+        getWaiterList(target).unlock(JSArrayBufferView.getByteIndex(target, index));
+    }
+
+    private static JSAgentWaiterList getWaiterList(DynamicObject target) {
+        DynamicObject arrayBuffer = JSArrayBufferView.getArrayBuffer(target, JSArrayBufferView.isJSArrayBufferView(target));
+        return JSSharedArrayBuffer.getWaiterList(arrayBuffer);
+    }
+
+    public final void setBatchPromiseJobs(boolean batchPromiseJobs) {
+        this.batchPromiseJobs = batchPromiseJobs;
     }
 
     @TruffleBoundary
     public final void enqueuePromiseJob(DynamicObject job) {
+        if (!turnPending) {
+            turnPending = true;
+            turnStartNanos = System.nanoTime();
+        }
         promiseJobsQueue.push(job);
+        enqueuedJobs++;
+        if (promiseJobsQueue.size() > queueHighWaterMark) {
+            queueHighWaterMark = promiseJobsQueue.size();
+        }
     }
 
     @TruffleBoundary
     public final void processAllPromises(boolean processWeakRefs) {
+        // only the outermost drain is timed, nested ones are part of it
+        long drainStart = draining || promiseJobsQueue.isEmpty() ? 0L : System.nanoTime();
+        if (drainStart != 0L) {
+            draining = true;
+        }
         try {
-            while (!promiseJobsQueue.isEmpty()) {
-                DynamicObject nextJob = promiseJobsQueue.pollLast();
-                if (JSFunction.isJSFunction(nextJob)) {
-                    JSRealm functionRealm = JSFunction.getRealm(nextJob);
-                    Object prev = functionRealm.getTruffleContext().enter();
-                    try {
-                        JSFunction.call(nextJob, Undefined.instance, JSArguments.EMPTY_ARGUMENTS_ARRAY);
-                    } finally {
-                        functionRealm.getTruffleContext().leave(prev);
-                    }
-                }
+            if (batchPromiseJobs) {
+                runPromiseJobsBatched();
+            } else {
+                runPromiseJobs();
             }
         } finally {
             // Ensure that there are no leftovers when the processing
             // is terminated by an exception (like ExitException).
             promiseJobsQueue.clear();
+            if (drainStart != 0L) {
+                draining = false;
+                endTurn(drainStart);
+            }
             if (processWeakRefs) {
                 if (weakRefTargets != null) {
                     weakRefTargets.clear();
@@ -178,6 +264,89 @@ public abstract class JSAgent implements EcmaAgent {
         }
     }
 
+    private void runPromiseJobs() {
+        while (!promiseJobsQueue.isEmpty()) {
+            DynamicObject nextJob = promiseJobsQueue.pollLast();
+            if (JSFunction.isJSFunction(nextJob)) {
+                JSRealm functionRealm = JSFunction.getRealm(nextJob);
+                Object prev = functionRealm.getTruffleContext().enter();
+                try {
+                    executedJobs++;
+                    JSFunction.call(nextJob, Undefined.instance, JSArguments.EMPTY_ARGUMENTS_ARRAY);
+                } finally {
+                    functionRealm.getTruffleContext().leave(prev);
+                }
+            }
+        }
+    }
+
+    /**
+     * Like {@link #runPromiseJobs()}, but stays in the context of a job's realm for as long as the
+     * following jobs belong to the same realm. The order of the jobs is preserved.
+     */
+    private void runPromiseJobsBatched() {
+        while (!promiseJobsQueue.isEmpty()) {
+            DynamicObject firstJob = promiseJobsQueue.peekLast();
+            if (!JSFunction.isJSFunction(firstJob)) {
+                promiseJobsQueue.pollLast();
+                continue;
+            }
+            TruffleContext truffleContext = JSFunction.getRealm(firstJob).getTruffleContext();
+            Object prev = truffleContext.enter();
+            try {
+                while (!promiseJobsQueue.isEmpty()) {
+                    DynamicObject nextJob = promiseJobsQueue.peekLast();
+                    if (JSFunction.isJSFunction(nextJob)) {
+                        if (JSFunction.getRealm(nextJob).getTruffleContext() != truffleContext) {
+                            break;
+                        }
+                        promiseJobsQueue.pollLast();
+                        executedJobs++;
+                        JSFunction.call(nextJob, Undefined.instance, JSArguments.EMPTY_ARGUMENTS_ARRAY);
+                    } else {
+                        promiseJobsQueue.pollLast();
+                    }
+                }
+            } finally {
+                truffleContext.leave(prev);
+            }
+        }
+    }
+
+    private void endTurn(long drainStart) {
+        long now = System.nanoTime();
+        totalDrainNanos += now - drainStart;
+        if (turnPending) {
+            turnPending = false;
+            long latency = now - turnStartNanos;
+            lastTurnLatencyNanos = latency;
+            maxTurnLatencyNanos = Math.max(maxTurnLatencyNanos, latency);
+            turns++;
+        }
+    }
+
+    /**
+     * Returns a snapshot of the promise job queue statistics of this agent.
+     */
+    @TruffleBoundary
+    public final PromiseJobStatistics getPromiseJobStatistics() {
+        return new PromiseJobStatistics(enqueuedJobs, executedJobs, queueHighWaterMark, turns, totalDrainNanos, lastTurnLatencyNanos, maxTurnLatencyNanos);
+    }
+
+    /**
+     * Resets the promise job queue statistics of this agent.
+     */
+    @TruffleBoundary
+    public final void resetPromiseJobStatistics() {
+        enqueuedJobs = 0;
+        executedJobs = 0;
+        queueHighWaterMark = promiseJobsQueue.size();
+        turns = 0;
+        totalDrainNanos = 0;
+        lastTurnLatencyNanos = 0;
+        maxTurnLatencyNanos = 0;
+    }
+
     /**
      * Cleanup the finalizationRegistries that are unreferenced; cleanup referenced ones according
      * to 4.1.3 Execution and 4.1.4.1 HostCleanupFinalizatioRegistry.
@@ -40,55 +40,94 @@
  */
 package com.oracle.truffle.js.runtime;
 
-import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import java.util.ArrayDeque;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
 
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
 /**
  * Java-based implementation of ECMA2017 WaiterList (24.4.1.2).
+ *
+ * Waiter lists are keyed by byte index into the shared buffer, so that views with different
+ * offsets or element types agree on the waiter list of a location. Atomic read-modify-write
+ * operations are serialized by a set of striped locks: operations on the same 8-byte granule of
+ * the buffer always use the same lock, while operations on unrelated locations rarely contend.
  */
 public class JSAgentWaiterList {
 
+    /** Number of atomic section locks; must be a power of two. */
+    private static final int ATOMIC_SECTION_STRIPES = 64;
+    /** Atomic accesses are naturally aligned and at most 8 bytes wide. */
+    private static final int GRANULE_SHIFT = 3;
+
     private final Map<Integer, JSAgentWaiterListEntry> waiters;
 
-    private final Lock globalMonitor;
+    private volatile Lock[] atomicSectionLocks;
 
     @TruffleBoundary
     public JSAgentWaiterList() {
         this.waiters = new ConcurrentHashMap<>();
-        this.globalMonitor = new ReentrantLock();
     }
 
-    public JSAgentWaiterListEntry getListForIndex(int indexPos) {
-        JSAgentWaiterListEntry list = Boundaries.mapPutIfAbsent(waiters, indexPos, new JSAgentWaiterListEntry());
+    public JSAgentWaiterListEntry getListForIndex(int byteIndex) {
+        JSAgentWaiterListEntry list = Boundaries.mapGet(waiters, byteIndex);
+        if (list != null) {
+            return list;
+        }
+        list = Boundaries.mapPutIfAbsent(waiters, byteIndex, new JSAgentWaiterListEntry());
         if (list == null) {
-            return Boundaries.mapGet(waiters, indexPos);
+            return Boundaries.mapGet(waiters, byteIndex);
         } else {
             return list;
         }
     }
 
-    public void lock() {
-        globalMonitor.lock();
+    public void lock(int byteIndex) {
+        getAtomicSectionLock(byteIndex).lock();
     }
 
-    public void unlock() {
-        globalMonitor.unlock();
+    public void unlock(int byteIndex) {
+        getAtomicSectionLock(byteIndex).unlock();
     }
 
-    public static final class JSAgentWaiterListEntry extends ConcurrentLinkedQueue<Integer> {
+    private Lock getAtomicSectionLock(int byteIndex) {
+        Lock[] locks = atomicSectionLocks;
+        if (locks == null) {
+            locks = initAtomicSectionLocks();
+        }
+        return locks[(byteIndex >>> GRANULE_SHIFT) & (ATOMIC_SECTION_STRIPES - 1)];
+    }
 
-        private static final long serialVersionUID = 2655886588267252886L;
+    @TruffleBoundary
+    private synchronized Lock[] initAtomicSectionLocks() {
+        Lock[] locks = atomicSectionLocks;
+        if (locks == null) {
+            locks = new Lock[ATOMIC_SECTION_STRIPES];
+            for (int i = 0; i < locks.length; i++) {
+                locks[i] = new ReentrantLock();
+            }
+            atomicSectionLocks = locks;
+        }
+        return locks;
+    }
+
+    /**
+     * The waiters of a single location, in FIFO order. Must only be accessed in the critical
+     * section of the entry.
+     */
+    public static final class JSAgentWaiterListEntry {
 
         private final Lock indexMonitor;
+        private final ArrayDeque<Waiter> queue;
 
         @TruffleBoundary
         public JSAgentWaiterListEntry() {
-            super();
             this.indexMonitor = new ReentrantLock();
+            this.queue = new ArrayDeque<>(4);
         }
 
         public void lock() {
@@ -99,6 +138,74 @@ public class JSAgentWaiterList {
             indexMonitor.unlock();
         }
 
+        @TruffleBoundary
+        public Waiter add(int signifier) {
+            Waiter waiter = new Waiter(signifier, Thread.currentThread());
+            queue.add(waiter);
+            return waiter;
+        }
+
+        @TruffleBoundary
+        public boolean contains(Waiter waiter) {
+            return queue.contains(waiter);
+        }
+
+        @TruffleBoundary
+        public boolean remove(Waiter waiter) {
+            return queue.remove(waiter);
+        }
+
+        @TruffleBoundary
+        public Waiter poll() {
+            return queue.poll();
+        }
+
+        @TruffleBoundary
+        public int size() {
+            return queue.size();
+        }
+    }
+
+    /**
+     * A suspended agent. Notifying a waiter hands off directly to its thread, without going
+     * through the agent.
+     */
+    public static final class Waiter {
+
+        private final int signifier;
+        private final Thread thread;
+        private volatile boolean notified;
+
+        Waiter(int signifier, Thread thread) {
+            this.signifier = signifier;
+            this.thread = thread;
+        }
+
+        public int getSignifier() {
+            return signifier;
+        }
+
+        public boolean isNotified() {
+            return notified;
+        }
+
+        /**
+         * Marks the waiter as notified. Must be called in the critical section of the waiter list
+         * the waiter has been removed from.
+         */
+        public void setNotified() {
+            notified = true;
+        }
+
+        /**
+         * Wakes up the thread of a notified waiter. May be called outside of the critical section,
+         * so that the woken thread does not immediately contend for it.
+         */
+        @TruffleBoundary
+        public void unpark() {
+            assert notified;
+            LockSupport.unpark(thread);
+        }
     }
 
 }
@@ -57,6 +57,8 @@ public final class JSConfig {
     public static final int MaxFlatArraySize = 1000000;
     public static final boolean TrackArrayAllocationSites = Boolean.FALSE;
     public static final int BigArrayThreshold = 10000;
+    /** Minimum length of a typed array for sorting it (without comparator) in parallel. */
+    public static final int TypedArrayParallelSortThreshold = 1 << 16;
     public static final boolean MarkElementsNonNull = true;
 
     // Debug options
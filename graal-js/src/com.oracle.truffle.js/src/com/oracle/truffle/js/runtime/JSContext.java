@@ -47,6 +47,7 @@ import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import com.oracle.truffle.api.Assumption;
 import com.oracle.truffle.api.CallTarget;
@@ -71,6 +72,7 @@ import com.oracle.truffle.api.object.Property;
 import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.nodes.ScriptNode;
 import com.oracle.truffle.js.nodes.access.GetPrototypeNode;
 import com.oracle.truffle.js.nodes.cast.JSToObjectNode;
 import com.oracle.truffle.js.runtime.array.TypedArray;
@@ -120,7 +122,6 @@ import com.oracle.truffle.js.runtime.builtins.JSWeakSet;
 import com.oracle.truffle.js.runtime.builtins.PrototypeSupplier;
 import com.oracle.truffle.js.runtime.java.JavaImporter;
 import com.oracle.truffle.js.runtime.java.JavaPackage;
-import com.oracle.truffle.js.runtime.java.adapter.JavaAdapterFactory;
 import com.oracle.truffle.js.runtime.objects.JSModuleRecord;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSPrototypeData;
@@ -132,6 +133,8 @@ import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.CompilableBiFunction;
 import com.oracle.truffle.js.runtime.util.CompilableFunction;
 import com.oracle.truffle.js.runtime.util.DebugJSAgent;
+import com.oracle.truffle.js.runtime.util.LRUCache;
+import com.oracle.truffle.js.runtime.util.Pair;
 import com.oracle.truffle.js.runtime.util.TRegexUtil;
 import com.oracle.truffle.js.runtime.util.TimeProfiler;
 
@@ -322,7 +325,13 @@ public class JSContext {
     private final JSPrototypeData nullPrototypeData = new JSPrototypeData();
     private final JSPrototypeData inObjectPrototypeData = new JSPrototypeData();
 
-    private volatile ClassValue<Class<?>> javaAdapterClasses;
+    /** Engine-wide cache of parsed eval, Function and load sources; null if disabled. */
+    private final LRUCache<Object, ScriptNode> parseCache;
+
+    /** Engine-wide cache of compiled regular expressions; null if disabled. */
+    private final LRUCache<Pair<String, String>, Object> regexCache;
+    private long regexCacheHits;
+    private long regexCacheMisses;
 
     private final JSFunctionFactory functionFactory;
     private final JSFunctionFactory constructorFactory;
@@ -409,6 +418,8 @@ public class JSContext {
         this.language = lang;
         this.contextRef = getContextReference(lang);
         this.truffleLanguageEnv = env;
+        this.parseCache = contextOptions.getParseCacheSize() > 0 ? new LRUCache<>(contextOptions.getParseCacheSize()) : null;
+        this.regexCache = contextOptions.getRegexCacheSize() > 0 ? new LRUCache<>(contextOptions.getRegexCacheSize()) : null;
 
         this.emptyShape = createEmptyShape();
         this.emptyShapePrototypeInObject = createEmptyShapePrototypeInObject();
@@ -552,6 +563,31 @@ public class JSContext {
         return evaluator;
     }
 
+    /**
+     * Returns the cached parse result for the given key or parses and caches it. Since the
+     * JSContext is shared by all contexts of an engine, so is the cache. Parse errors are not
+     * cached. The key must capture everything the parse result depends on.
+     */
+    @TruffleBoundary
+    public ScriptNode getOrParse(Object key, Supplier<ScriptNode> parser) {
+        LRUCache<Object, ScriptNode> cache = parseCache;
+        if (cache == null) {
+            return parser.get();
+        }
+        ScriptNode cached;
+        synchronized (cache) {
+            cached = cache.get(key);
+        }
+        if (cached != null) {
+            return cached;
+        }
+        ScriptNode parsed = parser.get();
+        synchronized (cache) {
+            cached = cache.putIfAbsent(key, parsed);
+        }
+        return cached != null ? cached : parsed;
+    }
+
     public Object getNodeFactory() {
         return nodeFactory;
     }
@@ -963,6 +999,52 @@ public class JSContext {
         return options.toString();
     }
 
+    /**
+     * Returns the compiled regex for the given pattern and flags from the engine-wide regex cache,
+     * or {@code null} if it has not been compiled yet. The compiled regex depends on the regex
+     * options, too, but these are fixed per JSContext.
+     */
+    @TruffleBoundary
+    public Object getCachedCompiledRegex(String pattern, String flags) {
+        LRUCache<Pair<String, String>, Object> cache = regexCache;
+        if (cache == null) {
+            return null;
+        }
+        synchronized (cache) {
+            Object compiledRegex = cache.get(new Pair<>(pattern, flags));
+            if (compiledRegex != null) {
+                regexCacheHits++;
+            } else {
+                regexCacheMisses++;
+            }
+            return compiledRegex;
+        }
+    }
+
+    @TruffleBoundary
+    public void putCachedCompiledRegex(String pattern, String flags, Object compiledRegex) {
+        LRUCache<Pair<String, String>, Object> cache = regexCache;
+        if (cache != null) {
+            synchronized (cache) {
+                cache.put(new Pair<>(pattern, flags), compiledRegex);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of hits and misses of the engine-wide regex cache as {@code [hits, misses]}.
+     */
+    @TruffleBoundary
+    public long[] getRegexCacheStatistics() {
+        LRUCache<Pair<String, String>, Object> cache = regexCache;
+        if (cache == null) {
+            return new long[]{0, 0};
+        }
+        synchronized (cache) {
+            return new long[]{regexCacheHits, regexCacheMisses};
+        }
+    }
+
     public Object getRegexEngine() {
         if (regexEngine == null) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -1486,25 +1568,6 @@ public class JSContext {
         return contextOptions;
     }
 
-    public Class<?> getJavaAdapterClassFor(Class<?> clazz) {
-        if (JSConfig.SubstrateVM) {
-            throw Errors.unsupported("JavaAdapter");
-        }
-        if (javaAdapterClasses == null) {
-            synchronized (this) {
-                if (javaAdapterClasses == null) {
-                    javaAdapterClasses = new ClassValue<Class<?>>() {
-                        @Override
-                        protected Class<?> computeValue(Class<?> type) {
-                            return JavaAdapterFactory.getAdapterClassFor(type);
-                        }
-                    };
-                }
-            }
-        }
-        return javaAdapterClasses.get(clazz);
-    }
-
     public final boolean isMultiContext() {
         return isMultiContext;
     }
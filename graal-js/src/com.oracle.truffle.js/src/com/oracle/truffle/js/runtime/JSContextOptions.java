@@ -233,6 +233,11 @@ public final class JSContextOptions {
     public static final OptionKey<Boolean> AGENT_CAN_BLOCK = new OptionKey<>(true);
     @CompilationFinal private boolean agentCanBlock;
 
+    public static final String PROMISE_JOB_BATCHING_NAME = JS_OPTION_PREFIX + "promise-job-batching";
+    @Option(name = PROMISE_JOB_BATCHING_NAME, category = OptionCategory.EXPERT, help = "Drain promise jobs in batches, entering the context once per run of jobs of the same realm.") //
+    public static final OptionKey<Boolean> PROMISE_JOB_BATCHING = new OptionKey<>(false);
+    @CompilationFinal private boolean promiseJobBatching;
+
     public static final String JAVA_PACKAGE_GLOBALS_NAME = JS_OPTION_PREFIX + "java-package-globals";
     @Option(name = JAVA_PACKAGE_GLOBALS_NAME, category = OptionCategory.USER, help = "Provide Java package globals: Packages, java, javafx, javax, com, org, edu.") //
     public static final OptionKey<Boolean> JAVA_PACKAGE_GLOBALS = new OptionKey<>(true);
@@ -405,6 +410,16 @@ public final class JSContextOptions {
     public static final OptionKey<Integer> FUNCTION_CONSTRUCTOR_CACHE_SIZE = new OptionKey<>(32);
     @CompilationFinal private int functionConstructorCacheSize;
 
+    public static final String PARSE_CACHE_SIZE_NAME = JS_OPTION_PREFIX + "parse-cache-size";
+    @Option(name = PARSE_CACHE_SIZE_NAME, category = OptionCategory.EXPERT, help = "Maximum size of the engine-wide cache of parsed eval, Function and load sources (0 to disable).") //
+    public static final OptionKey<Integer> PARSE_CACHE_SIZE = new OptionKey<>(64);
+    @CompilationFinal private int parseCacheSize;
+
+    public static final String REGEX_CACHE_SIZE_NAME = JS_OPTION_PREFIX + "regex-cache-size";
+    @Option(name = REGEX_CACHE_SIZE_NAME, category = OptionCategory.EXPERT, help = "Maximum size of the engine-wide cache of compiled regular expressions (0 to disable).") //
+    public static final OptionKey<Integer> REGEX_CACHE_SIZE = new OptionKey<>(256);
+    @CompilationFinal private int regexCacheSize;
+
     public static final String STRING_LENGTH_LIMIT_NAME = JS_OPTION_PREFIX + "string-length-limit";
     @Option(name = STRING_LENGTH_LIMIT_NAME, category = OptionCategory.EXPERT, help = "Maximum string length.") //
     public static final OptionKey<Integer> STRING_LENGTH_LIMIT = new OptionKey<>(JSConfig.StringLengthLimit);
@@ -447,6 +462,15 @@ public final class JSContextOptions {
     public static final OptionKey<Boolean> LAZY_TRANSLATION = new OptionKey<>(false);
     @CompilationFinal private boolean lazyTranslation;
 
+    public static final String CODE_CACHE_DIR_NAME = JS_OPTION_PREFIX + "code-cache-dir";
+    @Option(name = CODE_CACHE_DIR_NAME, category = OptionCategory.EXPERT, help = "Directory used to persist translated scripts across runs (disabled if empty or if IO is not allowed).") //
+    public static final OptionKey<String> CODE_CACHE_DIR = new OptionKey<>("");
+
+    public static final String JAVA_ADAPTER_CACHE_DIR_NAME = JS_OPTION_PREFIX + "java-adapter-cache-dir";
+    @Option(name = JAVA_ADAPTER_CACHE_DIR_NAME, category = OptionCategory.EXPERT, help = "Directory used to persist generated Java adapter classes across runs (disabled if empty or if IO is not allowed). " + //
+                    "Loaded classes are fully trusted, so the directory is only used if it is owned by the current user and not writable by others; entries are authenticated with a key stored in it.") //
+    public static final OptionKey<String> JAVA_ADAPTER_CACHE_DIR = new OptionKey<>("");
+
     public static final String MAX_TYPED_ARRAY_LENGTH_NAME = JS_OPTION_PREFIX + "max-typed-array-length";
     @Option(name = MAX_TYPED_ARRAY_LENGTH_NAME, category = OptionCategory.EXPERT, help = "Maximum allowed length for TypedArrays.") //
     public static final OptionKey<Integer> MAX_TYPED_ARRAY_LENGTH = new OptionKey<>(JSConfig.MaxTypedArrayLength);
@@ -535,6 +559,7 @@ public final class JSContextOptions {
             timerResolutionCurrentAssumption = timerResolutionCyclicAssumption.getAssumption();
         });
         this.agentCanBlock = readBooleanOption(AGENT_CAN_BLOCK);
+        this.promiseJobBatching = readBooleanOption(PROMISE_JOB_BATCHING);
         this.awaitOptimization = readBooleanOption(AWAIT_OPTIMIZATION);
         this.disableEval = readBooleanOption(DISABLE_EVAL);
         this.disableWith = readBooleanOption(DISABLE_WITH);
@@ -548,6 +573,8 @@ public final class JSContextOptions {
         this.testV8Mode = readBooleanOption(TESTV8_MODE);
         this.validateRegExpLiterals = readBooleanOption(VALIDATE_REGEXP_LITERALS);
         this.functionConstructorCacheSize = readIntegerOption(FUNCTION_CONSTRUCTOR_CACHE_SIZE);
+        this.parseCacheSize = readIntegerOption(PARSE_CACHE_SIZE);
+        this.regexCacheSize = readIntegerOption(REGEX_CACHE_SIZE);
         this.stringLengthLimit = readIntegerOption(STRING_LENGTH_LIMIT);
         this.bindMemberFunctions = readBooleanOption(BIND_MEMBER_FUNCTIONS);
         this.commonJSRequire = readBooleanOption(COMMONJS_REQUIRE);
@@ -706,6 +733,10 @@ public final class JSContextOptions {
         return agentCanBlock;
     }
 
+    public boolean isPromiseJobBatching() {
+        return promiseJobBatching;
+    }
+
     public boolean isAwaitOptimization() {
         return awaitOptimization;
     }
@@ -843,6 +874,14 @@ public final class JSContextOptions {
         return functionConstructorCacheSize;
     }
 
+    public int getParseCacheSize() {
+        return parseCacheSize;
+    }
+
+    public int getRegexCacheSize() {
+        return regexCacheSize;
+    }
+
     public int getStringLengthLimit() {
         return stringLengthLimit;
     }
@@ -877,6 +916,14 @@ public final class JSContextOptions {
         return lazyTranslation;
     }
 
+    public String getCodeCacheDir() {
+        return CODE_CACHE_DIR.getValue(optionValues);
+    }
+
+    public String getJavaAdapterCacheDir() {
+        return JAVA_ADAPTER_CACHE_DIR.getValue(optionValues);
+    }
+
     public boolean isProfileTimePrintCumulative() {
         CompilerAsserts.neverPartOfCompilation("Context patchable option profile-time-print-cumulative was assumed not to be accessed in compiled code.");
         return PROFILE_TIME_PRINT_CUMULATIVE.getValue(optionValues);
@@ -930,6 +977,7 @@ public final class JSContextOptions {
         hash = 53 * hash + (this.parseOnly ? 1 : 0);
         hash = 53 * hash + (int) this.timerResolution;
         hash = 53 * hash + (this.agentCanBlock ? 1 : 0);
+        hash = 53 * hash + (this.promiseJobBatching ? 1 : 0);
         hash = 53 * hash + (this.awaitOptimization ? 1 : 0);
         hash = 53 * hash + (this.disableEval ? 1 : 0);
         hash = 53 * hash + (this.disableWith ? 1 : 0);
@@ -943,6 +991,8 @@ public final class JSContextOptions {
         hash = 53 * hash + (this.testV8Mode ? 1 : 0);
         hash = 53 * hash + (this.validateRegExpLiterals ? 1 : 0);
         hash = 53 * hash + this.functionConstructorCacheSize;
+        hash = 53 * hash + this.parseCacheSize;
+        hash = 53 * hash + this.regexCacheSize;
         hash = 53 * hash + this.stringLengthLimit;
         hash = 53 * hash + (this.bindMemberFunctions ? 1 : 0);
         hash = 53 * hash + (this.commonJSRequire ? 1 : 0);
@@ -1020,6 +1070,9 @@ public final class JSContextOptions {
         if (this.agentCanBlock != other.agentCanBlock) {
             return false;
         }
+        if (this.promiseJobBatching != other.promiseJobBatching) {
+            return false;
+        }
         if (this.awaitOptimization != other.awaitOptimization) {
             return false;
         }
@@ -1059,6 +1112,12 @@ public final class JSContextOptions {
         if (this.functionConstructorCacheSize != other.functionConstructorCacheSize) {
             return false;
         }
+        if (this.parseCacheSize != other.parseCacheSize) {
+            return false;
+        }
+        if (this.regexCacheSize != other.regexCacheSize) {
+            return false;
+        }
         if (this.stringLengthLimit != other.stringLengthLimit) {
             return false;
         }
@@ -76,6 +76,7 @@ import com.oracle.truffle.js.builtins.ConsoleBuiltins;
 import com.oracle.truffle.js.builtins.ConstructorBuiltins;
 import com.oracle.truffle.js.builtins.DebugBuiltins;
 import com.oracle.truffle.js.builtins.GlobalBuiltins;
+import com.oracle.truffle.js.builtins.GraalBuiltins;
 import com.oracle.truffle.js.builtins.JSBuiltinsContainer;
 import com.oracle.truffle.js.builtins.JavaBuiltins;
 import com.oracle.truffle.js.builtins.MapIteratorPrototypeBuiltins;
@@ -153,6 +154,7 @@ import com.oracle.truffle.js.runtime.objects.PropertyProxy;
 import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.PrintWriterWrapper;
 import com.oracle.truffle.js.runtime.util.TRegexUtil;
+import com.oracle.truffle.js.runtime.util.TimeZoneOffsetCache;
 
 /**
  * Container for JavaScript globals (i.e. an ECMAScript 6 Realm object).
@@ -169,6 +171,7 @@ public class JSRealm {
     public static final String JAVA_CLASS_NAME = "Java";
     public static final String JAVA_CLASS_NAME_NASHORN_COMPAT = "JavaNashornCompat";
     public static final String PERFORMANCE_CLASS_NAME = "performance";
+    public static final String GRAAL_CLASS_NAME = "Graal";
     public static final String DEBUG_CLASS_NAME = "Debug";
     public static final String CONSOLE_CLASS_NAME = "Console";
 
@@ -336,6 +339,7 @@ public class JSRealm {
      * Local time zone ID. Initialized lazily.
      */
     @CompilationFinal private ZoneId localTimeZoneId;
+    private final TimeZoneOffsetCache timeZoneOffsetCache = new TimeZoneOffsetCache();
 
     public static final long NANOSECONDS_PER_MILLISECOND = 1000000;
     private SplittableRandom random;
@@ -1400,7 +1404,8 @@ public class JSRealm {
         JSObjectUtil.putDataProperty(context, graalObject, "versionGraalVM", GRAALVM_VERSION, flags);
         JSObjectUtil.putDataProperty(context, graalObject, "versionJS", GRAALVM_VERSION, flags);
         JSObjectUtil.putDataProperty(context, graalObject, "isGraalRuntime", JSFunction.create(this, isGraalRuntimeFunction(context)), flags);
-        putGlobalProperty("Graal", graalObject);
+        JSObjectUtil.putFunctionsFromContainer(this, graalObject, GraalBuiltins.BUILTINS);
+        putGlobalProperty(GRAAL_CLASS_NAME, graalObject);
     }
 
     private static JSFunctionData isGraalRuntimeFunction(JSContext context) {
@@ -2056,6 +2061,7 @@ public class JSRealm {
     public void setAgent(JSAgent newAgent) {
         assert newAgent != null : "Cannot set a null agent!";
         CompilerAsserts.neverPartOfCompilation("Assigning agent to context in compiled code");
+        newAgent.setBatchPromiseJobs(context.getContextOptions().isPromiseJobBatching());
         this.agent = newAgent;
     }
 
@@ -2071,6 +2077,10 @@ public class JSRealm {
         return id;
     }
 
+    public TimeZoneOffsetCache getTimeZoneOffsetCache() {
+        return timeZoneOffsetCache;
+    }
+
     @TruffleBoundary
     private ZoneId getTimeZoneFromEnv() {
         OptionValues options = getEnv().getOptions();
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime;
+
+/**
+ * Snapshot of the promise job ("microtask") queue statistics of a {@link JSAgent}.
+ *
+ * A turn starts when a job is enqueued into the empty queue and ends when the queue has been
+ * drained. The turn latency is the time between these two events, i.e., it includes the time the
+ * first job waited for the queue to be processed; the drain time only covers job execution.
+ */
+public final class PromiseJobStatistics {
+
+    private final long enqueuedJobs;
+    private final long executedJobs;
+    private final int queueHighWaterMark;
+    private final long turns;
+    private final long totalDrainNanos;
+    private final long lastTurnLatencyNanos;
+    private final long maxTurnLatencyNanos;
+
+    PromiseJobStatistics(long enqueuedJobs, long executedJobs, int queueHighWaterMark, long turns, long totalDrainNanos, long lastTurnLatencyNanos, long maxTurnLatencyNanos) {
+        this.enqueuedJobs = enqueuedJobs;
+        this.executedJobs = executedJobs;
+        this.queueHighWaterMark = queueHighWaterMark;
+        this.turns = turns;
+        this.totalDrainNanos = totalDrainNanos;
+        this.lastTurnLatencyNanos = lastTurnLatencyNanos;
+        this.maxTurnLatencyNanos = maxTurnLatencyNanos;
+    }
+
+    /** Number of jobs added to the queue. */
+    public long getEnqueuedJobs() {
+        return enqueuedJobs;
+    }
+
+    /** Number of jobs executed (jobs dropped by an abrupt termination are not counted). */
+    public long getExecutedJobs() {
+        return executedJobs;
+    }
+
+    /** Maximum number of jobs that were pending at the same time. */
+    public int getQueueHighWaterMark() {
+        return queueHighWaterMark;
+    }
+
+    /** Number of completed turns. */
+    public long getTurns() {
+        return turns;
+    }
+
+    /** Total time spent executing jobs, in nanoseconds. */
+    public long getTotalDrainNanos() {
+        return totalDrainNanos;
+    }
+
+    /** Latency of the most recent turn, in nanoseconds. */
+    public long getLastTurnLatencyNanos() {
+        return lastTurnLatencyNanos;
+    }
+
+    /** Maximum latency of a turn, in nanoseconds. */
+    public long getMaxTurnLatencyNanos() {
+        return maxTurnLatencyNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "PromiseJobStatistics[enqueued=" + enqueuedJobs + ", executed=" + executedJobs + ", highWaterMark=" + queueHighWaterMark + ", turns=" + turns + ", drainNanos=" + totalDrainNanos +
+                        ", lastTurnLatencyNanos=" + lastTurnLatencyNanos + ", maxTurnLatencyNanos=" + maxTurnLatencyNanos + "]";
+    }
+}
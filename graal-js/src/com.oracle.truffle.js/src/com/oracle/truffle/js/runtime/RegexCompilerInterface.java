@@ -57,8 +57,14 @@ public final class RegexCompilerInterface {
         // RegexLanguage does its own validation of the flags. This call to validateFlags only
         // serves the purpose of mimicking the error messages of Nashorn and V8.
         validateFlags(flags, context.getEcmaScriptVersion(), context.isOptionNashornCompatibilityMode());
+        Object cached = context.getCachedCompiledRegex(pattern, flags);
+        if (cached != null) {
+            return cached;
+        }
         try {
-            return compileRegexNode.execute(context.getRegexEngine(), pattern, flags);
+            Object compiledRegex = compileRegexNode.execute(context.getRegexEngine(), pattern, flags);
+            context.putCachedCompiledRegex(pattern, flags, compiledRegex);
+            return compiledRegex;
         } catch (RuntimeException e) {
             CompilerDirectives.transferToInterpreter();
             if (e instanceof TruffleException && ((TruffleException) e).isSyntaxError()) {
@@ -56,6 +56,7 @@ import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBuffer;
 import com.oracle.truffle.js.runtime.objects.Undefined;
+import com.oracle.truffle.js.runtime.util.BufferUtil;
 
 public abstract class TypedArray extends ScriptArray {
 
@@ -148,6 +149,20 @@ public abstract class TypedArray extends ScriptArray {
         return isDirect() ? getByteBuffer(object, condition) : getByteArray(object, condition);
     }
 
+    /**
+     * Returns a native byte order view of the elements of the typed array (for both heap and
+     * direct arrays), starting at the first element and ending after the last one. Intended for
+     * bulk transfers, e.g., via {@link ByteBuffer#asIntBuffer()}.
+     */
+    public final ByteBuffer getElementsView(DynamicObject object, boolean condition) {
+        int byteOffset = getOffset(object, condition);
+        int byteLength = lengthInt(object, condition) * bytesPerElement;
+        ByteBuffer buffer = isDirect() ? getByteBuffer(object, condition).duplicate() : ByteBuffer.wrap(getByteArray(object, condition));
+        BufferUtil.asBaseBuffer(buffer).limit(byteOffset + byteLength);
+        BufferUtil.asBaseBuffer(buffer).position(byteOffset);
+        return buffer.slice().order(ByteOrder.nativeOrder());
+    }
+
     protected final int getOffset(DynamicObject object, boolean condition) {
         if (offset) {
             return typedArrayGetOffset(object, condition);
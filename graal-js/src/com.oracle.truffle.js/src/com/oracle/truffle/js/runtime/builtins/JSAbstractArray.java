@@ -74,7 +74,6 @@ import com.oracle.truffle.js.runtime.objects.JSProperty;
 import com.oracle.truffle.js.runtime.objects.JSShape;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.PropertyDescriptor;
-import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.js.runtime.util.DefinePropertyUtil;
 import com.oracle.truffle.js.runtime.util.IteratorUtil;
 
@@ -273,73 +272,6 @@ public abstract class JSAbstractArray extends JSBuiltinObject {
         return shape;
     }
 
-    public static final Comparator<Object> DEFAULT_JSARRAY_COMPARATOR = new DefaultJSArrayComparator();
-    public static final Comparator<Object> DEFAULT_JSARRAY_INTEGER_COMPARATOR = new DefaultJSArrayIntegerComparator();
-    public static final Comparator<Object> DEFAULT_JSARRAY_DOUBLE_COMPARATOR = new DefaultJSArrayDoubleComparator();
-
-    static final class DefaultJSArrayComparator implements Comparator<Object> {
-        @Override
-        public int compare(Object arg0, Object arg1) {
-            if (arg0 == Undefined.instance) {
-                if (arg1 == Undefined.instance) {
-                    return 0;
-                }
-                return 1;
-            } else if (arg1 == Undefined.instance) {
-                return -1;
-            }
-            String str0 = JSRuntime.toString(arg0);
-            String str1 = JSRuntime.toString(arg1);
-            if (str0 == null) {
-                if (str1 == null) {
-                    return 0;
-                }
-                return 1;
-            } else if (str1 == null) {
-                return -1;
-            }
-            return Boundaries.stringCompareTo(str0, str1);
-        }
-    }
-
-    static final class DefaultJSArrayIntegerComparator implements Comparator<Object> {
-        @Override
-        public int compare(Object arg0, Object arg1) {
-            int i1 = (int) JSRuntime.toInteger((Number) arg0);
-            int i2 = (int) JSRuntime.toInteger((Number) arg1);
-            if (i1 == i2) {
-                return 0;
-            }
-            if (i1 <= 0 && i2 > 0) {
-                return -1;
-            } else if (i2 <= 0 && i1 > 0) {
-                return 1;
-            }
-            String str0 = Integer.toString(i1);
-            String str1 = Integer.toString(i2);
-            return Boundaries.stringCompareTo(str0, str1);
-        }
-    }
-
-    static final class DefaultJSArrayDoubleComparator implements Comparator<Object> {
-        @Override
-        public int compare(Object arg0, Object arg1) {
-            double d1 = JSRuntime.doubleValue((Number) arg0);
-            double d2 = JSRuntime.doubleValue((Number) arg1);
-            if (d1 == d2) {
-                return 0;
-            }
-            if (d1 <= 0 && d2 > 0) {
-                return -1;
-            } else if (d2 <= 0 && d1 > 0) {
-                return 1;
-            }
-            String str0 = JSRuntime.doubleToString(d1);
-            String str1 = JSRuntime.doubleToString(d2);
-            return Boundaries.stringCompareTo(str0, str1);
-        }
-    }
-
     protected JSAbstractArray() {
     }
 
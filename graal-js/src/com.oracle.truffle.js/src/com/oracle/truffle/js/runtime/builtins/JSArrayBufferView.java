@@ -154,6 +154,13 @@ public final class JSArrayBufferView extends JSBuiltinObject {
         ARRAY_OFFSET_PROPERTY.setSafe(thisObj, arrayOffset, null);
     }
 
+    /**
+     * Returns the position of the element at the given index in the underlying array buffer.
+     */
+    public static int getByteIndex(DynamicObject thisObj, int index) {
+        return typedArrayGetOffset(thisObj) + index * typedArrayGetArrayType(thisObj).bytesPerElement();
+    }
+
     public static byte[] typedArrayGetByteArray(DynamicObject thisObj) {
         return typedArrayGetByteArray(thisObj, JSArrayBufferView.isJSArrayBufferView(thisObj));
     }
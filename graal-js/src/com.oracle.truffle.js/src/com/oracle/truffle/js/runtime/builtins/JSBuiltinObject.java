@@ -397,7 +397,7 @@ public abstract class JSBuiltinObject extends JSClass {
                 isDictionaryObject = true;
             }
             if (isDictionaryObject) {
-                JSDictionaryObject.getHashMap(thisObj).put(key, PropertyDescriptor.createDataDefault(value));
+                JSDictionaryObject.putPlainValue(thisObj, key, value);
                 return true;
             }
         }
@@ -405,7 +405,8 @@ public final class JSDate extends JSBuiltinObject implements JSConstructorFactor
     }
 
     public static long localTZA(double t, boolean isUTC, JSContext context) {
-        return localTZA(t, isUTC, context.getRealm().getLocalTimeZoneId());
+        JSRealm realm = context.getRealm();
+        return realm.getTimeZoneOffsetCache().localTZA(t, isUTC, realm.getLocalTimeZoneId());
     }
 
     @TruffleBoundary
@@ -60,6 +60,7 @@ import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSRuntime;
 import com.oracle.truffle.js.runtime.Symbol;
 import com.oracle.truffle.js.runtime.objects.Accessor;
+import com.oracle.truffle.js.runtime.objects.JSAttributes;
 import com.oracle.truffle.js.runtime.objects.JSObject;
 import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
 import com.oracle.truffle.js.runtime.objects.JSProperty;
@@ -72,6 +73,10 @@ import com.oracle.truffle.js.runtime.util.DefinePropertyUtil;
 /**
  * This is a variant of {@link JSUserObject} that stores its contents as a HashMap of properties
  * (excepts hidden properties, incl. prototype).
+ *
+ * Data properties with default attributes (writable, enumerable, and configurable) are stored as
+ * plain values; all other properties are stored as {@link PropertyDescriptor}s, which can never be
+ * JS values. See {@link #getOwnEntry}.
  */
 public final class JSDictionaryObject extends JSBuiltinObject {
 
@@ -114,14 +119,46 @@ public final class JSDictionaryObject extends JSBuiltinObject {
     @TruffleBoundary
     @Override
     public Object getOwnHelper(DynamicObject store, Object thisObj, Object key) {
-        PropertyDescriptor desc = getHashMap(store).get(key);
-        if (desc != null) {
-            return getValue(desc, thisObj);
+        Object entry = getHashMap(store).get(key);
+        if (entry != null) {
+            return getEntryValue(entry, thisObj);
         }
 
         return super.getOwnHelper(store, thisObj, key);
     }
 
+    /**
+     * Returns the value of a plain data property (writable, enumerable, and configurable), the
+     * {@link PropertyDescriptor} of any other property stored in the dictionary, or {@code null} if
+     * there is no such property in the dictionary.
+     */
+    @TruffleBoundary
+    public static Object getOwnEntry(DynamicObject obj, Object key) {
+        return getHashMap(obj).get(key);
+    }
+
+    /**
+     * Updates the value of an existing plain data property. Returns {@code false} if there is no
+     * such property in the dictionary, or it is not a plain data property.
+     */
+    @TruffleBoundary
+    public static boolean setOwnPlainValue(DynamicObject obj, Object key, Object value) {
+        EconomicMap<Object, Object> hashMap = getHashMap(obj);
+        Object entry = hashMap.get(key);
+        if (entry == null || entry instanceof PropertyDescriptor) {
+            return false;
+        }
+        hashMap.put(key, value);
+        return true;
+    }
+
+    private static Object getEntryValue(Object entry, Object receiver) {
+        if (entry instanceof PropertyDescriptor) {
+            return getValue((PropertyDescriptor) entry, receiver);
+        }
+        return entry;
+    }
+
     public static Object getValue(PropertyDescriptor property, Object receiver) {
         if (property.isAccessorDescriptor()) {
             DynamicObject getter = (DynamicObject) property.getGet();
@@ -154,10 +191,10 @@ public final class JSDictionaryObject extends JSBuiltinObject {
     @TruffleBoundary
     @Override
     public boolean delete(DynamicObject thisObj, Object key, boolean isStrict) {
-        EconomicMap<Object, PropertyDescriptor> hashMap = getHashMap(thisObj);
-        PropertyDescriptor desc = hashMap.get(key);
-        if (desc != null) {
-            if (!desc.getConfigurable()) {
+        EconomicMap<Object, Object> hashMap = getHashMap(thisObj);
+        Object entry = hashMap.get(key);
+        if (entry != null) {
+            if (entry instanceof PropertyDescriptor && !((PropertyDescriptor) entry).getConfigurable()) {
                 if (isStrict) {
                     throw Errors.createTypeErrorNotConfigurableProperty(key);
                 }
@@ -200,9 +237,13 @@ public final class JSDictionaryObject extends JSBuiltinObject {
         if (receiver != thisObj) {
             return ordinarySetWithReceiver(thisObj, key, value, receiver, isStrict);
         }
-        PropertyDescriptor property = getHashMap(thisObj).get(key);
-        if (property != null) {
-            return setValue(key, property, thisObj, receiver, value, isStrict);
+        EconomicMap<Object, Object> hashMap = getHashMap(thisObj);
+        Object entry = hashMap.get(key);
+        if (entry instanceof PropertyDescriptor) {
+            return setValue(key, (PropertyDescriptor) entry, thisObj, receiver, value, isStrict);
+        } else if (entry != null) {
+            hashMap.put(key, value);
+            return true;
         }
         Property entry = DefinePropertyUtil.getPropertyByKey(thisObj, key);
         if (entry != null) {
@@ -240,9 +281,11 @@ public final class JSDictionaryObject extends JSBuiltinObject {
     @Override
     public PropertyDescriptor getOwnProperty(DynamicObject thisObj, Object key) {
         assert JSRuntime.isPropertyKey(key);
-        PropertyDescriptor prop = getHashMap(thisObj).get(key);
-        if (prop != null) {
-            return prop;
+        Object entry = getHashMap(thisObj).get(key);
+        if (entry instanceof PropertyDescriptor) {
+            return (PropertyDescriptor) entry;
+        } else if (entry != null) {
+            return PropertyDescriptor.createDataDefault(entry);
         }
         return super.getOwnProperty(thisObj, key);
     }
@@ -251,7 +294,7 @@ public final class JSDictionaryObject extends JSBuiltinObject {
     @Override
     public boolean defineOwnProperty(DynamicObject thisObj, Object key, PropertyDescriptor desc, boolean doThrow) {
         if (!hasOwnProperty(thisObj, key) && JSObject.isExtensible(thisObj)) {
-            getHashMap(thisObj).put(key, desc);
+            getHashMap(thisObj).put(key, toEntry(desc));
             return true;
         }
 
@@ -261,11 +304,26 @@ public final class JSDictionaryObject extends JSBuiltinObject {
         return super.defineOwnProperty(thisObj, key, desc, doThrow);
     }
 
+    private static Object toEntry(PropertyDescriptor desc) {
+        if (desc.isDataDescriptor() && desc.getWritable() && desc.getEnumerable() && desc.getConfigurable()) {
+            return desc.hasValue() ? desc.getValue() : Undefined.instance;
+        }
+        return desc;
+    }
+
+    /**
+     * Adds a plain data property, i.e. writable, enumerable, and configurable.
+     */
+    static void putPlainValue(DynamicObject obj, Object key, Object value) {
+        assert !(value instanceof PropertyDescriptor);
+        getHashMap(obj).put(key, value);
+    }
+
     @SuppressWarnings("unchecked")
-    static EconomicMap<Object, PropertyDescriptor> getHashMap(DynamicObject obj) {
+    private static EconomicMap<Object, Object> getHashMap(DynamicObject obj) {
         assert JSDictionaryObject.isJSDictionaryObject(obj);
         Property hashMapProperty = obj.getShape().getProperty(HASHMAP_PROPERTY_NAME);
-        return (EconomicMap<Object, PropertyDescriptor>) hashMapProperty.get(obj, false);
+        return (EconomicMap<Object, Object>) hashMapProperty.get(obj, false);
     }
 
     public static void makeDictionaryObject(DynamicObject obj, String reason) {
@@ -284,7 +342,7 @@ public final class JSDictionaryObject extends JSBuiltinObject {
         JSContext context = JSObject.getJSContext(obj);
         Shape hashedShape = makeEmptyShapeForNewType(context, currentShape, JSDictionaryObject.INSTANCE);
 
-        EconomicMap<Object, PropertyDescriptor> hashMap = newHashMap();
+        EconomicMap<Object, Object> hashMap = newHashMap();
         List<Property> properties = currentShape.getPropertyListInternal(true);
         for (Property p : properties) {
             Object key = p.getKey();
@@ -296,7 +354,7 @@ public final class JSDictionaryObject extends JSBuiltinObject {
             } else {
                 // normal properties
                 Object value = p.get(obj, false);
-                hashMap.put(key, toPropertyDescriptor(p, value));
+                hashMap.put(key, toEntry(p, value));
 
                 // invalidate property assumptions (for final properties)
                 JSShape.invalidatePropertyAssumption(currentShape, key);
@@ -328,9 +386,11 @@ public final class JSDictionaryObject extends JSBuiltinObject {
         }
     }
 
-    private static PropertyDescriptor toPropertyDescriptor(Property p, Object value) {
+    private static Object toEntry(Property p, Object value) {
         PropertyDescriptor desc;
-        if (JSProperty.isAccessor(p)) {
+        if (JSProperty.isData(p) && JSProperty.isWritable(p) && JSProperty.isEnumerable(p) && JSProperty.isConfigurable(p)) {
+            return value;
+        } else if (JSProperty.isAccessor(p)) {
             desc = PropertyDescriptor.createAccessor(((Accessor) value).getGetter(), ((Accessor) value).getSetter());
             desc.setConfigurable(JSProperty.isConfigurable(p));
             desc.setEnumerable(JSProperty.isEnumerable(p));
@@ -347,7 +407,7 @@ public final class JSDictionaryObject extends JSBuiltinObject {
             System.out.printf("transitioning from dictionary object to ordinary object: %s\n", reason);
         }
 
-        EconomicMap<Object, PropertyDescriptor> hashMap = getHashMap(obj);
+        EconomicMap<Object, Object> hashMap = getHashMap(obj);
         Shape oldShape = obj.getShape();
         JSContext context = JSObject.getJSContext(obj);
         Shape newShape = makeEmptyShapeForNewType(context, oldShape, JSUserObject.INSTANCE);
@@ -363,10 +423,15 @@ public final class JSDictionaryObject extends JSBuiltinObject {
         }
         obj.setShapeAndGrow(oldShape, newShape);
 
-        MapCursor<Object, PropertyDescriptor> cursor = hashMap.getEntries();
+        MapCursor<Object, Object> cursor = hashMap.getEntries();
         while (cursor.advance()) {
             Object key = cursor.getKey();
-            PropertyDescriptor desc = cursor.getValue();
+            Object entry = cursor.getValue();
+            if (!(entry instanceof PropertyDescriptor)) {
+                JSObjectUtil.defineDataProperty(obj, key, entry, JSAttributes.getDefault());
+                continue;
+            }
+            PropertyDescriptor desc = (PropertyDescriptor) entry;
             if (desc.isDataDescriptor()) {
                 JSObjectUtil.defineDataProperty(obj, key, desc.getValue(), desc.getFlags());
             } else {
@@ -390,7 +455,7 @@ public final class JSDictionaryObject extends JSBuiltinObject {
         return JSObject.create(context, context.getDictionaryObjectFactory(), newHashMap());
     }
 
-    private static EconomicMap<Object, PropertyDescriptor> newHashMap() {
+    private static EconomicMap<Object, Object> newHashMap() {
         return EconomicMap.create();
     }
 
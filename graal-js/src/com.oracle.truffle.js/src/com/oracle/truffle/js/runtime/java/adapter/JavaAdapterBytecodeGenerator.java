@@ -319,7 +319,7 @@ final class JavaAdapterBytecodeGenerator {
         return autoConvertibleFromFunction;
     }
 
-    private static String getGeneratedClassName(final Class<?> superType, final List<Class<?>> interfaces) {
+    static String getGeneratedClassName(final Class<?> superType, final List<Class<?>> interfaces) {
         /*
          * The class we use to primarily name our adapter is either the superclass, or if it is
          * Object (meaning we're just implementing interfaces or extending Object), then the first
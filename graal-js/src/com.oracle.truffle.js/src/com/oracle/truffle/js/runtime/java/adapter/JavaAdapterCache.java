@@ -0,0 +1,471 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.java.adapter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.graalvm.polyglot.Value;
+import org.objectweb.asm.ClassWriter;
+
+import com.oracle.truffle.api.TruffleFile;
+import com.oracle.truffle.api.TruffleLanguage.Env;
+
+/**
+ * Caches generated adapter classes across contexts and, if the {@code js.java-adapter-cache-dir}
+ * option is set, their bytecode across runs.
+ *
+ * Adapters are cached in a {@link ClassValue} of their naming type (the superclass or, if that is
+ * {@code Object}, the first interface). Cache entries must not keep class loaders alive: the
+ * adapted types in the keys and the shared adapter classes are only weakly referenced, so an
+ * adapter class is defined again from the cached bytecode if it has been unloaded, and entries of
+ * unloaded types are purged. The class loader used for an adapter is determined by the adapted
+ * types, so it is not part of the key. Adapters without class-level overrides do not depend on a
+ * context and are shared as classes; for adapters with class-level overrides, only the bytecode is
+ * shared and a class is defined for every set of overrides.
+ *
+ * On disk, each adapter is stored as a class file named after a digest of the adapted types and the
+ * class files of their type hierarchies and of the adapter generator, so that changes to any of them
+ * invalidate the entry. Types whose class files cannot be read are not cached on disk. Adapter
+ * classes are defined with all permissions, so entries are authenticated with an HMAC whose key is
+ * stored in the cache directory, and the directory is only used if it and the key file are owned
+ * by the current user and cannot be modified (or, for the key, read) by others. All file access goes
+ * through the context's file system.
+ */
+final class JavaAdapterCache {
+    private static final String FILE_SUFFIX = ".class";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final ClassValue<Map<AdapterKey, AdapterEntry>> ADAPTERS = new ClassValue<Map<AdapterKey, AdapterEntry>>() {
+        @Override
+        protected Map<AdapterKey, AdapterEntry> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private JavaAdapterCache() {
+    }
+
+    /**
+     * Returns the adapter class for the given types, generating (or loading from the cache directory)
+     * its bytecode only on the first request.
+     *
+     * @param cacheDirectory the directory of the on-disk cache, or an empty string to disable it
+     */
+    static Class<?> getAdapterClass(Class<?> superClass, List<Class<?>> interfaces, ClassLoader commonLoader, Value classOverrides, Env env, String cacheDirectory) {
+        boolean classOverride = classOverrides != null;
+        Class<?> namingType = superClass == Object.class && !interfaces.isEmpty() ? interfaces.get(0) : superClass;
+        AdapterKey key = new AdapterKey(superClass, interfaces, classOverride);
+        Map<AdapterKey, AdapterEntry> adapters = ADAPTERS.get(namingType);
+        AdapterEntry entry = adapters.get(key);
+        if (entry != null) {
+            return entry.getAdapterClass(commonLoader, classOverrides);
+        }
+
+        JavaAdapterClassLoader bytecode = null;
+        Class<?> adapterClass = null;
+        DiskCache diskCache = DiskCache.open(env, cacheDirectory);
+        String fileName = diskCache == null ? null : getCacheFileName(superClass, interfaces, classOverride);
+        if (fileName != null) {
+            byte[] classBytes = diskCache.read(fileName);
+            if (classBytes != null) {
+                try {
+                    bytecode = new JavaAdapterClassLoader(JavaAdapterBytecodeGenerator.getGeneratedClassName(superClass, interfaces), classBytes);
+                    adapterClass = bytecode.generateClass(commonLoader, classOverrides);
+                } catch (LinkageError | IllegalStateException e) {
+                    // stale entry, generate the adapter and overwrite it below
+                    bytecode = null;
+                }
+            }
+        }
+        if (bytecode == null) {
+            bytecode = new JavaAdapterBytecodeGenerator(superClass, interfaces, commonLoader, classOverride).createAdapterClassLoader();
+            adapterClass = bytecode.generateClass(commonLoader, classOverrides);
+            if (fileName != null) {
+                diskCache.write(fileName, bytecode.getClassBytes());
+            }
+        }
+
+        AdapterEntry existing = adapters.putIfAbsent(key, new AdapterEntry(bytecode, classOverride ? null : adapterClass));
+        if (existing == null) {
+            adapters.keySet().removeIf(AdapterKey::isStale);
+        } else if (!classOverride) {
+            // lost a race, use the class that is shared with the other callers
+            return existing.getAdapterClass(commonLoader, null);
+        }
+        return adapterClass;
+    }
+
+    private static String getCacheFileName(Class<?> superClass, List<Class<?>> interfaces, boolean classOverride) {
+        byte[] generatorFingerprint = GeneratorFingerprint.VALUE;
+        if (generatorFingerprint == null) {
+            return null;
+        }
+        MessageDigest digest = newDigest();
+        digest.update(generatorFingerprint);
+        digest.update((byte) (classOverride ? 1 : 0));
+        List<Class<?>> types = new ArrayList<>(interfaces.size() + 1);
+        types.add(superClass);
+        types.addAll(interfaces);
+        Set<Class<?>> hierarchy = new LinkedHashSet<>();
+        for (Class<?> type : types) {
+            digest.update(type.getName().getBytes(StandardCharsets.UTF_8));
+            collectHierarchy(type, hierarchy);
+        }
+        for (Class<?> type : hierarchy) {
+            if (!updateWithClassFile(digest, type)) {
+                return null;
+            }
+        }
+        return toHex(digest.digest()) + FILE_SUFFIX;
+    }
+
+    private static void collectHierarchy(Class<?> type, Set<Class<?>> hierarchy) {
+        if (type != null && hierarchy.add(type)) {
+            collectHierarchy(type.getSuperclass(), hierarchy);
+            for (Class<?> superInterface : type.getInterfaces()) {
+                collectHierarchy(superInterface, hierarchy);
+            }
+        }
+    }
+
+    private static boolean updateWithClassFile(MessageDigest digest, Class<?> type) {
+        try (InputStream in = type.getResourceAsStream("/" + type.getName().replace('.', '/') + FILE_SUFFIX)) {
+            if (in == null) {
+                return false;
+            }
+            digest.update(type.getName().getBytes(StandardCharsets.UTF_8));
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return true;
+        } catch (IOException | SecurityException e) {
+            return false;
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] hash) {
+        char[] hex = new char[hash.length * 2];
+        for (int i = 0; i < hash.length; i++) {
+            hex[2 * i] = HEX_DIGITS[(hash[i] >>> 4) & 0xf];
+            hex[2 * i + 1] = HEX_DIGITS[hash[i] & 0xf];
+        }
+        return new String(hex);
+    }
+
+    /**
+     * Digest of the class files that determine the generated bytecode besides the adapted types.
+     */
+    private static final class GeneratorFingerprint {
+        static final byte[] VALUE = compute();
+
+        private static byte[] compute() {
+            MessageDigest digest = newDigest();
+            for (Class<?> type : new Class<?>[]{JavaAdapterBytecodeGenerator.class, JavaAdapterServices.class, ClassWriter.class}) {
+                if (!updateWithClassFile(digest, type)) {
+                    return null;
+                }
+            }
+            return digest.digest();
+        }
+    }
+
+    /**
+     * The cache directory of a context. Entries consist of an HMAC-SHA256 over the file name and
+     * the class file, followed by the class file.
+     */
+    private static final class DiskCache {
+        private static final String KEY_FILE_NAME = "adapter-cache.key";
+        private static final String MAC_ALGORITHM = "HmacSHA256";
+        private static final int KEY_LENGTH = 32;
+        private static final int MAC_LENGTH = 32;
+        private static final FileAttribute<Set<PosixFilePermission>> OWNER_ONLY_DIRECTORY = PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------"));
+        private static final FileAttribute<Set<PosixFilePermission>> OWNER_ONLY_FILE = PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------"));
+
+        private final Env env;
+        private final TruffleFile directory;
+        private final byte[] key;
+
+        private DiskCache(Env env, TruffleFile directory, byte[] key) {
+            this.env = env;
+            this.directory = directory;
+            this.key = key;
+        }
+
+        /**
+         * Returns the cache directory, or {@code null} if the cache is disabled, IO is not allowed,
+         * or the directory cannot be trusted.
+         */
+        static DiskCache open(Env env, String cacheDirectory) {
+            if (cacheDirectory.isEmpty()) {
+                return null;
+            }
+            try {
+                TruffleFile directory = env.getPublicTruffleFile(cacheDirectory);
+                if (!directory.exists()) {
+                    directory.createDirectories(OWNER_ONLY_DIRECTORY);
+                }
+                if (!isTrusted(directory, false)) {
+                    return null;
+                }
+                byte[] key = readOrCreateKey(env, directory);
+                return key == null ? null : new DiskCache(env, directory, key);
+            } catch (IOException | SecurityException | UnsupportedOperationException | IllegalArgumentException e) {
+                // IO is not allowed or the file system does not support POSIX permissions
+                return null;
+            }
+        }
+
+        private static byte[] readOrCreateKey(Env env, TruffleFile directory) throws IOException {
+            TruffleFile keyFile = directory.resolve(KEY_FILE_NAME);
+            if (!keyFile.exists()) {
+                byte[] newKey = new byte[KEY_LENGTH];
+                new SecureRandom().nextBytes(newKey);
+                publish(env, directory, keyFile, newKey, null);
+            }
+            if (!isTrusted(keyFile, true)) {
+                return null;
+            }
+            byte[] keyBytes = keyFile.readAllBytes();
+            return keyBytes.length == KEY_LENGTH ? keyBytes : null;
+        }
+
+        /**
+         * Returns whether the file is owned by the current user and cannot be modified (or, if it
+         * is secret, read) by other users.
+         */
+        private static boolean isTrusted(TruffleFile file, boolean secret) throws IOException {
+            if (!file.getOwner().getName().equals(System.getProperty("user.name"))) {
+                return false;
+            }
+            Set<PosixFilePermission> permissions = file.getPosixPermissions();
+            if (permissions.contains(PosixFilePermission.GROUP_WRITE) || permissions.contains(PosixFilePermission.OTHERS_WRITE)) {
+                return false;
+            }
+            return !secret || !(permissions.contains(PosixFilePermission.GROUP_READ) || permissions.contains(PosixFilePermission.OTHERS_READ));
+        }
+
+        /**
+         * Returns the class file of a verified entry, or {@code null} if there is no valid entry.
+         */
+        byte[] read(String fileName) {
+            try {
+                TruffleFile file = directory.resolve(fileName);
+                if (!file.isRegularFile()) {
+                    return null;
+                }
+                byte[] content = file.readAllBytes();
+                if (content.length <= MAC_LENGTH) {
+                    return null;
+                }
+                byte[] classBytes = Arrays.copyOfRange(content, MAC_LENGTH, content.length);
+                if (!MessageDigest.isEqual(mac(fileName, classBytes), Arrays.copyOf(content, MAC_LENGTH))) {
+                    return null;
+                }
+                return classBytes;
+            } catch (IOException | SecurityException e) {
+                return null;
+            }
+        }
+
+        void write(String fileName, byte[] classBytes) {
+            try {
+                publish(env, directory, directory.resolve(fileName), mac(fileName, classBytes), classBytes);
+            } catch (IOException | RuntimeException e) {
+                // the cache is best-effort; the generated adapter is still usable
+            }
+        }
+
+        private byte[] mac(String fileName, byte[] classBytes) {
+            try {
+                Mac mac = Mac.getInstance(MAC_ALGORITHM);
+                mac.init(new SecretKeySpec(key, MAC_ALGORITHM));
+                mac.update(fileName.getBytes(StandardCharsets.UTF_8));
+                mac.update((byte) 0);
+                return mac.doFinal(classBytes);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        /**
+         * Writes the file atomically, so that concurrent readers never see a partially written file.
+         */
+        private static void publish(Env env, TruffleFile directory, TruffleFile file, byte[] head, byte[] tail) throws IOException {
+            TruffleFile tempFile = env.createTempFile(directory, "adapter", ".tmp", OWNER_ONLY_FILE);
+            try {
+                try (OutputStream out = tempFile.newOutputStream()) {
+                    out.write(head);
+                    if (tail != null) {
+                        out.write(tail);
+                    }
+                }
+                tempFile.move(file, StandardCopyOption.ATOMIC_MOVE);
+                tempFile = null;
+            } finally {
+                if (tempFile != null) {
+                    try {
+                        tempFile.delete();
+                    } catch (IOException | SecurityException e) {
+                        // ignore
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The superclass and interfaces of an adapter. The types are only weakly referenced; a key whose
+     * types have been unloaded is stale and equal only to itself.
+     */
+    private static final class AdapterKey {
+        private final List<WeakReference<Class<?>>> types;
+        private final boolean classOverride;
+        private final int hash;
+
+        AdapterKey(Class<?> superClass, List<Class<?>> interfaces, boolean classOverride) {
+            List<WeakReference<Class<?>>> list = new ArrayList<>(interfaces.size() + 1);
+            int h = 31 * superClass.hashCode();
+            list.add(new WeakReference<>(superClass));
+            for (Class<?> type : interfaces) {
+                h = 31 * h + type.hashCode();
+                list.add(new WeakReference<>(type));
+            }
+            this.types = list;
+            this.classOverride = classOverride;
+            this.hash = 31 * h + (classOverride ? 1 : 0);
+        }
+
+        boolean isStale() {
+            for (WeakReference<Class<?>> type : types) {
+                if (type.get() == null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof AdapterKey)) {
+                return false;
+            }
+            AdapterKey other = (AdapterKey) obj;
+            if (classOverride != other.classOverride || hash != other.hash || types.size() != other.types.size()) {
+                return false;
+            }
+            for (int i = 0; i < types.size(); i++) {
+                Class<?> type = types.get(i).get();
+                if (type == null || type != other.types.get(i).get()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class AdapterEntry {
+        private final JavaAdapterClassLoader bytecode;
+        /**
+         * The shared adapter class, or {@code null} for adapters with class-level overrides. Only
+         * weakly referenced, since it keeps the class loaders of the adapted types alive.
+         */
+        private WeakReference<Class<?>> adapterClass;
+
+        AdapterEntry(JavaAdapterClassLoader bytecode, Class<?> adapterClass) {
+            this.bytecode = bytecode;
+            this.adapterClass = adapterClass == null ? null : new WeakReference<>(adapterClass);
+        }
+
+        Class<?> getAdapterClass(ClassLoader commonLoader, Value classOverrides) {
+            if (classOverrides != null) {
+                return bytecode.generateClass(commonLoader, classOverrides);
+            }
+            synchronized (this) {
+                Class<?> sharedClass = adapterClass == null ? null : adapterClass.get();
+                if (sharedClass == null) {
+                    sharedClass = bytecode.generateClass(commonLoader, null);
+                    adapterClass = new WeakReference<>(sharedClass);
+                }
+                return sharedClass;
+            }
+        }
+    }
+}
@@ -78,6 +78,10 @@ final class JavaAdapterClassLoader {
         this.classBytes = classBytes;
     }
 
+    byte[] getClassBytes() {
+        return classBytes;
+    }
+
     /**
      * Loads the generated adapter class into the JVM.
      *
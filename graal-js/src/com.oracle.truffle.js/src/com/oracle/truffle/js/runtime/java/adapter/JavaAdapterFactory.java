@@ -53,7 +53,9 @@ import org.graalvm.polyglot.Value;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
 import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.JSRealm;
 import com.oracle.truffle.js.runtime.JSRuntime;
 
 /**
@@ -102,7 +104,7 @@ public final class JavaAdapterFactory {
         superClass = superClass != null ? superClass : Object.class;
 
         ClassLoader commonLoader = classLoader != null ? classLoader : getCommonClassLoader(types);
-        return getAdapterClassForCommon(superClass, interfaces, classOverrides, commonLoader);
+        return getAdapterClassForCommon(superClass, interfaces, classOverrides, commonLoader, classLoader == null);
     }
 
     @TruffleBoundary
@@ -116,15 +118,24 @@ public final class JavaAdapterFactory {
         List<Class<?>> interfaces = !isInterface ? Collections.<Class<?>> emptyList() : Collections.<Class<?>> singletonList(type);
 
         ClassLoader commonLoader = classLoader != null ? classLoader : type.getClassLoader();
-        return getAdapterClassForCommon(superClass, interfaces, classOverrides, commonLoader);
+        return getAdapterClassForCommon(superClass, interfaces, classOverrides, commonLoader, classLoader == null);
     }
 
-    private static Class<?> getAdapterClassForCommon(Class<?> superClass, List<Class<?>> interfaces, DynamicObject classOverrides, ClassLoader commonLoader) {
+    /**
+     * Adapters are shared via the {@link JavaAdapterCache} unless an explicit class loader is given,
+     * which would then be kept alive by the cache.
+     */
+    private static Class<?> getAdapterClassForCommon(Class<?> superClass, List<Class<?>> interfaces, DynamicObject classOverrides, ClassLoader commonLoader, boolean cacheable) {
         boolean classOverride = classOverrides != null && JSRuntime.isObject(classOverrides);
+        Value classOverridesValue = classOverride ? Context.getCurrent().asValue(classOverrides) : null;
+        if (cacheable) {
+            JSRealm realm = JavaScriptLanguage.getCurrentJSRealm();
+            String cacheDirectory = realm.getContext().getContextOptions().getJavaAdapterCacheDir();
+            return JavaAdapterCache.getAdapterClass(superClass, interfaces, commonLoader, classOverridesValue, realm.getEnv(), cacheDirectory);
+        }
+
         JavaAdapterBytecodeGenerator bytecodeGenerator = new JavaAdapterBytecodeGenerator(superClass, interfaces, commonLoader, classOverride);
         JavaAdapterClassLoader generatedClassLoader = bytecodeGenerator.createAdapterClassLoader();
-
-        Value classOverridesValue = classOverride ? Context.getCurrent().asValue(classOverrides) : null;
         return generatedClassLoader.generateClass(commonLoader, classOverridesValue);
     }
 
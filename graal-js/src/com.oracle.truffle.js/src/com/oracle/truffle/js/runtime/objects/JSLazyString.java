@@ -40,6 +40,8 @@
  */
 package com.oracle.truffle.js.runtime.objects;
 
+import java.nio.charset.StandardCharsets;
+
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.TruffleLanguage;
@@ -162,12 +164,31 @@ public final class JSLazyString implements CharSequence, TruffleObject, JSLazySt
         return new JSLazyString(new JSLazyIntWrapper(left), right);
     }
 
+    /**
+     * Creates a string from valid UTF-8 bytes (that the caller must not modify afterwards) that is
+     * decoded only when its characters are needed. As long as the string has not been flattened,
+     * its UTF-8 encoding is available via {@link #getUTF8Bytes()}.
+     *
+     * @param utf8 well-formed UTF-8 bytes
+     * @param length the number of UTF-16 code units of the decoded string
+     */
+    @TruffleBoundary
+    public static CharSequence createLazyUTF8(byte[] utf8, int length) {
+        if (!JSConfig.LazyStrings || length < JSConfig.MinLazyStringLength) {
+            return new String(utf8, StandardCharsets.UTF_8);
+        }
+        if (length > JavaScriptLanguage.getCurrentJSRealm().getContext().getStringLengthLimit()) {
+            throw Errors.createRangeErrorInvalidStringLength();
+        }
+        return new JSLazyString(new JSLazyUTF8Wrapper(utf8, length), "", length);
+    }
+
     private CharSequence left;
     private CharSequence right;
     private final int length;
 
     private JSLazyString(CharSequence left, CharSequence right, int length) {
-        assert left.length() > 0 && right.length() > 0 && length == left.length() + right.length();
+        assert left.length() > 0 && (right.length() > 0 || left instanceof JSLazyUTF8Wrapper) && length == left.length() + right.length();
         this.left = left;
         this.right = right;
         this.length = length;
@@ -201,8 +222,26 @@ public final class JSLazyString implements CharSequence, TruffleObject, JSLazySt
         return right == null;
     }
 
+    /**
+     * Returns the UTF-8 encoding of this string if it was created from UTF-8 bytes and has not been
+     * flattened yet, {@code null} otherwise. The returned array must not be modified.
+     */
+    public byte[] getUTF8Bytes() {
+        CharSequence r = right;
+        CharSequence l = left;
+        if (r != null && r.length() == 0 && l instanceof JSLazyUTF8Wrapper) {
+            return ((JSLazyUTF8Wrapper) l).utf8;
+        }
+        return null;
+    }
+
     @TruffleBoundary
     private void flatten() {
+        if (left instanceof JSLazyUTF8Wrapper && right.length() == 0) {
+            left = left.toString();
+            right = null;
+            return;
+        }
         char[] dst = new char[length];
         flatten(this, 0, length, dst, 0);
         left = new String(dst);
@@ -254,7 +293,7 @@ public final class JSLazyString implements CharSequence, TruffleObject, JSLazySt
                 ((String) str).getChars(from, to, dst, dstFrom);
                 return;
             } else {
-                assert JSRuntime.isString(str) || str instanceof JSLazyIntWrapper;
+                assert JSRuntime.isString(str) || str instanceof JSLazyIntWrapper || str instanceof JSLazyUTF8Wrapper;
                 str.toString().getChars(from, to, dst, dstFrom);
                 return;
             }
@@ -317,6 +356,40 @@ public final class JSLazyString implements CharSequence, TruffleObject, JSLazySt
 
     }
 
+    private static final class JSLazyUTF8Wrapper implements CharSequence {
+
+        private final byte[] utf8;
+        private final int length;
+
+        JSLazyUTF8Wrapper(byte[] utf8, int length) {
+            this.utf8 = utf8;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return toString().charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            String str = new String(utf8, StandardCharsets.UTF_8);
+            assert str.length() == length;
+            return str;
+        }
+
+    }
+
     public static boolean isInstance(TruffleObject object) {
         return object instanceof JSLazyString;
     }
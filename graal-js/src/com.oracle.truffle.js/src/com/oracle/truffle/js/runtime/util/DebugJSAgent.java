@@ -181,16 +181,6 @@ public class DebugJSAgent extends JSAgent {
         quit = true;
     }
 
-    @Override
-    @TruffleBoundary
-    public void wakeAgent(int w) {
-        for (AgentExecutor e : spawnedAgent) {
-            if (e.jsAgent.getSignifier() == w) {
-                e.thread.interrupt();
-            }
-        }
-    }
-
     private static final class AgentExecutor {
 
         private final DebugJSAgent jsAgent;
@@ -0,0 +1,315 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.graalvm.polyglot.Context;
+
+import com.oracle.truffle.js.lang.JavaScriptLanguage;
+import com.oracle.truffle.js.runtime.JSAgent;
+
+/**
+ * Multiplexes many ECMAScript agents, each with its own polyglot {@link Context}, over a bounded
+ * set of threads.
+ *
+ * The tasks of an agent run one at a time and in submission order, but not necessarily on the same
+ * thread. An agent that has run {@value #TASKS_PER_TURN} tasks yields its thread to the other agents.
+ * When the scheduler runs on a {@link ForkJoinPool} (the default), agents that become ready on a
+ * worker are queued locally to that worker and idle workers steal them. Any other {@link Executor},
+ * e.g. one that starts a virtual thread per task, can be used instead.
+ *
+ * The agents can block in {@code Atomics.wait}. A blocked agent keeps its thread, as the Java stack
+ * of the JavaScript code cannot be unwound, but it blocks in {@link ForkJoinPool#managedBlock} so
+ * that a {@link ForkJoinPool} can activate a spare worker in the meantime.
+ */
+public final class JSAgentScheduler implements AutoCloseable {
+
+    static final int TASKS_PER_TURN = 16;
+
+    private final Executor executor;
+    private final boolean ownsExecutor;
+    private final Set<Agent> agents = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    /**
+     * Creates a scheduler that runs the agents on a new work-stealing pool with the given number of
+     * threads.
+     */
+    public JSAgentScheduler(int parallelism) {
+        this(new ForkJoinPool(parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true), true);
+    }
+
+    /**
+     * Creates a scheduler that runs the agents on the given executor. The executor is not shut down
+     * by {@link #close()}.
+     */
+    public JSAgentScheduler(Executor executor) {
+        this(executor, false);
+    }
+
+    private JSAgentScheduler(Executor executor, boolean ownsExecutor) {
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    /**
+     * Creates an agent whose context is built by the given factory on the first task of the agent.
+     */
+    public Agent createAgent(Supplier<Context> contextFactory) {
+        if (closed) {
+            throw new IllegalStateException("Scheduler is closed");
+        }
+        Agent agent = new Agent(contextFactory);
+        agents.add(agent);
+        return agent;
+    }
+
+    public Agent createAgent(Context.Builder contextBuilder) {
+        return createAgent(contextBuilder::build);
+    }
+
+    /**
+     * Returns the number of agents that have not been closed.
+     */
+    public int getAgentCount() {
+        return agents.size();
+    }
+
+    /**
+     * Closes all agents (after their pending tasks) and, if the scheduler created its own pool,
+     * shuts the pool down.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        CompletableFuture<?>[] closing = agents.stream().map(Agent::close).toArray(CompletableFuture<?>[]::new);
+        CompletableFuture.allOf(closing).join();
+        if (ownsExecutor) {
+            ((ForkJoinPool) executor).shutdown();
+        }
+    }
+
+    private void dispatch(Agent agent) {
+        if (executor instanceof ForkJoinPool && ForkJoinTask.getPool() == executor) {
+            // push to the queue of the current worker, other workers steal from it
+            ForkJoinTask.adapt(agent::runTurn).fork();
+        } else {
+            executor.execute(agent::runTurn);
+        }
+    }
+
+    private static long currentThreadCpuTime() {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        return threadBean.isCurrentThreadCpuTimeSupported() ? threadBean.getCurrentThreadCpuTime() : 0L;
+    }
+
+    /**
+     * An ECMAScript agent run by the scheduler.
+     */
+    public final class Agent {
+
+        private final Supplier<Context> contextFactory;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicLong cpuTimeNanos = new AtomicLong();
+        private final AtomicLong completedTasks = new AtomicLong();
+        private volatile boolean closing;
+
+        /** Accessed only by the thread that currently runs the agent. */
+        private Context context;
+
+        Agent(Supplier<Context> contextFactory) {
+            this.contextFactory = contextFactory;
+        }
+
+        /**
+         * Schedules the given task on this agent. Values of the context should not escape the task,
+         * as they must not be used while the agent runs on another thread.
+         */
+        public <T> CompletableFuture<T> submit(Function<Context, T> task) {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            if (closing) {
+                result.completeExceptionally(new RejectedExecutionException("Agent is closed"));
+                return result;
+            }
+            enqueue(() -> {
+                T value = null;
+                Throwable error = null;
+                try {
+                    value = task.apply(getContext());
+                } catch (Throwable t) {
+                    error = t;
+                }
+                finishTask(result, value, error);
+            });
+            return result;
+        }
+
+        /**
+         * Closes the context of this agent after the tasks submitted so far.
+         */
+        public CompletableFuture<Void> close() {
+            CompletableFuture<Void> result = new CompletableFuture<>();
+            if (closing) {
+                result.complete(null);
+                return result;
+            }
+            closing = true;
+            enqueue(() -> {
+                Throwable error = null;
+                try {
+                    if (context != null) {
+                        context.close();
+                        context = null;
+                    }
+                } catch (Throwable t) {
+                    error = t;
+                } finally {
+                    agents.remove(this);
+                }
+                finishTask(result, null, error);
+            });
+            return result;
+        }
+
+        /**
+         * Returns the CPU time spent by the threads of the scheduler on the tasks of this agent, or 0
+         * if the JVM does not support measuring thread CPU time.
+         */
+        public long getCpuTimeNanos() {
+            return cpuTimeNanos.get();
+        }
+
+        public long getCompletedTaskCount() {
+            return completedTasks.get();
+        }
+
+        /**
+         * Counts the task as completed before completing its future, so that the count includes the
+         * task once the future is done.
+         */
+        private <T> void finishTask(CompletableFuture<T> result, T value, Throwable error) {
+            completedTasks.incrementAndGet();
+            if (error == null) {
+                result.complete(value);
+            } else {
+                result.completeExceptionally(error);
+            }
+        }
+
+        private void enqueue(Runnable task) {
+            tasks.add(task);
+            if (scheduled.compareAndSet(false, true)) {
+                dispatch(this);
+            }
+        }
+
+        private Context getContext() {
+            if (context == null) {
+                Context newContext = contextFactory.get();
+                newContext.initialize(JavaScriptLanguage.ID);
+                newContext.enter();
+                try {
+                    JavaScriptLanguage.getCurrentJSRealm().setAgent(new ScheduledJSAgent());
+                } finally {
+                    newContext.leave();
+                }
+                context = newContext;
+            }
+            return context;
+        }
+
+        private void runTurn() {
+            long start = currentThreadCpuTime();
+            try {
+                for (int i = 0; i < TASKS_PER_TURN; i++) {
+                    Runnable task = tasks.poll();
+                    if (task == null) {
+                        break;
+                    }
+                    task.run();
+                }
+            } finally {
+                cpuTimeNanos.addAndGet(currentThreadCpuTime() - start);
+                scheduled.set(false);
+                // a task enqueued after the last poll may have seen scheduled == true
+                if (!tasks.isEmpty() && scheduled.compareAndSet(false, true)) {
+                    dispatch(this);
+                }
+            }
+        }
+    }
+
+    /**
+     * The agent record of a context run by the scheduler; it can block in {@code Atomics.wait}.
+     */
+    static final class ScheduledJSAgent extends JSAgent {
+
+        ScheduledJSAgent() {
+            super(true);
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public void terminate(int timeout) {
+            // No-op: the agent is terminated by closing its context.
+        }
+    }
+}
@@ -40,12 +40,24 @@
  */
 package com.oracle.truffle.js.runtime.util;
 
-import java.util.HashMap;
+import java.util.Arrays;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.js.runtime.Errors;
 
 /**
  * ES6-compliant hash map implementation.
+ *
+ * Entries are kept in insertion order in dense arrays, indexed by a separate chained hash table
+ * (a deterministic hash table in the style of V8's OrderedHashTable). Removed entries leave a hole
+ * that is squeezed out when the table is rehashed. Keys are stored unboxed as long as all keys are
+ * {@code int}s or numbers (keys are expected to be normalized, see
+ * {@link com.oracle.truffle.js.runtime.builtins.JSSet#normalize}); other keys switch the map to
+ * generic storage, which also keeps the hash codes so that mismatching (e.g. string) keys are
+ * usually rejected without calling {@code equals}.
+ *
+ * When a table is rehashed or cleared, it is replaced by a new table and remembers which entries
+ * were removed, so that cursors positioned in the old table can continue in the new one.
  */
 public final class JSHashMap {
     public interface Cursor {
@@ -72,21 +84,26 @@ public final class JSHashMap {
         Cursor copy();
     }
 
-    private final HashMap<Object, Node> map;
-    private final Node head;
-    private Node tail;
+    /** All keys are {@code int}s. */
+    private static final int INT_KEYS = 0;
+    /** All keys are {@code int}s or {@code double}s (stored as {@code double}). */
+    private static final int NUMBER_KEYS = 1;
+    /** Arbitrary keys. */
+    private static final int OBJECT_KEYS = 2;
+
+    private static final int INITIAL_CAPACITY = 4;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private Table table;
 
     @TruffleBoundary(allowInlining = true)
     public JSHashMap() {
-        this.map = new HashMap<>();
-        Node dummy = new Node(null, null, null, null);
-        this.head = dummy;
-        this.tail = dummy;
+        this.table = new Table(INT_KEYS, INITIAL_CAPACITY);
     }
 
     @TruffleBoundary(allowInlining = true)
     public int size() {
-        return map.size();
+        return table.size;
     }
 
     /**
@@ -94,172 +111,385 @@ public final class JSHashMap {
      */
     @TruffleBoundary
     public void put(Object key, Object value) {
-        Node newNode = new Node(key, value, null, null);
-        Node oldNode = map.putIfAbsent(key, newNode);
-        if (oldNode == null) {
-            newNode.setPrev(tail);
-            tail.setNext(newNode);
-            tail = newNode;
-        } else {
-            oldNode.setValue(value);
+        assert key != null && value != null;
+        Table t = table;
+        int keyMode = keyMode(key);
+        if (keyMode > t.mode) {
+            if (t.usedEntries == 0) {
+                t.allocateKeys(keyMode, t.capacity());
+            } else {
+                t = rehash(keyMode, t.capacity());
+            }
+        }
+        int index = findEntry(t, key);
+        if (index >= 0) {
+            t.values[index] = value;
+            return;
+        }
+        if (t.usedEntries == t.capacity()) {
+            // grow, unless enough holes can be squeezed out
+            int capacity = t.capacity();
+            if (t.size >= capacity >> 1) {
+                if (capacity >= MAX_CAPACITY) {
+                    throw Errors.createRangeError("Maximum Map or Set size exceeded");
+                }
+                capacity <<= 1;
+            }
+            t = rehash(t.mode, capacity);
+        }
+        switch (t.mode) {
+            case INT_KEYS:
+                t.appendInt((Integer) key, value);
+                break;
+            case NUMBER_KEYS:
+                t.appendNumber(((Number) key).doubleValue(), value);
+                break;
+            default:
+                t.appendObject(key, hashObject(key), value);
+                break;
         }
     }
 
     @TruffleBoundary
     public Object get(Object key) {
-        Node node = map.get(key);
-        return node == null ? null : node.getValue();
+        Table t = table;
+        int index = findEntry(t, key);
+        return index < 0 ? null : t.values[index];
     }
 
     @TruffleBoundary
     public boolean has(Object key) {
-        return map.containsKey(key);
+        return findEntry(table, key) >= 0;
     }
 
     @TruffleBoundary
     public boolean remove(Object key) {
-        Node node = map.remove(key);
-        if (node == null) {
+        Table t = table;
+        int index = findEntry(t, key);
+        if (index < 0) {
             return false;
-        } else {
-            unlink(node);
-            return true;
         }
-    }
-
-    private void unlink(Node node) {
-        Node next = node.getNext();
-        Node prev = node.getPrev();
-        prev.setNext(next);
-        if (next != null) {
-            next.setPrev(prev);
-        } else {
-            tail = prev;
+        t.removeEntry(index);
+        int capacity = t.capacity();
+        if (capacity > INITIAL_CAPACITY && t.size < capacity >> 2) {
+            rehash(t.mode, capacity >> 1);
         }
-        node.setEmpty();
+        return true;
     }
 
     @TruffleBoundary
     public void clear() {
-        map.clear();
-        for (Node current = head.getNext(); current != null; current = current.getNext()) {
-            current.setEmpty();
-        }
-        head.setNext(null);
-        tail = head;
+        Table newTable = new Table(INT_KEYS, INITIAL_CAPACITY);
+        table.replaceWith(newTable, null);
+        table = newTable;
     }
 
     @TruffleBoundary
     @Override
     public String toString() {
-        return map.toString();
+        StringBuilder sb = new StringBuilder("{");
+        Cursor cursor = getEntries();
+        boolean first = true;
+        while (cursor.advance()) {
+            if (!first) {
+                sb.append(", ");
+            }
+            first = false;
+            sb.append(cursor.getKey()).append('=').append(cursor.getValue());
+        }
+        return sb.append('}').toString();
     }
 
     public Cursor getEntries() {
-        return new CursorImpl(head);
+        return new CursorImpl(table, 0);
     }
 
-    private static final class CursorImpl implements Cursor {
-        private Node current;
-
-        CursorImpl(Node head) {
-            this.current = head;
+    private static int keyMode(Object key) {
+        if (key instanceof Integer) {
+            return INT_KEYS;
+        } else if (key instanceof Double) {
+            return NUMBER_KEYS;
+        } else {
+            return OBJECT_KEYS;
         }
+    }
 
-        @Override
-        public boolean advance() {
-            if (current == null) {
-                return false;
-            } else {
-                // if current is no longer in the map, back up to a previous node still in the map
-                while (current.isEmpty() && current.getPrev() != null) {
-                    current = current.getPrev();
+    private static int findEntry(Table t, Object key) {
+        switch (t.mode) {
+            case INT_KEYS:
+                if (key instanceof Integer) {
+                    int intKey = (Integer) key;
+                    for (int i = t.buckets[hashInt(intKey) & t.bucketMask()]; i >= 0; i = t.chain[i]) {
+                        if (t.intKeys[i] == intKey && t.values[i] != null) {
+                            return i;
+                        }
+                    }
                 }
-                Node next = current.getNext();
-                assert next == null || next.getKey() != null;
-                current = next;
-                return next != null;
+                return -1;
+            case NUMBER_KEYS:
+                if (key instanceof Integer || key instanceof Double) {
+                    long bits = Double.doubleToLongBits(((Number) key).doubleValue());
+                    for (int i = t.buckets[hashLong(bits) & t.bucketMask()]; i >= 0; i = t.chain[i]) {
+                        if (Double.doubleToLongBits(t.numberKeys[i]) == bits && t.values[i] != null) {
+                            return i;
+                        }
+                    }
+                }
+                return -1;
+            default:
+                int hash = hashObject(key);
+                for (int i = t.buckets[hash & t.bucketMask()]; i >= 0; i = t.chain[i]) {
+                    if (t.hashes[i] == hash && t.values[i] != null) {
+                        Object entryKey = t.objectKeys[i];
+                        if (entryKey == key || key.equals(entryKey)) {
+                            return i;
+                        }
+                    }
+                }
+                return -1;
+        }
+    }
+
+    /**
+     * Copies all live entries into a new table, replacing the current one.
+     */
+    private Table rehash(int newMode, int newCapacity) {
+        Table oldTable = table;
+        Table newTable = new Table(newMode, newCapacity);
+        int[] removed = new int[oldTable.usedEntries - oldTable.size];
+        int removedCount = 0;
+        for (int i = 0; i < oldTable.usedEntries; i++) {
+            Object value = oldTable.values[i];
+            if (value == null) {
+                removed[removedCount++] = i;
+                continue;
+            }
+            switch (newMode) {
+                case INT_KEYS:
+                    newTable.appendInt(oldTable.intKeys[i], value);
+                    break;
+                case NUMBER_KEYS:
+                    newTable.appendNumber(oldTable.mode == INT_KEYS ? oldTable.intKeys[i] : oldTable.numberKeys[i], value);
+                    break;
+                default:
+                    Object key = oldTable.getKey(i);
+                    newTable.appendObject(key, oldTable.mode == OBJECT_KEYS ? oldTable.hashes[i] : hashObject(key), value);
+                    break;
             }
         }
+        assert removedCount == removed.length;
+        oldTable.replaceWith(newTable, removed);
+        table = newTable;
+        return newTable;
+    }
 
-        @Override
-        public Object getKey() {
-            Object key = current.getKey();
-            assert key != null;
-            return key;
+    private static int hashInt(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int hashLong(long key) {
+        return hashInt((int) (key ^ (key >>> 32)));
+    }
+
+    private static int hashNumber(double key) {
+        return hashLong(Double.doubleToLongBits(key));
+    }
+
+    private static int hashObject(Object key) {
+        return hashInt(key.hashCode());
+    }
+
+    private static final class Table {
+        int mode;
+        int[] intKeys;
+        double[] numberKeys;
+        Object[] objectKeys;
+        /** Hash codes of {@link #objectKeys}. */
+        int[] hashes;
+        /** Entry values, {@code null} for removed entries. */
+        Object[] values;
+        /** Index of the next entry in the same bucket, or -1. */
+        int[] chain;
+        /** Index of the first entry of each bucket, or -1. */
+        int[] buckets;
+        /** Number of entries appended so far, including removed entries. */
+        int usedEntries;
+        int size;
+
+        /** The table that replaced this one, or {@code null} if this is the current table. */
+        Table next;
+        /** Indices of the entries removed during the replacement, {@code null} if cleared. */
+        int[] removedIndices;
+
+        Table(int mode, int capacity) {
+            assert Integer.bitCount(capacity) == 1 && capacity >= 2;
+            allocateKeys(mode, capacity);
+            this.values = new Object[capacity];
+            this.chain = new int[capacity];
+            this.buckets = new int[capacity >> 1];
+            Arrays.fill(buckets, -1);
         }
 
-        @Override
-        public Object getValue() {
-            Object value = current.getValue();
-            assert value != null;
-            return value;
+        void allocateKeys(int newMode, int capacity) {
+            assert usedEntries == 0;
+            this.mode = newMode;
+            this.intKeys = newMode == INT_KEYS ? new int[capacity] : null;
+            this.numberKeys = newMode == NUMBER_KEYS ? new double[capacity] : null;
+            this.objectKeys = newMode == OBJECT_KEYS ? new Object[capacity] : null;
+            this.hashes = newMode == OBJECT_KEYS ? new int[capacity] : null;
         }
 
-        @Override
-        public String toString() {
-            return "Cursor [current=" + current + "]";
+        int capacity() {
+            return values.length;
         }
 
-        @Override
-        public Cursor copy() {
-            return new CursorImpl(current);
+        int bucketMask() {
+            return buckets.length - 1;
         }
-    }
 
-    private static final class Node {
-        private Object key;
-        private Object value;
-        private Node prev;
-        private Node next;
-
-        Node(Object key, Object value, Node prev, Node next) {
-            this.key = key;
-            this.value = value;
-            this.prev = prev;
-            this.next = next;
+        Object getKey(int index) {
+            switch (mode) {
+                case INT_KEYS:
+                    return intKeys[index];
+                case NUMBER_KEYS:
+                    // int-valued keys are normalized to int
+                    double key = numberKeys[index];
+                    int intKey = (int) key;
+                    if (intKey == key) {
+                        return intKey;
+                    }
+                    return key;
+                default:
+                    return objectKeys[index];
+            }
         }
 
-        Object getKey() {
-            return key;
+        private int link(int hash, Object value) {
+            int index = usedEntries++;
+            int bucket = hash & bucketMask();
+            chain[index] = buckets[bucket];
+            buckets[bucket] = index;
+            values[index] = value;
+            size++;
+            return index;
         }
 
-        Object getValue() {
-            return value;
+        void appendInt(int key, Object value) {
+            int index = link(hashInt(key), value);
+            intKeys[index] = key;
         }
 
-        void setValue(Object value) {
-            this.value = value;
+        void appendNumber(double key, Object value) {
+            int index = link(hashNumber(key), value);
+            numberKeys[index] = key;
         }
 
-        Node getPrev() {
-            return prev;
+        void appendObject(Object key, int hash, Object value) {
+            int index = link(hash, value);
+            objectKeys[index] = key;
+            hashes[index] = hash;
         }
 
-        void setPrev(Node prev) {
-            this.prev = prev;
+        void removeEntry(int index) {
+            // the hole stays in its bucket chain until the next rehash
+            values[index] = null;
+            if (objectKeys != null) {
+                objectKeys[index] = null;
+            }
+            size--;
         }
 
-        Node getNext() {
-            return next;
+        void replaceWith(Table newTable, int[] removed) {
+            this.next = newTable;
+            this.removedIndices = removed;
+            // only needed by cursors from now on, release the storage
+            this.intKeys = null;
+            this.numberKeys = null;
+            this.objectKeys = null;
+            this.hashes = null;
+            this.values = null;
+            this.chain = null;
+            this.buckets = null;
         }
 
-        void setNext(Node next) {
-            this.next = next;
+        /**
+         * Maps a cursor position in this (replaced) table to the corresponding position in
+         * {@link #next}.
+         */
+        int transitionPosition(int position) {
+            if (removedIndices == null) {
+                return 0;
+            }
+            int index = Arrays.binarySearch(removedIndices, position);
+            int removedBefore = index >= 0 ? index : -index - 1;
+            return position - removedBefore;
         }
+    }
+
+    private static final class CursorImpl implements Cursor {
+        /** The table being iterated, or {@code null} if the iteration is finished. */
+        private Table table;
+        /** Index of the next entry to examine. */
+        private int position;
+        private Object key;
+        private Object value;
 
-        void setEmpty() {
+        CursorImpl(Table table, int position) {
+            this.table = table;
+            this.position = position;
+        }
+
+        @Override
+        public boolean advance() {
+            Table t = table;
+            if (t == null) {
+                return false;
+            }
+            int pos = position;
+            while (t.next != null) {
+                pos = t.transitionPosition(pos);
+                t = t.next;
+            }
+            for (; pos < t.usedEntries; pos++) {
+                Object entryValue = t.values[pos];
+                if (entryValue != null) {
+                    this.table = t;
+                    this.position = pos + 1;
+                    this.key = t.getKey(pos);
+                    this.value = entryValue;
+                    return true;
+                }
+            }
+            this.table = null;
             this.key = null;
             this.value = null;
+            return false;
         }
 
-        boolean isEmpty() {
-            return this.key == null;
+        @Override
+        public Object getKey() {
+            assert key != null;
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            assert value != null;
+            return value;
         }
 
         @Override
         public String toString() {
-            return "Node [key=" + key + ", value=" + value + "]";
+            return "Cursor [key=" + key + ", value=" + value + "]";
+        }
+
+        @Override
+        public Cursor copy() {
+            CursorImpl copy = new CursorImpl(table, position);
+            copy.key = key;
+            copy.value = value;
+            return copy;
         }
     }
 }
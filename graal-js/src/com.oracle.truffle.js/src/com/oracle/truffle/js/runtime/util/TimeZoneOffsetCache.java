@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.js.runtime.util;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.js.runtime.builtins.JSDate;
+
+/**
+ * Per-realm cache of the local time zone offset. Remembers the interval between two offset
+ * transitions (e.g. a DST period) that contains the most recently converted time, so that
+ * subsequent conversions of times within the same interval do not have to consult the
+ * {@link ZoneRules}.
+ */
+public final class TimeZoneOffsetCache {
+
+    /**
+     * Distance from a transition within which a local time may be ambiguous or invalid (offsets
+     * are within +/-18 hours), i.e., local times closer to a transition are not served from the
+     * cache.
+     */
+    private static final long LOCAL_TIME_MARGIN = 36L * 60 * 60 * 1000;
+
+    private Interval interval;
+
+    /**
+     * Returns the offset (in milliseconds) of the given zone at the given time, see
+     * {@link JSDate#localTZA(double, boolean, ZoneId)}.
+     */
+    @TruffleBoundary
+    public long localTZA(double t, boolean isUTC, ZoneId zoneId) {
+        Interval cached = interval;
+        long time = (long) t;
+        if (cached != null && cached.zoneId == zoneId) {
+            if (isUTC) {
+                if (cached.start <= time && time < cached.end) {
+                    return cached.offset;
+                }
+            } else if (cached.localStart <= time && time < cached.localEnd) {
+                return cached.offset;
+            }
+        }
+        long offset = JSDate.localTZA(t, isUTC, zoneId);
+        if (isUTC) {
+            interval = computeInterval(zoneId, time);
+        } else if (Math.abs(t) < JSDate.MAX_DATE) {
+            interval = computeInterval(zoneId, time - offset);
+        }
+        return offset;
+    }
+
+    private static Interval computeInterval(ZoneId zoneId, long time) {
+        ZoneRules rules = zoneId.getRules();
+        Instant instant = Instant.ofEpochMilli(time);
+        long offset = rules.getOffset(instant).getTotalSeconds() * 1000L;
+        if (rules.isFixedOffset()) {
+            return new Interval(zoneId, Long.MIN_VALUE, Long.MAX_VALUE, offset);
+        }
+        // transition at or before the instant
+        ZoneOffsetTransition previous = rules.previousTransition(instant.plusMillis(1));
+        ZoneOffsetTransition next = rules.nextTransition(instant);
+        long start = previous == null ? Long.MIN_VALUE : previous.getInstant().toEpochMilli();
+        long end = next == null ? Long.MAX_VALUE : next.getInstant().toEpochMilli();
+        return new Interval(zoneId, start, end, offset);
+    }
+
+    /**
+     * Time interval [start, end) with a constant offset.
+     */
+    private static final class Interval {
+        final ZoneId zoneId;
+        final long start;
+        final long end;
+        final long offset;
+        /** Local times in [localStart, localEnd) map unambiguously into this interval. */
+        final long localStart;
+        final long localEnd;
+
+        Interval(ZoneId zoneId, long start, long end, long offset) {
+            this.zoneId = zoneId;
+            this.start = start;
+            this.end = end;
+            this.offset = offset;
+            this.localStart = start == Long.MIN_VALUE ? Long.MIN_VALUE : start + offset + LOCAL_TIME_MARGIN;
+            this.localEnd = end == Long.MAX_VALUE ? Long.MAX_VALUE : end + offset - LOCAL_TIME_MARGIN;
+        }
+    }
+}
@@ -3586,6 +3586,17 @@ class V8_EXPORT Object : public Value {
   V8_WARN_UNUSED_RESULT Maybe<bool> Set(Local<Context> context, uint32_t index,
                                         Local<Value> value);
 
+  /**
+   * graal-node.js extension: sets keys[i] to values[i] for all i < length,
+   * like calling Set(context, keys[i], values[i]) in order, but with a single
+   * transition into the engine. Keys that are non-negative integers are set
+   * as elements. Stops at the first set that throws.
+   */
+  V8_WARN_UNUSED_RESULT Maybe<bool> SetAll(Local<Context> context,
+                                           Local<Value>* keys,
+                                           Local<Value>* values,
+                                           size_t length);
+
   // Implements CreateDataProperty (ECMA-262, 7.3.4).
   //
   // Defines a configurable, writable, enumerable property with the given value
@@ -6344,6 +6355,24 @@ enum class PropertyHandlerFlags {
    * The getter, query, enumerator callbacks do not produce side effects.
    */
   kHasNoSideEffect = 1 << 3,
+
+  /**
+   * graal-node.js extension: when the getter or query callback does not
+   * intercept a property, that callback will not intercept it later either
+   * (the two callbacks are tracked separately). Such properties are then
+   * looked up on the object directly without calling into that callback
+   * again, until
+   * ObjectTemplate::InvalidateNotInterceptedCache() is called or the
+   * setter, deleter or definer callback is invoked for the property.
+   *
+   * The declined properties are remembered per handler, i.e., they are
+   * shared by all objects created from the template, not tracked per
+   * holder. Only set this flag if a decline holds for every such object:
+   * an interceptor that intercepts a property on some instances and
+   * declines it on others must not use it, or it will silently miss the
+   * property on the other instances.
+   */
+  kCacheNotIntercepted = 1 << 4,
 };
 
 struct NamedPropertyHandlerConfiguration {
@@ -6615,6 +6644,12 @@ class V8_EXPORT ObjectTemplate : public Template {
   void SetCallAsFunctionHandler(FunctionCallback callback,
                                 Local<Value> data = Local<Value>());
 
+  /**
+   * Forgets which properties were not intercepted by the handlers of this
+   * template, see PropertyHandlerFlags::kCacheNotIntercepted.
+   */
+  void InvalidateNotInterceptedCache(); // graal-node.js extension
+
   /**
    * Mark object instances of the template as undetectable.
    *
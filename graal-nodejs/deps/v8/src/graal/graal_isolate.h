@@ -123,8 +123,10 @@ enum GraalAccessMethod {
     value_instance_of,
     value_type_of,
     object_new,
+    object_new_with_properties,
     object_set,
     object_set_index,
+    object_set_all,
     object_set_private,
     object_force_set,
     object_get,
@@ -151,6 +153,7 @@ enum GraalAccessMethod {
     object_preview_entries,
     object_set_integrity_level,
     array_new,
+    array_new_from_elements,
     array_length,
     array_buffer_new,
     array_buffer_new_buffer,
@@ -216,6 +219,7 @@ enum GraalAccessMethod {
     object_template_set_accessor,
     object_template_set_handler,
     object_template_set_call_as_function_handler,
+    object_template_invalidate_not_intercepted_cache,
     function_new_instance,
     function_set_name,
     function_get_name,
@@ -67,6 +67,27 @@ v8::Local<v8::Object> GraalObject::New(v8::Isolate* isolate) {
     return reinterpret_cast<v8::Object*> (graal_object);
 }
 
+// Passes all properties to Java at once (instead of one JNI transition per property)
+v8::Local<v8::Object> GraalObject::New(v8::Isolate* isolate, v8::Local<v8::Value> prototype_or_null, v8::Local<v8::Name>* names, v8::Local<v8::Value>* values, size_t length) {
+    GraalIsolate* graal_isolate = reinterpret_cast<GraalIsolate*> (isolate);
+    JNIEnv* env = graal_isolate->GetJNIEnv();
+    jobjectArray java_names = env->NewObjectArray(length, graal_isolate->GetObjectClass(), NULL);
+    jobjectArray java_values = env->NewObjectArray(length, graal_isolate->GetObjectClass(), NULL);
+    for (size_t i = 0; i < length; i++) {
+        jobject java_name = reinterpret_cast<GraalValue*> (*names[i])->GetJavaObject();
+        jobject java_value = reinterpret_cast<GraalValue*> (*values[i])->GetJavaObject();
+        env->SetObjectArrayElement(java_names, i, java_name);
+        env->SetObjectArrayElement(java_values, i, java_value);
+    }
+    jobject java_context = graal_isolate->CurrentJavaContext();
+    jobject java_prototype = reinterpret_cast<GraalValue*> (*prototype_or_null)->GetJavaObject();
+    JNI_CALL(jobject, java_object, isolate, GraalAccessMethod::object_new_with_properties, Object, java_context, java_prototype, java_names, java_values);
+    env->DeleteLocalRef(java_names);
+    env->DeleteLocalRef(java_values);
+    GraalObject* graal_object = new GraalObject(graal_isolate, java_object);
+    return reinterpret_cast<v8::Object*> (graal_object);
+}
+
 bool GraalObject::Set(v8::Local<v8::Value> key, v8::Local<v8::Value> value) {
     jobject java_key = reinterpret_cast<GraalValue*> (*key)->GetJavaObject();
     jobject java_value = reinterpret_cast<GraalValue*> (*value)->GetJavaObject();
@@ -80,6 +101,24 @@ bool GraalObject::Set(uint32_t index, v8::Local<v8::Value> value) {
     return success;
 }
 
+// Passes all keys and values to Java at once (instead of one JNI transition per property)
+bool GraalObject::SetAll(v8::Local<v8::Value>* keys, v8::Local<v8::Value>* values, size_t length) {
+    GraalIsolate* graal_isolate = Isolate();
+    JNIEnv* env = graal_isolate->GetJNIEnv();
+    jobjectArray java_keys = env->NewObjectArray(length, graal_isolate->GetObjectClass(), NULL);
+    jobjectArray java_values = env->NewObjectArray(length, graal_isolate->GetObjectClass(), NULL);
+    for (size_t i = 0; i < length; i++) {
+        jobject java_key = reinterpret_cast<GraalValue*> (*keys[i])->GetJavaObject();
+        jobject java_value = reinterpret_cast<GraalValue*> (*values[i])->GetJavaObject();
+        env->SetObjectArrayElement(java_keys, i, java_key);
+        env->SetObjectArrayElement(java_values, i, java_value);
+    }
+    JNI_CALL(bool, success, graal_isolate, GraalAccessMethod::object_set_all, Boolean, GetJavaObject(), java_keys, java_values);
+    env->DeleteLocalRef(java_keys);
+    env->DeleteLocalRef(java_values);
+    return success;
+}
+
 bool GraalObject::ForceSet(v8::Local<v8::Value> key, v8::Local<v8::Value> value, v8::PropertyAttribute attribs) {
     jobject java_key = reinterpret_cast<GraalValue*> (*key)->GetJavaObject();
     jobject java_value = reinterpret_cast<GraalValue*> (*value)->GetJavaObject();
@@ -100,6 +100,10 @@ void GraalObjectTemplate::SetAccessor(
     JNI_CALL_VOID(Isolate(), GraalAccessMethod::object_template_set_accessor, GetJavaObject(), java_name, java_getter, java_setter, java_data, java_signature, java_attrs);
 }
 
+static bool HasFlag(v8::PropertyHandlerFlags flags, v8::PropertyHandlerFlags flag) {
+    return (static_cast<int> (flags) & static_cast<int> (flag)) != 0;
+}
+
 void GraalObjectTemplate::SetHandler(const v8::NamedPropertyHandlerConfiguration& configuration) {
     jobject java_data = configuration.data.IsEmpty() ? NULL : reinterpret_cast<GraalValue*> (*configuration.data)->GetJavaObject();
     JNI_CALL_VOID(Isolate(),
@@ -114,7 +118,8 @@ void GraalObjectTemplate::SetHandler(const v8::NamedPropertyHandlerConfiguration
             (jlong) configuration.descriptor,
             java_data,
             true,
-            configuration.flags == v8::PropertyHandlerFlags::kOnlyInterceptStrings);
+            HasFlag(configuration.flags, v8::PropertyHandlerFlags::kOnlyInterceptStrings),
+            HasFlag(configuration.flags, v8::PropertyHandlerFlags::kCacheNotIntercepted));
 }
 
 void GraalObjectTemplate::SetHandler(const v8::IndexedPropertyHandlerConfiguration& configuration) {
@@ -131,7 +136,8 @@ void GraalObjectTemplate::SetHandler(const v8::IndexedPropertyHandlerConfigurati
             (jlong) configuration.descriptor,
             java_data,
             false,
-            false);
+            false,
+            HasFlag(configuration.flags, v8::PropertyHandlerFlags::kCacheNotIntercepted));
 }
 
 void GraalObjectTemplate::SetCallAsFunctionHandler(v8::FunctionCallback callback, v8::Local<v8::Value> data) {
@@ -149,3 +155,7 @@ void GraalObjectTemplate::SetCallAsFunctionHandler(v8::FunctionCallback callback
     jobject java_data = graal_data->GetJavaObject();
     JNI_CALL_VOID(Isolate(), GraalAccessMethod::object_template_set_call_as_function_handler, GetJavaObject(), id, callback_ptr, java_data);
 }
+
+void GraalObjectTemplate::InvalidateNotInterceptedCache() {
+    JNI_CALL_VOID(Isolate(), GraalAccessMethod::object_template_invalidate_not_intercepted_cache, GetJavaObject());
+}
@@ -61,6 +61,7 @@ public:
     void SetHandler(const v8::NamedPropertyHandlerConfiguration& configuration);
     void SetHandler(const v8::IndexedPropertyHandlerConfiguration& configuration);
     void SetCallAsFunctionHandler(v8::FunctionCallback callback, v8::Local<v8::Value> data);
+    void InvalidateNotInterceptedCache();
 
     inline int InternalFieldCount() {
         return internal_field_count_;
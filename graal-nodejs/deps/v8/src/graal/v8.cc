@@ -142,6 +142,10 @@ namespace v8 {
         return GraalArray::New(isolate, length);
     }
 
+    Local<Array> Array::New(Isolate* isolate, Local<Value>* elements, size_t length) {
+        return GraalArray::New(isolate, elements, length);
+    }
+
     void Context::Enter() {
         reinterpret_cast<GraalContext*> (this)->Enter();
     }
@@ -631,6 +635,10 @@ namespace v8 {
         return GraalObject::New(isolate);
     }
 
+    Local<Object> Object::New(Isolate* isolate, Local<Value> prototype_or_null, Local<Name>* names, Local<Value>* values, size_t length) {
+        return GraalObject::New(isolate, prototype_or_null, names, values, length);
+    }
+
     Maybe<bool> Object::SetAccessor(
             Local<Context> context,
             Local<Name> name,
@@ -668,6 +676,10 @@ namespace v8 {
         return reinterpret_cast<GraalObject*> (this)->Set(key, value);
     }
 
+    Maybe<bool> Object::SetAll(Local<Context> context, Local<Value>* keys, Local<Value>* values, size_t length) {
+        return Just(reinterpret_cast<GraalObject*> (this)->SetAll(keys, values, length));
+    }
+
     void* Object::SlowGetAlignedPointerFromInternalField(int index) {
         return reinterpret_cast<GraalObject*> (this)->SlowGetAlignedPointerFromInternalField(index);
     }
@@ -730,6 +742,10 @@ namespace v8 {
         reinterpret_cast<GraalObjectTemplate*> (this)->SetCallAsFunctionHandler(callback, data);
     }
 
+    void ObjectTemplate::InvalidateNotInterceptedCache() {
+        reinterpret_cast<GraalObjectTemplate*> (this)->InvalidateNotInterceptedCache();
+    }
+
     ResourceConstraints::ResourceConstraints() {
         TRACE
     }
@@ -44,7 +44,7 @@ const {
 
 const graalBuffer = require('internal/graal/buffer');
 const {
-  byteLengthUtf8,
+  byteLengthUtf8: nativeByteLengthUtf8,
   compare: _compare,
   compareOffset,
   createFromString,
@@ -136,6 +136,7 @@ Buffer.poolSize = 8 * 1024;
 let poolSize, poolOffset, allocPool;
 
 graalBuffer.install(Buffer.prototype);
+const byteLengthUtf8 = graalBuffer.byteLengthUtf8 || nativeByteLengthUtf8;
 
 // A toggle used to access the zero fill setting of the array buffer allocator
 // in C++.
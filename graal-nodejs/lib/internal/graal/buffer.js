@@ -47,9 +47,11 @@ function patchBufferPrototype(proto) {
 		const bufferBuiltin = NIOBufferPrototypeAllocator(proto.utf8Write, proto.utf8Slice);
 		proto.utf8Write = bufferBuiltin.utf8Write;
 		proto.utf8Slice = bufferBuiltin.utf8Slice;
+		module.exports.byteLengthUtf8 = bufferBuiltin.utf8Length;
 	}
 }
 
 module.exports = {
-	install: patchBufferPrototype
+	install: patchBufferPrototype,
+	byteLengthUtf8: undefined
 }
\ No newline at end of file
@@ -717,6 +717,25 @@ public final class GraalJSAccess {
         return JSUserObject.create(jsRealm.getContext(), jsRealm);
     }
 
+    /**
+     * Creates an object with the given prototype and data properties in one transition (instead of
+     * one {@code objectSet} call per property).
+     */
+    public Object objectNew(Object context, Object prototype, Object[] names, Object[] values) {
+        JSRealm jsRealm = (JSRealm) context;
+        JSContext jsContext = jsRealm.getContext();
+        DynamicObject object;
+        if (prototype == jsRealm.getObjectPrototype()) {
+            object = JSUserObject.create(jsContext, jsRealm);
+        } else {
+            object = JSUserObject.createWithPrototype((DynamicObject) prototype, jsContext);
+        }
+        for (int i = 0; i < names.length; i++) {
+            JSRuntime.createDataProperty(object, JSRuntime.toPropertyKey(names[i]), values[i]);
+        }
+        return object;
+    }
+
     public boolean objectSet(Object object, Object key, Object value) {
         DynamicObject dynamicObject = (DynamicObject) object;
         if (key instanceof HiddenKey) {
@@ -732,6 +751,23 @@ public final class GraalJSAccess {
         return true;
     }
 
+    /**
+     * Performs the sets of a batch in one transition (instead of one {@code objectSet} or
+     * {@code objectSetIndex} call per property).
+     */
+    public boolean objectSetAll(Object object, Object[] keys, Object[] values) {
+        DynamicObject dynamicObject = (DynamicObject) object;
+        for (int i = 0; i < keys.length; i++) {
+            Object key = keys[i];
+            if (key instanceof Integer && (int) key >= 0) {
+                JSObject.set(dynamicObject, (int) key, values[i]);
+            } else {
+                objectSet(dynamicObject, key, values[i]);
+            }
+        }
+        return true;
+    }
+
     public boolean objectForceSet(Object object, Object key, Object value, int attributes) {
         Object propertyKey = JSRuntime.toPropertyKey(key);
         JSObject.delete((DynamicObject) object, propertyKey);
@@ -1155,6 +1191,10 @@ public final class GraalJSAccess {
         return JSArray.createConstantEmptyArray(((JSRealm) context).getContext(), length);
     }
 
+    public Object arrayNew(Object context, Object[] elements) {
+        return JSArray.createConstantObjectArray(((JSRealm) context).getContext(), elements);
+    }
+
     public long arrayLength(Object object) {
         return JSArray.arrayGetLength((DynamicObject) object);
     }
@@ -1807,9 +1847,9 @@ public final class GraalJSAccess {
     }
 
     public void objectTemplateSetHandler(Object templateObj, long getter, long setter, long query, long deleter, long enumerator, long definer, long descriptor, Object data, boolean named,
-                    boolean stringKeysOnly) {
+                    boolean stringKeysOnly, boolean cacheNotIntercepted) {
         ObjectTemplate template = (ObjectTemplate) templateObj;
-        PropertyHandler handler = new PropertyHandler(getter, setter, query, deleter, enumerator, definer, descriptor, data);
+        PropertyHandler handler = new PropertyHandler(getter, setter, query, deleter, enumerator, definer, descriptor, data, cacheNotIntercepted);
         if (named) {
             template.setNamedPropertyHandler(handler, stringKeysOnly);
         } else {
@@ -1817,6 +1857,10 @@ public final class GraalJSAccess {
         }
     }
 
+    public void objectTemplateInvalidateNotInterceptedCache(Object templateObj) {
+        ((ObjectTemplate) templateObj).invalidateNotInterceptedCache();
+    }
+
     public void objectTemplateSetCallAsFunctionHandler(Object templateObj, int id, long functionPointer, Object additionalData) {
         ObjectTemplate template = (ObjectTemplate) templateObj;
         FunctionTemplate functionHandler = (FunctionTemplate) functionTemplateNew(id, functionPointer, additionalData, null, 0, true);
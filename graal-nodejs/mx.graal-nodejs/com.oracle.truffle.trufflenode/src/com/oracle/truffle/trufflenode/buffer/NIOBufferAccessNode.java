@@ -111,4 +111,60 @@ public abstract class NIOBufferAccessNode extends JSBuiltinNode {
     protected static boolean accept(DynamicObject target) {
         return JSArrayBufferView.isJSArrayBufferView(target);
     }
+
+    /**
+     * Returns the number of UTF-16 code units encoded by the given bytes, or -1 if the bytes are not
+     * well-formed UTF-8 (overlong forms, encoded surrogates and truncated sequences included).
+     */
+    protected static int utf16Length(byte[] utf8) {
+        int length = 0;
+        int i = 0;
+        int n = utf8.length;
+        while (i < n) {
+            int b = utf8[i];
+            if (b >= 0) {
+                i++;
+                length++;
+                continue;
+            }
+            b &= 0xff;
+            if (b < 0xC2) {
+                // continuation byte or overlong 2-byte sequence
+                return -1;
+            } else if (b < 0xE0) {
+                if (i + 1 >= n || !isContinuation(utf8[i + 1])) {
+                    return -1;
+                }
+                i += 2;
+                length++;
+            } else if (b < 0xF0) {
+                if (i + 2 >= n) {
+                    return -1;
+                }
+                int b1 = utf8[i + 1] & 0xff;
+                if (!isContinuation(b1) || !isContinuation(utf8[i + 2]) || (b == 0xE0 && b1 < 0xA0) || (b == 0xED && b1 >= 0xA0)) {
+                    return -1;
+                }
+                i += 3;
+                length++;
+            } else if (b < 0xF5) {
+                if (i + 3 >= n) {
+                    return -1;
+                }
+                int b1 = utf8[i + 1] & 0xff;
+                if (!isContinuation(b1) || !isContinuation(utf8[i + 2]) || !isContinuation(utf8[i + 3]) || (b == 0xF0 && b1 < 0x90) || (b == 0xF4 && b1 >= 0x90)) {
+                    return -1;
+                }
+                i += 4;
+                length += 2; // surrogate pair
+            } else {
+                return -1;
+            }
+        }
+        return length;
+    }
+
+    private static boolean isContinuation(int b) {
+        return (b & 0xC0) == 0x80;
+    }
 }
@@ -52,7 +52,8 @@ public final class NIOBufferBuiltins extends JSBuiltinsContainer.SwitchEnum<NIOB
 
     public enum Buffer implements BuiltinEnum<Buffer> {
         utf8Write(0),
-        utf8Slice(0);
+        utf8Slice(0),
+        utf8Length(1);
 
         private final int length;
 
@@ -73,6 +74,8 @@ public final class NIOBufferBuiltins extends JSBuiltinsContainer.SwitchEnum<NIOB
                 return NIOBufferUTF8WriteNodeGen.create(context, builtin, args().withThis().fixedArgs(3).createArgumentNodes(context));
             case utf8Slice:
                 return NIOBufferUTF8SliceNodeGen.create(context, builtin, args().withThis().fixedArgs(2).createArgumentNodes(context));
+            case utf8Length:
+                return NIOBufferUTF8LengthNodeGen.create(context, builtin, args().fixedArgs(1).createArgumentNodes(context));
         }
         return null;
     }
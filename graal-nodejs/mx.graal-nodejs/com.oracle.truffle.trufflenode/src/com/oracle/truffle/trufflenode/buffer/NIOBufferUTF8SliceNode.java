@@ -43,10 +43,7 @@ package com.oracle.truffle.trufflenode.buffer;
 import static com.oracle.truffle.js.runtime.util.BufferUtil.asBaseBuffer;
 
 import java.nio.ByteBuffer;
-import java.nio.CharBuffer;
 import java.nio.charset.CharacterCodingException;
-import java.nio.charset.CharsetDecoder;
-import java.nio.charset.CodingErrorAction;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Specialization;
@@ -57,6 +54,7 @@ import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
+import com.oracle.truffle.js.runtime.objects.JSLazyString;
 import com.oracle.truffle.trufflenode.GraalJSAccess;
 
 public abstract class NIOBufferUTF8SliceNode extends NIOBufferAccessNode {
@@ -139,13 +137,19 @@ public abstract class NIOBufferUTF8SliceNode extends NIOBufferAccessNode {
         return doDecode(data);
     }
 
+    /**
+     * Copies the bytes out of the (mutable) buffer, but decodes them only when the characters of the
+     * resulting string are needed. Writing the string back to a buffer unchanged reuses the bytes.
+     */
     @TruffleBoundary
     private static Object doDecode(ByteBuffer data) throws CharacterCodingException {
-        CharsetDecoder decoder = utf8.newDecoder();
-        decoder.onMalformedInput(CodingErrorAction.REPORT);
-        decoder.onUnmappableCharacter(CodingErrorAction.REPORT);
-        CharBuffer decoded = decoder.decode(data);
-        return decoded.toString();
+        byte[] bytes = new byte[data.remaining()];
+        data.get(bytes);
+        int length = utf16Length(bytes);
+        if (length < 0) {
+            throw new CharacterCodingException();
+        }
+        return JSLazyString.createLazyUTF8(bytes, length);
     }
 
     private static boolean oobCheck(int start, int end) {
@@ -59,6 +59,8 @@ import com.oracle.truffle.js.runtime.Errors;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.builtins.JSArrayBufferView;
 import com.oracle.truffle.js.runtime.builtins.JSFunction;
+import com.oracle.truffle.js.runtime.objects.JSLazyString;
+import com.oracle.truffle.js.runtime.objects.Undefined;
 import com.oracle.truffle.trufflenode.GraalJSAccess;
 
 public abstract class NIOBufferUTF8WriteNode extends NIOBufferAccessNode {
@@ -113,6 +115,17 @@ public abstract class NIOBufferUTF8WriteNode extends NIOBufferAccessNode {
         }
     }
 
+    @Specialization(guards = "accept(target)")
+    public Object writeLazyString(DynamicObject target, JSLazyString str, Object destOffset, Object bytes) {
+        byte[] utf8Bytes = str.getUTF8Bytes();
+        if (utf8Bytes == null) {
+            return doNativeFallback(target, str, destOffset, bytes);
+        }
+        int offset = destOffset == Undefined.instance ? 0 : toInt.executeInt(destOffset);
+        int max = bytes == Undefined.instance ? utf8Bytes.length : toInt.executeInt(bytes);
+        return doWriteBytes(target, utf8Bytes, offset, max);
+    }
+
     @Specialization
     public Object writeDefault(DynamicObject target, Object str, Object destOffset, Object bytes) {
         return JSFunction.call(getNativeUtf8Write(), target, new Object[]{str, destOffset, bytes});
@@ -124,7 +137,7 @@ public abstract class NIOBufferUTF8WriteNode extends NIOBufferAccessNode {
         throw Errors.createTypeErrorArrayBufferViewExpected();
     }
 
-    private Object doNativeFallback(DynamicObject target, String str, Object destOffset, Object bytes) {
+    private Object doNativeFallback(DynamicObject target, Object str, Object destOffset, Object bytes) {
         nativePath.enter();
         return JSFunction.call(getNativeUtf8Write(), target, new Object[]{str, destOffset, bytes});
     }
@@ -152,6 +165,38 @@ public abstract class NIOBufferUTF8WriteNode extends NIOBufferAccessNode {
         return buffer.position() - destOffset;
     }
 
+    /**
+     * Writes bytes of a string that still holds its UTF-8 encoding. Like the native implementation,
+     * it writes complete characters only.
+     */
+    private int doWriteBytes(DynamicObject target, byte[] utf8Bytes, int destOffset, int bytes) {
+        boolean isArrayBufferView = JSArrayBufferView.isJSArrayBufferView(target);
+        DynamicObject arrayBuffer = getArrayBuffer(target, isArrayBufferView);
+        int bufferOffset = getOffset(target, isArrayBufferView);
+        int bufferLen = getLength(target);
+
+        if (destOffset > bufferLen || bytes < 0 || destOffset < 0) {
+            errorBranch.enter();
+            outOfBoundsFail();
+        }
+        int count = Math.min(utf8Bytes.length, Math.min(bufferLen - destOffset, bytes));
+        if (count < utf8Bytes.length) {
+            // do not split a multi-byte sequence
+            while (count > 0 && (utf8Bytes[count] & 0xC0) == 0x80) {
+                count--;
+            }
+        }
+        ByteBuffer buffer = sliceBuffer(getDirectByteBuffer(arrayBuffer), bufferOffset);
+        copyBytes(buffer, destOffset, utf8Bytes, count);
+        return count;
+    }
+
+    @TruffleBoundary
+    private static void copyBytes(ByteBuffer buffer, int destOffset, byte[] utf8Bytes, int count) {
+        asBaseBuffer(buffer).position(destOffset);
+        buffer.put(utf8Bytes, 0, count);
+    }
+
     @TruffleBoundary
     private static CoderResult doEncode(String str, ByteBuffer buffer) {
         CharsetEncoder encoder = utf8.newEncoder();
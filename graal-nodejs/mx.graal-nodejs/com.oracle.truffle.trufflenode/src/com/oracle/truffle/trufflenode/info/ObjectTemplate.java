@@ -101,6 +101,15 @@ public final class ObjectTemplate {
         return stringKeysOnly;
     }
 
+    public void invalidateNotInterceptedCache() {
+        if (namedPropertyHandler != null) {
+            namedPropertyHandler.invalidateNotIntercepted();
+        }
+        if (indexedPropertyHandler != null) {
+            indexedPropertyHandler.invalidateNotIntercepted();
+        }
+    }
+
     public boolean hasPropertyHandler() {
         return (namedPropertyHandler != null) || (indexedPropertyHandler != null);
     }
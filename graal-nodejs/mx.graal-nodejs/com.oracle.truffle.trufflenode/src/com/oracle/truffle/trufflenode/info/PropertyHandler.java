@@ -40,12 +40,19 @@
  */
 package com.oracle.truffle.trufflenode.info;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.oracle.truffle.js.runtime.Symbol;
+
 /**
  *
  * @author Jan Stola
  */
 public final class PropertyHandler {
 
+    private static final int NOT_INTERCEPTED_CACHE_LIMIT = 1024;
+
     private final long getter;
     private final long setter;
     private final long query;
@@ -54,8 +61,17 @@ public final class PropertyHandler {
     private final long definer;
     private final long descriptor;
     private final Object data;
+    /**
+     * Keys that the getter and the query callback, respectively, did not intercept ({@code null}
+     * when the native side does not allow to cache this information). The callbacks are independent
+     * native functions, so a key declined by one of them says nothing about the other. The sets are
+     * shared by all objects created from the template of this handler (not kept per holder), as
+     * documented for {@code PropertyHandlerFlags::kCacheNotIntercepted}.
+     */
+    private final Set<Object> notInterceptedByGetter;
+    private final Set<Object> notInterceptedByQuery;
 
-    public PropertyHandler(long getter, long setter, long query, long deleter, long enumerator, long definer, long descriptor, Object data) {
+    public PropertyHandler(long getter, long setter, long query, long deleter, long enumerator, long definer, long descriptor, Object data, boolean cacheNotIntercepted) {
         this.getter = getter;
         this.setter = setter;
         this.query = query;
@@ -64,6 +80,8 @@ public final class PropertyHandler {
         this.definer = definer;
         this.descriptor = descriptor;
         this.data = data;
+        this.notInterceptedByGetter = cacheNotIntercepted ? ConcurrentHashMap.newKeySet() : null;
+        this.notInterceptedByQuery = cacheNotIntercepted ? ConcurrentHashMap.newKeySet() : null;
     }
 
     public long getGetter() {
@@ -98,4 +116,40 @@ public final class PropertyHandler {
         return data;
     }
 
+    public boolean isNotInterceptedByGetter(Object key) {
+        return notInterceptedByGetter != null && notInterceptedByGetter.contains(key);
+    }
+
+    public void addNotInterceptedByGetter(Object key) {
+        addNotIntercepted(notInterceptedByGetter, key);
+    }
+
+    public boolean isNotInterceptedByQuery(Object key) {
+        return notInterceptedByQuery != null && notInterceptedByQuery.contains(key);
+    }
+
+    public void addNotInterceptedByQuery(Object key) {
+        addNotIntercepted(notInterceptedByQuery, key);
+    }
+
+    private static void addNotIntercepted(Set<Object> notIntercepted, Object key) {
+        if (notIntercepted != null && (key instanceof String || key instanceof Symbol) && notIntercepted.size() < NOT_INTERCEPTED_CACHE_LIMIT) {
+            notIntercepted.add(key);
+        }
+    }
+
+    public void invalidateNotIntercepted(Object key) {
+        if (notInterceptedByGetter != null) {
+            notInterceptedByGetter.remove(key);
+            notInterceptedByQuery.remove(key);
+        }
+    }
+
+    public void invalidateNotIntercepted() {
+        if (notInterceptedByGetter != null) {
+            notInterceptedByGetter.clear();
+            notInterceptedByQuery.clear();
+        }
+    }
+
 }
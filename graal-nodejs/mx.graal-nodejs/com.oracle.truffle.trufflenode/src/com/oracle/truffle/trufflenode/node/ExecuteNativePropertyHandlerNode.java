@@ -138,15 +138,21 @@ public class ExecuteNativePropertyHandlerNode extends JavaScriptRootNode {
         Object key = arguments[3];
         if (!(key instanceof HiddenKey)) {
             if (JSRuntime.isArrayIndex(key)) {
-                if (indexedHandler != null) {
+                if (indexedHandler != null && !indexedHandler.isNotInterceptedByGetter(key)) {
                     result = NativeAccess.executePropertyHandlerGetter(indexedHandler.getGetter(), holder, arguments, indexedHandlerData, false);
+                    if (result == null) {
+                        indexedHandler.addNotInterceptedByGetter(key);
+                    }
                 }
             } else if (namedHandler != null) {
                 if (!(key instanceof Symbol)) {
                     key = JSRuntime.toString(key);
                 }
-                if (!stringKeysOnly || JSRuntime.isString(key)) {
+                if ((!stringKeysOnly || JSRuntime.isString(key)) && !namedHandler.isNotInterceptedByGetter(key)) {
                     result = NativeAccess.executePropertyHandlerGetter(namedHandler.getGetter(), holder, arguments, namedHandlerData, true);
+                    if (result == null) {
+                        namedHandler.addNotInterceptedByGetter(key);
+                    }
                 }
             }
         }
@@ -163,10 +169,12 @@ public class ExecuteNativePropertyHandlerNode extends JavaScriptRootNode {
         Object key = arguments[3];
         if (JSRuntime.isArrayIndex(key)) {
             if (indexedHandler != null && indexedHandler.getSetter() != 0) {
+                indexedHandler.invalidateNotIntercepted(key);
                 NativeAccess.executePropertyHandlerSetter(indexedHandler.getSetter(), holder, arguments, indexedHandlerData, false);
             }
         } else if (!(key instanceof HiddenKey) && (!stringKeysOnly || JSRuntime.isString(key))) {
             if (namedHandler != null && namedHandler.getSetter() != 0) {
+                namedHandler.invalidateNotIntercepted(key);
                 NativeAccess.executePropertyHandlerSetter(namedHandler.getSetter(), holder, arguments, namedHandlerData, true);
             }
         } else {
@@ -186,7 +194,7 @@ public class ExecuteNativePropertyHandlerNode extends JavaScriptRootNode {
             if (indexedHandler != null) {
                 Object[] nativeCallArgs = JSArguments.create(proxy, arguments[1], arguments[2], arguments[3]);
                 if (indexedHandler.getQuery() != 0) {
-                    return (NativeAccess.executePropertyHandlerQuery(indexedHandler.getQuery(), holder, nativeCallArgs, indexedHandlerData, false) != null);
+                    return executeQueryCallback(indexedHandler, holder, nativeCallArgs, indexedHandlerData, false);
                 } else if (indexedHandler.getDescriptor() != 0) {
                     Object result = NativeAccess.executePropertyHandlerDescriptor(indexedHandler.getDescriptor(), holder, nativeCallArgs, indexedHandlerData, false);
                     if (result != null) {
@@ -198,7 +206,7 @@ public class ExecuteNativePropertyHandlerNode extends JavaScriptRootNode {
             if (namedHandler != null) {
                 Object[] nativeCallArgs = JSArguments.create(proxy, arguments[1], arguments[2], arguments[3]);
                 if (namedHandler.getQuery() != 0) {
-                    return (NativeAccess.executePropertyHandlerQuery(namedHandler.getQuery(), holder, nativeCallArgs, namedHandlerData, true) != null);
+                    return executeQueryCallback(namedHandler, holder, nativeCallArgs, namedHandlerData, true);
                 } else if (namedHandler.getDescriptor() != 0) {
                     Object result = NativeAccess.executePropertyHandlerDescriptor(namedHandler.getDescriptor(), holder, nativeCallArgs, namedHandlerData, true);
                     if (result != null) {
@@ -211,17 +219,31 @@ public class ExecuteNativePropertyHandlerNode extends JavaScriptRootNode {
         return JSObject.hasProperty(target, key);
     }
 
+    private static boolean executeQueryCallback(PropertyHandler handler, Object holder, Object[] nativeCallArgs, Object handlerData, boolean named) {
+        Object key = nativeCallArgs[3];
+        if (handler.isNotInterceptedByQuery(key)) {
+            return false;
+        }
+        boolean intercepted = (NativeAccess.executePropertyHandlerQuery(handler.getQuery(), holder, nativeCallArgs, handlerData, named) != null);
+        if (!intercepted) {
+            handler.addNotInterceptedByQuery(key);
+        }
+        return intercepted;
+    }
+
     @CompilerDirectives.TruffleBoundary
     private Object executeDeleter(Object holder, Object[] arguments) {
         boolean success = true;
         Object key = arguments[3];
         if (JSRuntime.isArrayIndex(key)) {
             if (indexedHandler != null && indexedHandler.getDeleter() != 0) {
+                indexedHandler.invalidateNotIntercepted(key);
                 Object[] nativeCallArgs = JSArguments.create(proxy, arguments[1], arguments[2], arguments[3]);
                 success = NativeAccess.executePropertyHandlerDeleter(indexedHandler.getDeleter(), holder, nativeCallArgs, indexedHandlerData, false);
             }
         } else if (!stringKeysOnly || JSRuntime.isString(key)) {
             if (namedHandler != null && namedHandler.getDeleter() != 0) {
+                namedHandler.invalidateNotIntercepted(key);
                 Object[] nativeCallArgs = JSArguments.create(proxy, arguments[1], arguments[2], arguments[3]);
                 success = NativeAccess.executePropertyHandlerDeleter(namedHandler.getDeleter(), holder, nativeCallArgs, namedHandlerData, true);
             }
@@ -435,6 +457,7 @@ public class ExecuteNativePropertyHandlerNode extends JavaScriptRootNode {
         boolean handled = false;
         if (JSRuntime.isArrayIndex(key)) {
             if (indexedHandler != null && indexedHandler.getDefiner() != 0) {
+                indexedHandler.invalidateNotIntercepted(key);
                 NativeAccess.executePropertyHandlerDefiner(
                                 indexedHandler.getDefiner(),
                                 holder,
@@ -449,6 +472,7 @@ public class ExecuteNativePropertyHandlerNode extends JavaScriptRootNode {
             }
         } else if (!stringKeysOnly || JSRuntime.isString(key)) {
             if (namedHandler != null && namedHandler.getDefiner() != 0) {
+                namedHandler.invalidateNotIntercepted(key);
                 NativeAccess.executePropertyHandlerDefiner(
                                 namedHandler.getDefiner(),
                                 holder,
@@ -62,7 +62,9 @@ import com.oracle.truffle.js.runtime.builtins.JSSet;
 import com.oracle.truffle.js.runtime.builtins.JSSharedArrayBuffer;
 import com.oracle.truffle.js.runtime.builtins.JSString;
 import com.oracle.truffle.js.runtime.builtins.JSUserObject;
+import com.oracle.truffle.js.runtime.objects.JSAttributes;
 import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSObjectUtil;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.PropertyDescriptor;
 import com.oracle.truffle.js.runtime.objects.Undefined;
@@ -78,6 +80,7 @@ import java.io.UnsupportedEncodingException;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -93,10 +96,8 @@ public class Deserializer {
     private final ByteBuffer buffer;
     /** Version of the data format used during serialization. */
     private int version;
-    /** ID of the next deserialized object. */
-    private int nextId;
-    /** Maps ID of a deserialized object to the object itself. */
-    private Map<Integer, Object> objectMap = new HashMap<>();
+    /** Deserialized objects indexed by their IDs. */
+    private final List<Object> objectMap = new ArrayList<>();
     /** Maps transfer ID to the transferred object. */
     private Map<Integer, DynamicObject> transferMap = new HashMap<>();
     /** Cache for the last VM-level communication channel. */
@@ -252,16 +253,12 @@ public class Deserializer {
         int bitField = readVarInt();
         boolean negative = (bitField & 1) != 0;
         bitField >>= 1;
-        BigInteger bigInteger = BigInteger.ZERO;
+        // little-endian magnitude to big-endian two's complement (with a leading zero byte)
+        byte[] bigEndian = new byte[bitField + 1];
         for (int i = 0; i < bitField; i++) {
-            byte b = buffer.get();
-            for (int bit = 8 * i; bit < 8 * (i + 1); bit++) {
-                if ((b & 1) != 0) {
-                    bigInteger = bigInteger.setBit(bit);
-                }
-                b >>>= 1;
-            }
+            bigEndian[bitField - i] = buffer.get();
         }
+        BigInteger bigInteger = new BigInteger(bigEndian);
         if (negative) {
             bigInteger = bigInteger.negate();
         }
@@ -270,12 +267,9 @@ public class Deserializer {
 
     private String readOneByteString() {
         int charCount = readVarInt();
-        char[] chars = new char[charCount];
-        for (int i = 0; i < charCount; i++) {
-            byte b = buffer.get();
-            chars[i] = (char) (b & 0xff);
-        }
-        return new String(chars);
+        byte[] bytes = new byte[charCount];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
     }
 
     private String readTwoByteString() {
@@ -326,10 +320,12 @@ public class Deserializer {
     private DynamicObject readJSArrayBuffer(JSContext context) {
         int byteLength = readVarInt();
         DynamicObject arrayBuffer = JSArrayBuffer.createDirectArrayBuffer(context, byteLength);
-        ByteBuffer byteBuffer = JSArrayBuffer.getDirectByteBuffer(arrayBuffer);
-        for (int i = 0; i < byteLength; i++) {
-            byteBuffer.put(i, buffer.get());
-        }
+        ByteBuffer byteBuffer = JSArrayBuffer.getDirectByteBuffer(arrayBuffer).duplicate();
+        ByteBuffer source = buffer.duplicate();
+        asBaseBuffer(source).limit(source.position() + byteLength);
+        asBaseBuffer(byteBuffer).clear();
+        byteBuffer.put(source);
+        asBaseBuffer(buffer).position(buffer.position() + byteLength);
         assignId(arrayBuffer);
         return (peekTag() == SerializationTag.ARRAY_BUFFER_VIEW) ? readJSArrayBufferView(context, arrayBuffer) : arrayBuffer;
     }
@@ -337,7 +333,16 @@ public class Deserializer {
     private DynamicObject readJSObject(JSContext context) {
         DynamicObject object = JSUserObject.create(context);
         assignId(object);
-        int read = readJSObjectProperties(context, object, SerializationTag.END_JS_OBJECT);
+        SerializationTag tag;
+        int read = 0;
+        while ((tag = readTag()) != SerializationTag.END_JS_OBJECT) {
+            read++;
+            Object key = JSRuntime.toPropertyKey(readValue(context, tag));
+            Object value = readValue(context);
+            // equivalent to [[DefineOwnProperty]] on a new extensible ordinary object,
+            // but without the creation and validation of a property descriptor
+            JSObjectUtil.defineDataProperty(context, object, key, value, JSAttributes.getDefault());
+        }
         int expected = readVarInt();
         if (read != expected) {
             throw Errors.createError("unexpected number of properties");
@@ -460,7 +465,7 @@ public class Deserializer {
 
     private Object readObjectReference() {
         int id = readVarInt();
-        Object object = objectMap.get(id);
+        Object object = (id >= 0 && id < objectMap.size()) ? objectMap.get(id) : null;
         if (object == null) {
             throw Errors.createError("invalid object reference");
         }
@@ -557,7 +562,7 @@ public class Deserializer {
     }
 
     private <T> T assignId(T object) {
-        objectMap.put(nextId++, object);
+        objectMap.add(object);
         return object;
     }
 
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2020, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.truffle.trufflenode.serialization;
+
+/**
+ * Map from objects (compared by identity) to non-negative {@code int} values that does not box the
+ * values. Uses open addressing with linear probing.
+ */
+final class IdentityIntMap {
+    /** Value returned by {@link #get} for objects that are not in the map. */
+    static final int NOT_FOUND = -1;
+
+    private Object[] keys;
+    private int[] values;
+    private int size;
+
+    IdentityIntMap() {
+        this(16);
+    }
+
+    IdentityIntMap(int initialCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(initialCapacity, 4) - 1) << 1;
+        keys = new Object[capacity];
+        values = new int[capacity];
+    }
+
+    private static int hash(Object key, int mask) {
+        int h = System.identityHashCode(key);
+        // spread the higher bits, identity hash codes tend to be clustered
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    int get(Object key) {
+        Object[] k = keys;
+        int mask = k.length - 1;
+        for (int i = hash(key, mask);; i = (i + 1) & mask) {
+            Object candidate = k[i];
+            if (candidate == key) {
+                return values[i];
+            } else if (candidate == null) {
+                return NOT_FOUND;
+            }
+        }
+    }
+
+    void put(Object key, int value) {
+        assert key != null && value >= 0;
+        Object[] k = keys;
+        int mask = k.length - 1;
+        for (int i = hash(key, mask);; i = (i + 1) & mask) {
+            Object candidate = k[i];
+            if (candidate == key) {
+                values[i] = value;
+                return;
+            } else if (candidate == null) {
+                k[i] = key;
+                values[i] = value;
+                if (++size * 2 > k.length) {
+                    rehash(k.length * 2);
+                }
+                return;
+            }
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        Object[] oldKeys = keys;
+        int[] oldValues = values;
+        Object[] newKeys = new Object[newCapacity];
+        int[] newValues = new int[newCapacity];
+        int mask = newCapacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            Object key = oldKeys[j];
+            if (key != null) {
+                int i = hash(key, mask);
+                while (newKeys[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                newKeys[i] = key;
+                newValues[i] = oldValues[j];
+            }
+        }
+        keys = newKeys;
+        values = newValues;
+    }
+}
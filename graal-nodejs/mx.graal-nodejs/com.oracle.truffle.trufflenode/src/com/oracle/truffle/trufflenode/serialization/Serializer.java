@@ -42,8 +42,10 @@ package com.oracle.truffle.trufflenode.serialization;
 
 import com.oracle.truffle.api.TruffleLanguage.Env;
 import com.oracle.truffle.api.object.DynamicObject;
+import com.oracle.truffle.api.object.Property;
+import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.js.runtime.BigInt;
-import com.oracle.truffle.js.runtime.Errors;
+import com.oracle.truffle.js.runtime.JSConfig;
 import com.oracle.truffle.js.runtime.JSContext;
 import com.oracle.truffle.js.runtime.JSErrorType;
 import com.oracle.truffle.js.runtime.JSException;
@@ -67,6 +69,8 @@ import com.oracle.truffle.js.runtime.builtins.JSSet;
 import com.oracle.truffle.js.runtime.builtins.JSSharedArrayBuffer;
 import com.oracle.truffle.js.runtime.builtins.JSString;
 import com.oracle.truffle.js.runtime.objects.JSObject;
+import com.oracle.truffle.js.runtime.objects.JSProperty;
+import com.oracle.truffle.js.runtime.objects.JSShape;
 import com.oracle.truffle.js.runtime.objects.Null;
 import com.oracle.truffle.js.runtime.objects.PropertyDescriptor;
 import com.oracle.truffle.js.runtime.objects.Undefined;
@@ -75,7 +79,8 @@ import com.oracle.truffle.trufflenode.GraalJSAccess;
 import com.oracle.truffle.trufflenode.NativeAccess;
 import com.oracle.truffle.trufflenode.threading.JavaMessagePortData;
 
-import java.io.UnsupportedEncodingException;
+import static com.oracle.truffle.js.runtime.util.BufferUtil.asBaseBuffer;
+
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
@@ -90,15 +95,23 @@ public class Serializer {
     static final byte VERSION = (byte) 0xFF; // SerializationTag::kVersion
     static final byte LATEST_VERSION = (byte) 13; // kLatestVersion
     static final String NATIVE_UTF16_ENCODING = (ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN) ? "UTF-16BE" : "UTF-16LE";
+    /** Initial capacity of serialization buffers. */
+    private static final int INITIAL_BUFFER_CAPACITY = 1024;
+    /** Serialization buffers larger than this are not kept for reuse. */
+    private static final int MAX_CACHED_BUFFER_CAPACITY = 1 << 20;
+    /** Serialization buffer released by the last serializer of the current thread. */
+    private static final ThreadLocal<ByteBuffer> CACHED_BUFFER = new ThreadLocal<>();
 
     /** Pointer to the corresponding v8::ValueSerializer. */
     private final long delegate;
-    /** Buffer used for serialization. */
-    private ByteBuffer buffer = allocateBuffer(1024);
+    /** Buffer used for serialization, {@code null} until the first write or after a release. */
+    private ByteBuffer buffer;
     /** ID of the next serialized object. **/
     private int nextId;
     /** Maps a serialized object to its ID. */
-    private final Map<Object, Integer> objectMap = new IdentityHashMap<>();
+    private final IdentityIntMap objectMap = new IdentityIntMap();
+    /** Layouts of the shapes of the ordinary objects serialized so far. */
+    private Map<Shape, ShapeLayout> shapeLayouts;
     /** Maps a transferred object to its transfer ID. */
     private final Map<Object, Integer> transferMap = new IdentityHashMap<>();
     /** Determines whether {@code ArrayBuffer}s should be serialized as host objects. */
@@ -121,14 +134,37 @@ public class Serializer {
         return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
     }
 
+    /**
+     * Returns the buffer released by the previous serializer of this thread or a new buffer.
+     * Avoids the allocation of a direct buffer (and its growth) for every message.
+     */
+    private static ByteBuffer acquireBuffer() {
+        ByteBuffer cached = CACHED_BUFFER.get();
+        if (cached == null) {
+            return allocateBuffer(INITIAL_BUFFER_CAPACITY);
+        }
+        CACHED_BUFFER.set(null);
+        asBaseBuffer(cached).clear();
+        return cached;
+    }
+
+    private static void releaseBuffer(ByteBuffer released) {
+        if (released.capacity() <= MAX_CACHED_BUFFER_CAPACITY) {
+            CACHED_BUFFER.set(released);
+        }
+    }
+
     private void ensureFreeSpace(int spaceNeeded) {
+        if (buffer == null) {
+            buffer = acquireBuffer();
+        }
         ByteBuffer oldBuffer = buffer;
         int capacity = oldBuffer.capacity();
         int capacityNeeded = oldBuffer.position() + spaceNeeded;
         if (capacityNeeded > capacity) {
             int newCapacity = Math.max(capacityNeeded, 2 * capacity);
             ByteBuffer newBuffer = allocateBuffer(newCapacity);
-            oldBuffer.flip();
+            asBaseBuffer(oldBuffer).flip();
             newBuffer.put(oldBuffer);
             buffer = newBuffer;
         }
@@ -188,8 +224,8 @@ public class Serializer {
     }
 
     private void writeObject(Object object) {
-        Integer id = objectMap.get(object);
-        if (id != null) {
+        int id = objectMap.get(object);
+        if (id != IdentityIntMap.NOT_FOUND) {
             writeTag(SerializationTag.OBJECT_REFERENCE);
             writeVarInt(id);
             return;
@@ -259,18 +295,14 @@ public class Serializer {
     }
 
     public void writeVarInt(long value) {
+        ensureFreeSpace(10);
+        ByteBuffer buf = buffer;
         long rest = value;
-        byte[] bytes = new byte[10];
-        int idx = 0;
-        do {
-            byte b = (byte) rest;
-            b |= 0x80;
-            bytes[idx] = b;
-            idx++;
+        while ((rest & ~0x7fL) != 0) {
+            buf.put((byte) (rest | 0x80));
             rest >>>= 7;
-        } while (rest != 0);
-        bytes[idx - 1] &= 0x7f;
-        writeBytes(bytes, idx);
+        }
+        buf.put((byte) rest);
     }
 
     private void writeBytes(byte[] bytes, int length) {
@@ -298,29 +330,28 @@ public class Serializer {
     }
 
     private void writeString(String string) {
-        try {
-            byte[] bytes;
-            SerializationTag tag;
-            String encoding;
-            if (isOneByteString(string)) {
-                tag = SerializationTag.ONE_BYTE_STRING;
-                encoding = "ISO-8859-1";
-            } else {
-                tag = SerializationTag.TWO_BYTE_STRING;
-                encoding = NATIVE_UTF16_ENCODING;
+        int length = string.length();
+        // the buffer is in native byte order, i.e., putChar() writes NATIVE_UTF16_ENCODING
+        if (isOneByteString(string)) {
+            writeTag(SerializationTag.ONE_BYTE_STRING);
+            writeVarInt(length);
+            ensureFreeSpace(length);
+            for (int i = 0; i < length; i++) {
+                buffer.put((byte) string.charAt(i));
+            }
+        } else {
+            writeTag(SerializationTag.TWO_BYTE_STRING);
+            writeVarInt(2L * length);
+            ensureFreeSpace(2 * length);
+            for (int i = 0; i < length; i++) {
+                buffer.putChar(string.charAt(i));
             }
-            writeTag(tag);
-            bytes = string.getBytes(encoding);
-            writeVarInt(bytes.length);
-            writeBytes(bytes, bytes.length);
-        } catch (UnsupportedEncodingException ueex) {
-            throw Errors.shouldNotReachHere();
         }
     }
 
     private static boolean isOneByteString(String string) {
-        for (char c : string.toCharArray()) {
-            if (c >= 256) {
+        for (int i = 0; i < string.length(); i++) {
+            if (string.charAt(i) >= 256) {
                 return false;
             }
         }
@@ -365,13 +396,12 @@ public class Serializer {
         Integer id = transferMap.get(arrayBuffer);
         if (id == null) {
             int byteLength = JSArrayBuffer.getDirectByteLength(arrayBuffer);
-            ByteBuffer byteBuffer = JSArrayBuffer.getDirectByteBuffer(arrayBuffer);
+            ByteBuffer byteBuffer = JSArrayBuffer.getDirectByteBuffer(arrayBuffer).duplicate();
+            asBaseBuffer(byteBuffer).clear();
+            asBaseBuffer(byteBuffer).limit(byteLength);
             writeTag(SerializationTag.ARRAY_BUFFER);
             writeVarInt(byteLength);
-            ensureFreeSpace(byteLength);
-            for (int i = 0; i < byteLength; i++) {
-                buffer.put(byteBuffer.get(i));
-            }
+            writeBytes(byteBuffer);
         } else {
             writeTag(SerializationTag.ARRAY_BUFFER_TRANSFER);
             writeVarInt(Integer.toUnsignedLong(id));
@@ -387,20 +417,81 @@ public class Serializer {
     private void writeJSObject(DynamicObject object) {
         assert JSObject.isJSObject(object);
         writeTag(SerializationTag.BEGIN_JS_OBJECT);
-        List<String> names = JSObject.enumerableOwnNames(object);
-        writeJSObjectProperties(object, names);
+        int count;
+        if (JSConfig.FastOwnKeys && JSObject.getJSClass(object).hasOnlyShapeProperties(object)) {
+            count = writeShapeProperties(object);
+        } else {
+            List<String> names = JSObject.enumerableOwnNames(object);
+            writeJSObjectProperties(object, names);
+            count = names.size();
+        }
         writeTag(SerializationTag.END_JS_OBJECT);
-        writeVarInt(names.size());
+        writeVarInt(count);
+    }
+
+    /**
+     * Writes the enumerable properties of an object whose properties are all described by its
+     * shape. The keys of a shape are encoded only once per message and the values are read through
+     * the properties of the shape (as long as the shape of the object does not change).
+     */
+    private int writeShapeProperties(DynamicObject object) {
+        Shape shape = object.getShape();
+        ShapeLayout layout = getShapeLayout(shape);
+        String[] names = layout.names;
+        for (int i = 0; i < names.length; i++) {
+            byte[] encodedKey = layout.encodedKeys[i];
+            if (encodedKey == null) {
+                int start = size();
+                writeKey(names[i]);
+                layout.encodedKeys[i] = encodedKey(start);
+            } else {
+                writeBytes(encodedKey, encodedKey.length);
+            }
+            Object value;
+            if (object.getShape() == shape) {
+                value = JSProperty.getValue(layout.properties[i], object, object, false);
+            } else {
+                // modified by a getter of a previous property
+                value = JSObject.get(object, names[i]);
+            }
+            writeValue(value);
+        }
+        return names.length;
+    }
+
+    private ShapeLayout getShapeLayout(Shape shape) {
+        if (shapeLayouts == null) {
+            shapeLayouts = new IdentityHashMap<>();
+        }
+        ShapeLayout layout = shapeLayouts.get(shape);
+        if (layout == null) {
+            layout = new ShapeLayout(shape);
+            shapeLayouts.put(shape, layout);
+        }
+        return layout;
+    }
+
+    private byte[] encodedKey(int start) {
+        int end = buffer.position();
+        byte[] bytes = new byte[end - start];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(start + i);
+        }
+        return bytes;
+    }
+
+    private void writeKey(String key) {
+        if (JSRuntime.isArrayIndex(key)) {
+            writeIntOrDouble(Double.parseDouble(key));
+        } else {
+            writeString(key);
+        }
     }
 
     private void writeJSObjectProperties(DynamicObject object, List<String> keys) {
         assert JSObject.isJSObject(object);
         for (String key : keys) {
-            if (JSRuntime.isArrayIndex(key)) {
-                writeIntOrDouble(Double.parseDouble(key));
-            } else {
-                writeString(key);
-            }
+            writeKey(key);
             Object value = JSObject.get(object, key);
             writeValue(value);
         }
@@ -438,8 +529,24 @@ public class Serializer {
     private void writeJSArray(DynamicObject object) {
         assert JSArray.isJSArray(object);
         long length = JSAbstractArray.arrayGetLength(object);
-        List<String> names = JSObject.enumerableOwnNames(object);
-        boolean dense = names.size() >= length;
+        List<String> names;
+        boolean dense;
+        if (JSConfig.FastOwnKeys && length <= Integer.MAX_VALUE && !JSAbstractArray.arrayGetArrayType(object).hasHoles(object)) {
+            // all elements are present, enumerable and precede the named properties
+            names = JSShape.getEnumerablePropertyNames(object.getShape());
+            writeTag(SerializationTag.BEGIN_DENSE_JS_ARRAY);
+            writeVarInt(length);
+            for (int i = 0; i < length; i++) {
+                writeValue(JSObject.get(object, i));
+            }
+            writeJSObjectProperties(object, names);
+            writeTag(SerializationTag.END_DENSE_JS_ARRAY);
+            writeVarInt(names.size());
+            writeVarInt(length);
+            return;
+        }
+        names = JSObject.enumerableOwnNames(object);
+        dense = names.size() >= length;
         if (dense) {
             for (int i = 0; i < length; i++) {
                 if (!Integer.toString(i).equals(names.get(i))) {
@@ -512,15 +619,11 @@ public class Serializer {
             bitfield++;
         }
         writeVarInt(bitfield);
+        // little-endian magnitude
+        byte[] bigEndian = bigInteger.toByteArray();
+        ensureFreeSpace(bytes);
         for (int i = 0; i < bytes; i++) {
-            byte b = 0;
-            for (int bit = 8 * (i + 1) - 1; bit >= 8 * i; bit--) {
-                b <<= 1;
-                if (bigInteger.testBit(bit)) {
-                    b++;
-                }
-            }
-            writeByte(b);
+            buffer.put(i < bigEndian.length ? bigEndian[bigEndian.length - 1 - i] : 0);
         }
     }
 
@@ -590,16 +693,41 @@ public class Serializer {
     }
 
     public int size() {
-        return buffer.position();
+        return (buffer == null) ? 0 : buffer.position();
     }
 
     public void release(ByteBuffer targetBuffer) {
-        buffer.flip();
-        targetBuffer.put(buffer);
+        ByteBuffer released = buffer;
+        if (released != null) {
+            buffer = null;
+            asBaseBuffer(released).flip();
+            targetBuffer.put(released);
+            releaseBuffer(released);
+        }
     }
 
     private void assignId(Object object) {
         objectMap.put(object, nextId++);
     }
 
+    /**
+     * Enumerable property names of a shape together with their properties and their encoding (that
+     * is filled in lazily when the corresponding key is written for the first time).
+     */
+    private static final class ShapeLayout {
+        final String[] names;
+        final Property[] properties;
+        final byte[][] encodedKeys;
+
+        ShapeLayout(Shape shape) {
+            List<String> nameList = JSShape.getEnumerablePropertyNames(shape);
+            this.names = nameList.toArray(new String[nameList.size()]);
+            this.properties = new Property[names.length];
+            for (int i = 0; i < names.length; i++) {
+                properties[i] = shape.getProperty(names[i]);
+            }
+            this.encodedKeys = new byte[names.length][];
+        }
+    }
+
 }
@@ -56,4 +56,17 @@ EXPORT_TO_JS(New) {
     args.GetReturnValue().Set(Array::New(isolate, len));
 }
 
+EXPORT_TO_JS(NewFromElements) {
+    Isolate* isolate = args.GetIsolate();
+    Local<Context> context = isolate->GetCurrentContext();
+    Local<Array> source = args[0].As<Array>();
+    uint32_t length = source->Length();
+    Local<Value>* elements = new Local<Value>[length];
+    for (uint32_t i = 0; i < length; i++) {
+        elements[i] = source->Get(context, i).ToLocalChecked();
+    }
+    args.GetReturnValue().Set(Array::New(isolate, elements, length));
+    delete[] elements;
+}
+
 #undef SUITE
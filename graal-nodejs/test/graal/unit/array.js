@@ -54,6 +54,19 @@ describe('Array', function () {
             assert.strictEqual(arr instanceof Array, true);
             assert.strictEqual(arr.length, 123);
         });
+        it('should create an array from elements', function () {
+            var sym = Symbol();
+            var arr = module.Array_NewFromElements([1, 'a', sym, null, undefined, 2.5]);
+            assert.strictEqual(arr instanceof Array, true);
+            assert.deepStrictEqual(arr, [1, 'a', sym, null, undefined, 2.5]);
+            arr.push(42);
+            assert.strictEqual(arr.length, 7);
+        });
+        it('should create an empty array from no elements', function () {
+            var arr = module.Array_NewFromElements([]);
+            assert.strictEqual(arr instanceof Array, true);
+            assert.strictEqual(arr.length, 0);
+        });
     });
     describe('Length', function () {
         it('should return 0 for []', function () {
@@ -145,4 +145,31 @@ describe('Buffer.utf8Slice', function() {
     it('length is zero', function() {
         assert.strictEqual(Buffer.alloc(0).utf8Slice.length, 0);
     });
-});
\ No newline at end of file
+});
+describe('Buffer utf8 round trip', function() {
+    var text = 'Grüße, 世界! \u{1F600} '.repeat(10);
+    it('should decode and re-encode multi-byte characters', function() {
+        var buffer = Buffer.from(text);
+        var str = buffer.toString();
+        assert.strictEqual(str, text);
+        assert.strictEqual(Buffer.byteLength(str), buffer.length);
+        assert.ok(Buffer.from(str).equals(buffer));
+    });
+    it('should not be affected by later changes of the buffer', function() {
+        var buffer = Buffer.from(text);
+        var str = buffer.toString();
+        buffer.fill(0);
+        assert.strictEqual(str, text);
+    });
+    it('should write complete characters only', function() {
+        var str = Buffer.from(text).toString();
+        var target = Buffer.alloc(10);
+        // 'Grüße' takes 7 bytes, ', ' 2 more, '世' would need 3
+        assert.strictEqual(target.utf8Write(str, 0, 10), 9);
+        assert.strictEqual(target.utf8Slice(0, 9), 'Grüße, ');
+    });
+    it('should replace malformed input', function() {
+        var buffer = Buffer.concat([Buffer.from(text), Buffer.from([0xED, 0xA0, 0x80])]);
+        assert.strictEqual(buffer.toString(), text + '\uFFFD\uFFFD\uFFFD');
+    });
+});
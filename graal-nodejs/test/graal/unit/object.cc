@@ -113,6 +113,28 @@ EXPORT_TO_JS(SetByIndex) {
     args.GetReturnValue().Set(obj->Set(context, index, value).FromJust());
 }
 
+// Object::SetAll
+
+EXPORT_TO_JS(SetAll) {
+    Local<Context> context = args.GetIsolate()->GetCurrentContext();
+    Local<Object> obj = args[0].As<Object>();
+    Local<Array> keyArray = args[1].As<Array>();
+    Local<Array> valueArray = args[2].As<Array>();
+    uint32_t length = keyArray->Length();
+    Local<Value>* keys = new Local<Value>[length];
+    Local<Value>* values = new Local<Value>[length];
+    for (uint32_t i = 0; i < length; i++) {
+        keys[i] = keyArray->Get(context, i).ToLocalChecked();
+        values[i] = valueArray->Get(context, i).ToLocalChecked();
+    }
+    Maybe<bool> result = obj->SetAll(context, keys, values, length);
+    delete[] keys;
+    delete[] values;
+    if (result.IsJust()) {
+        args.GetReturnValue().Set(result.FromJust());
+    }
+}
+
 // Object::Has
 
 EXPORT_TO_JS(HasByName) {
@@ -123,6 +123,32 @@ describe('Object', function () {
             assert.strictEqual(o[5], 67);
         });
     });
+    describe('SetAll', function () {
+        it('should set named and indexed properties in order', function () {
+            var o = [0, 1];
+            var sym = Symbol();
+            assert.strictEqual(module.Object_SetAll(o, ['a', 1, sym, 3, 'a'], [1, 'x', true, 42, 2]), true);
+            assert.strictEqual(o.a, 2);
+            assert.strictEqual(o[1], 'x');
+            assert.strictEqual(o[sym], true);
+            assert.strictEqual(o[3], 42);
+            assert.strictEqual(o.length, 4);
+        });
+        it('should invoke setters', function () {
+            var log = [];
+            var o = {set x(v) { log.push(v); }};
+            assert.strictEqual(module.Object_SetAll(o, ['x', 'x'], [1, 2]), true);
+            assert.deepStrictEqual(log, [1, 2]);
+        });
+        it('should stop at the first set that throws', function () {
+            var o = {set x(v) { throw new Error('setter'); }};
+            assert.throws(function () {
+                module.Object_SetAll(o, ['a', 'x', 'b'], [1, 2, 3]);
+            }, /setter/);
+            assert.strictEqual(o.a, 1);
+            assert.strictEqual(o.b, undefined);
+        });
+    });
     describe('GetOwnPropertyNames', function () {
         it('should return an empty array for {}', function () {
             var names = module.Object_GetOwnPropertyNames({});
@@ -72,6 +72,25 @@ EXPORT_TO_JS(DateMaybe) {
     args.GetReturnValue().Set(date.ToLocalChecked());
 }
 
+// Object::New with prototype and properties
+
+EXPORT_TO_JS(ObjectWithProperties) {
+    Isolate* isolate = args.GetIsolate();
+    Local<Context> context = isolate->GetCurrentContext();
+    Local<Array> keys = args[1].As<Array>();
+    Local<Array> vals = args[2].As<Array>();
+    uint32_t length = keys->Length();
+    Local<Name>* names = new Local<Name>[length];
+    Local<Value>* values = new Local<Value>[length];
+    for (uint32_t i = 0; i < length; i++) {
+        names[i] = keys->Get(context, i).ToLocalChecked().As<Name>();
+        values[i] = vals->Get(context, i).ToLocalChecked();
+    }
+    args.GetReturnValue().Set(Object::New(isolate, args[0], names, values, length));
+    delete[] names;
+    delete[] values;
+}
+
 // BooleanObject::New
 
 EXPORT_TO_JS(BooleanObject) {
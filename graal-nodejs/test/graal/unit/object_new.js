@@ -63,6 +63,29 @@ describe('ObjectNew', function () {
             assert.strictEqual(date.valueOf(), time);
         });
     });
+    describe('Object::New', function () {
+        it('should define the given properties', function () {
+            var sym = Symbol();
+            var o = module.ObjectNew_ObjectWithProperties(Object.prototype, ['a', sym, 'b'], [1, 'x', true]);
+            assert.strictEqual(Object.getPrototypeOf(o), Object.prototype);
+            assert.deepStrictEqual(Object.keys(o), ['a', 'b']);
+            assert.strictEqual(o.a, 1);
+            assert.strictEqual(o[sym], 'x');
+            assert.strictEqual(o.b, true);
+            assert.deepStrictEqual(Object.getOwnPropertyDescriptor(o, 'a'), {value: 1, writable: true, enumerable: true, configurable: true});
+        });
+        it('should use the given prototype', function () {
+            var proto = {inherited: 42};
+            var o = module.ObjectNew_ObjectWithProperties(proto, ['own'], [1]);
+            assert.strictEqual(Object.getPrototypeOf(o), proto);
+            assert.strictEqual(o.inherited, 42);
+            assert.strictEqual(Object.getPrototypeOf(module.ObjectNew_ObjectWithProperties(null, [], [])), null);
+        });
+        it('should let the last duplicate name win', function () {
+            var o = module.ObjectNew_ObjectWithProperties(Object.prototype, ['a', 'a'], [1, 2]);
+            assert.strictEqual(o.a, 2);
+        });
+    });
     describe('BooleanObject::New', function () {
         it('should return a Boolean object', function () {
             assert(module.ObjectNew_BooleanObject(false) instanceof Boolean);
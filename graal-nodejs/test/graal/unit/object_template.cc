@@ -46,6 +46,26 @@
 void SimpleAccessorGetter(Local<Name> property, const PropertyCallbackInfo<Value>& info);
 void SimpleAccessorSetter(Local<Name> property, Local<Value> value, const PropertyCallbackInfo<void>& info);
 
+int cachingInterceptorCallCount = 0;
+Persistent<ObjectTemplate> cachingInterceptorTemplate;
+
+void CachingInterceptorGetter(Local<Name> property, const PropertyCallbackInfo<Value>& info) {
+    Isolate* isolate = info.GetIsolate();
+    cachingInterceptorCallCount++;
+    Local<String> intercepted = String::NewFromUtf8(isolate, "intercepted", v8::NewStringType::kNormal).ToLocalChecked();
+    if (property->StrictEquals(intercepted)) {
+        info.GetReturnValue().Set(42);
+    }
+}
+
+void CachingInterceptorQuery(Local<Name> property, const PropertyCallbackInfo<Integer>& info) {
+    Isolate* isolate = info.GetIsolate();
+    Local<String> queried = String::NewFromUtf8(isolate, "queried", v8::NewStringType::kNormal).ToLocalChecked();
+    if (property->StrictEquals(queried)) {
+        info.GetReturnValue().Set(v8::None);
+    }
+}
+
 #endif
 
 // ObjectTemplate::NewInstance
@@ -112,4 +132,26 @@ EXPORT_TO_JS(CreateWithAccessor) {
     args.GetReturnValue().Set(objectTemplate->NewInstance(context).ToLocalChecked());
 }
 
+// PropertyHandlerFlags::kCacheNotIntercepted
+
+EXPORT_TO_JS(CreateWithCachingInterceptor) {
+    Isolate* isolate = args.GetIsolate();
+    Local<Context> context = isolate->GetCurrentContext();
+    Local<ObjectTemplate> objectTemplate = ObjectTemplate::New(isolate);
+    objectTemplate->SetHandler(NamedPropertyHandlerConfiguration(CachingInterceptorGetter, nullptr, CachingInterceptorQuery, nullptr, nullptr, Local<Value>(), PropertyHandlerFlags::kCacheNotIntercepted));
+    cachingInterceptorTemplate.Reset(isolate, objectTemplate);
+    cachingInterceptorCallCount = 0;
+    args.GetReturnValue().Set(objectTemplate->NewInstance(context).ToLocalChecked());
+}
+
+EXPORT_TO_JS(CachingInterceptorCallCount) {
+    args.GetReturnValue().Set(cachingInterceptorCallCount);
+}
+
+EXPORT_TO_JS(InvalidateNotInterceptedCache) {
+    Isolate* isolate = args.GetIsolate();
+    Local<ObjectTemplate> objectTemplate = Local<ObjectTemplate>::New(isolate, cachingInterceptorTemplate);
+    objectTemplate->InvalidateNotInterceptedCache();
+}
+
 #undef SUITE
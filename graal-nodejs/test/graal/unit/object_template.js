@@ -79,5 +79,32 @@ describe('ObjectTemplate', function () {
             assert.strictEqual(obj.hasOwnProperty("mySetValue"), true);
         });
     });
+    describe('kCacheNotIntercepted', function () {
+        it('should not call the interceptor again for declined properties', function () {
+            var obj = module.ObjectTemplate_CreateWithCachingInterceptor();
+            assert.strictEqual(obj.intercepted, 42);
+            assert.strictEqual(obj.intercepted, 42);
+            assert.strictEqual(module.ObjectTemplate_CachingInterceptorCallCount(), 2);
+            assert.strictEqual(obj.other, undefined);
+            assert.strictEqual(obj.other, undefined);
+            assert.strictEqual(module.ObjectTemplate_CachingInterceptorCallCount(), 3);
+        });
+        it('should call the interceptor again after invalidation', function () {
+            var obj = module.ObjectTemplate_CreateWithCachingInterceptor();
+            assert.strictEqual(obj.other, undefined);
+            module.ObjectTemplate_InvalidateNotInterceptedCache();
+            assert.strictEqual(obj.other, undefined);
+            assert.strictEqual(module.ObjectTemplate_CachingInterceptorCallCount(), 2);
+        });
+        it('should cache getter and query declines separately', function () {
+            var obj = module.ObjectTemplate_CreateWithCachingInterceptor();
+            assert.strictEqual(obj.queried, undefined);
+            assert.strictEqual('queried' in obj, true);
+            assert.strictEqual('queried' in obj, true);
+            assert.strictEqual('other' in obj, false);
+            assert.strictEqual(obj.other, undefined);
+            assert.strictEqual(module.ObjectTemplate_CachingInterceptorCallCount(), 2);
+        });
+    });
 });
 
@@ -112,6 +112,7 @@ var data = [
     [sparseArray, 'ff0d61e807495449a6034001e807'],
     [sparseArrayWithProperty, 'ff0d61e807495449a6032203666f6f22036261724002e807'],
     [denseArrayWithProperty, 'ff0d4102495449a6032203666f6f2203626172240102'],
+    [[{ a: 1, b: 'x' }, { a: 2, b: 'y' }], 'ff0d41026f22016149022201622201787b026f22016149042201622201797b02240002'],
     [sparseArrayWithHighIndex, 'ff0d61ffffffff0f4e0000c0ffffffef4149004001ffffffff0f'],
     [0n, 'ff0d5a00'],
     [1n, 'ff0d5a100100000000000000'],